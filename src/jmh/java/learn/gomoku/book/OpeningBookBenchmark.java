@@ -0,0 +1,86 @@
+package learn.gomoku.book;
+
+import learn.gomoku.game.BatchSimulator;
+import learn.gomoku.game.Gomoku;
+import learn.gomoku.game.Moves;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Book lookups on a book built from 100k random games, eight plies deep. The probed positions are
+ * the first eight plies of other random games, so the deeper ones miss.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class OpeningBookBenchmark {
+
+    private static final int GAMES = 100_000;
+    private static final int PLIES = 8;
+    private static final int POSITIONS = 256;
+
+    private Path path;
+    private OpeningBook book;
+    private final Gomoku[] positions = new Gomoku[POSITIONS];
+    private int next;
+
+    @Setup
+    public void setUp() throws IOException {
+        BatchSimulator batch = new BatchSimulator(GAMES);
+        batch.run(new SplittableRandom(1));
+        OpeningBookBuilder builder = new OpeningBookBuilder(Gomoku.WIDTH, Gomoku.WIN_LENGTH, PLIES);
+        int[] cells = new int[PLIES];
+        for (int g = 0; g < GAMES; g++) {
+            for (int i = 0; i < PLIES; i++) {
+                cells[i] = batch.moves()[g * batch.stride() + i];
+            }
+            builder.add(cells, batch.lengths()[g], batch.outcomes()[g]);
+        }
+        path = Files.createTempFile("book", ".gmkb");
+        builder.write(path, 1);
+        book = new OpeningBook(path);
+
+        BatchSimulator probes = new BatchSimulator(POSITIONS / PLIES);
+        probes.run(new SplittableRandom(2));
+        for (int p = 0; p < POSITIONS; p++) {
+            Gomoku game = new Gomoku(null, null, true);
+            int g = p / PLIES;
+            for (int i = 0; i < p % PLIES; i++) {
+                int cell = probes.moves()[g * probes.stride() + i];
+                game.place(Moves.pack(cell / Gomoku.WIDTH, cell % Gomoku.WIDTH, game.isBlacksTurn()));
+            }
+            positions[p] = game;
+        }
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        book.close();
+        Files.deleteIfExists(path);
+    }
+
+    @Benchmark
+    public int lookup() {
+        Gomoku game = positions[next];
+        next = (next + 1) % POSITIONS;
+        return book.lookup(game);
+    }
+}
@@ -0,0 +1,103 @@
+package learn.gomoku.events;
+
+import learn.gomoku.game.Gomoku;
+import learn.gomoku.game.Moves;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Random games (about 120 events each) reported to a sink that burns {@code sinkTokens} of CPU per event:
+ * called directly in the game loop, or through an {@link EventStream} that blocks or drops when full.
+ * With a spare core the dropping stream's game rate stays flat as the sink slows down.
+ */
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Thread)
+public class EventStreamBenchmark {
+
+    @Param({"0", "1000"})
+    public int sinkTokens;
+
+    private final Random random = new Random(1);
+    private final Gomoku game = new Gomoku(null, null, true);
+    private EventSink sink;
+    private EventStream blocking;
+    private EventStream dropping;
+
+    @Setup(Level.Trial)
+    public void open() {
+        sink = event -> Blackhole.consumeCPU(sinkTokens);
+        blocking = new EventStream(4096, EventStream.Overflow.BLOCK, sink);
+        dropping = new EventStream(4096, EventStream.Overflow.DROP_NEWEST, sink);
+    }
+
+    @TearDown(Level.Trial)
+    public void close() throws IOException {
+        blocking.close();
+        dropping.close();
+    }
+
+    @Benchmark
+    public int noEvents() {
+        game.reset();
+        while (!game.isOver()) {
+            game.place(game.randomEmptyCell(random));
+        }
+        return game.getMoveCount();
+    }
+
+    @Benchmark
+    public int directSink() throws IOException {
+        // what printing inside the game loop amounts to: the sink's cost is paid on every move
+        GameEvent event = new GameEvent();
+        game.reset();
+        event.set(GameEvent.Type.STARTED.ordinal(), 1, GameEvent.NO_MOVE, -1, -1, Gomoku.PLACED, 0);
+        sink.accept(event);
+        while (!game.isOver()) {
+            int move = game.randomEmptyCell(random);
+            int status = game.place(move);
+            event.set(GameEvent.Type.PLACED.ordinal(), 1, move, Moves.row(move), Moves.column(move), status,
+                    game.getMoveCount());
+            sink.accept(event);
+        }
+        return game.getMoveCount();
+    }
+
+    @Benchmark
+    public int blockingStream() {
+        return play(blocking);
+    }
+
+    @Benchmark
+    public int droppingStream() {
+        return play(dropping);
+    }
+
+    private int play(EventStream events) {
+        game.reset();
+        long id = events.gameStarted(game);
+        while (!game.isOver()) {
+            events.place(id, game, game.randomEmptyCell(random));
+        }
+        return game.getMoveCount();
+    }
+}
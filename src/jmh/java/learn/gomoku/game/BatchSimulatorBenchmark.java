@@ -0,0 +1,64 @@
+package learn.gomoku.game;
+
+import learn.gomoku.players.Player;
+import learn.gomoku.players.RandomPlayer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Random games per second with every move kept: BatchSimulator's primitive columns against the
+ * Player / Stone / Result path collecting getStones(). Scores and gc.alloc.rate.norm are per game.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class BatchSimulatorBenchmark {
+
+    private static final int GAMES = 256;
+
+    private final BatchSimulator batch = new BatchSimulator(GAMES);
+    private final SplittableRandom random = new SplittableRandom(1);
+    private final Player one = new RandomPlayer(1);
+    private final Player two = new RandomPlayer(2);
+    private final Gomoku game = new Gomoku(one, two, true);
+
+    @Benchmark
+    @OperationsPerInvocation(GAMES)
+    public int[] batch() {
+        batch.run(random);
+        return batch.lengths();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(GAMES)
+    public void perObject(Blackhole blackhole) {
+        for (int g = 0; g < GAMES; g++) {
+            game.reset();
+            while (!game.isOver()) {
+                Result result;
+                do {
+                    result = game.place(game.getCurrent().generateMove(game.getStones()));
+                } while (!result.isSuccess());
+            }
+            List<Stone> moves = game.getStones();
+            blackhole.consume(moves);
+            blackhole.consume(game.getWinner());
+        }
+    }
+}
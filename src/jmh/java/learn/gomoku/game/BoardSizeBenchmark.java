@@ -0,0 +1,56 @@
+package learn.gomoku.game;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Gomoku.place + undo on boards of different sizes, a quarter full of isolated stones.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class BoardSizeBenchmark {
+
+    @Param({"15", "19", "64"})
+    int width;
+
+    @Param({"5", "6"})
+    int winLength;
+
+    private Gomoku game;
+    private int next;
+
+    @Setup
+    public void fill() {
+        game = new Gomoku(null, null, true, width, winLength);
+        // stones on even rows and columns never touch, so nobody wins
+        for (int row = 0; row < width; row += 2) {
+            for (int col = 0; col < width; col += 2) {
+                game.place(Moves.pack(row, col, game.isBlacksTurn()));
+            }
+        }
+        int middle = width / 2 | 1;
+        next = Moves.pack(middle, middle, game.isBlacksTurn());
+    }
+
+    @Benchmark
+    public int placeAndUndo() {
+        int status = game.place(next);
+        game.undo();
+        return status;
+    }
+}
@@ -0,0 +1,64 @@
+package learn.gomoku.game;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * What publishing snapshots costs the writer: the same 100 moves played on a plain Gomoku and on a
+ * ConcurrentGomoku, including the reset before them.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ConcurrentGomokuBenchmark {
+
+    private static final int MOVES = 100;
+
+    private final int[] moves = new int[MOVES];
+    private final Gomoku plain = new Gomoku(null, null, true);
+    private final ConcurrentGomoku concurrent = new ConcurrentGomoku(new Gomoku(null, null, true));
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(1);
+        Gomoku game = new Gomoku(null, null, true);
+        for (int i = 0; i < MOVES && !game.isOver(); i++) {
+            moves[i] = game.randomEmptyCell(random);
+            game.place(moves[i]);
+        }
+    }
+
+    @Benchmark
+    public int plain() {
+        plain.reset();
+        int status = 0;
+        for (int move : moves) {
+            status += plain.place(move);
+        }
+        return status;
+    }
+
+    @Benchmark
+    public int concurrent() {
+        concurrent.reset();
+        int status = 0;
+        for (int move : moves) {
+            status += concurrent.place(move);
+        }
+        return status;
+    }
+}
@@ -0,0 +1,57 @@
+package learn.gomoku.game;
+
+import learn.gomoku.players.HumanPlayer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-turn cost of reading the move history at different game lengths. It should not grow with the game.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class GetStonesBenchmark {
+
+    @Param({"0", "56", "112", "224"})
+    int length;
+
+    private final Gomoku game = new Gomoku(new HumanPlayer("One"), new HumanPlayer("Two"));
+
+    @Setup
+    public void fill() {
+        Positions.play(game, Positions.drawnGame(), length);
+    }
+
+    @Benchmark
+    public List<Stone> getStones() {
+        return game.getStones();
+    }
+
+    @Benchmark
+    public Stone lastStone() {
+        // What a player does with the history every turn.
+        List<Stone> stones = game.getStones();
+        return stones.isEmpty() ? null : stones.get(stones.size() - 1);
+    }
+
+    @Benchmark
+    public int lastMovePacked() {
+        int count = game.getMoveCount();
+        return count == 0 ? 0 : game.getMove(count - 1);
+    }
+}
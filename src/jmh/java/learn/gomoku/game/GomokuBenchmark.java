@@ -0,0 +1,71 @@
+package learn.gomoku.game;
+
+import learn.gomoku.players.HumanPlayer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of Gomoku.place on an empty, mid-game and near-full board.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class GomokuBenchmark {
+
+    // Positions.EMPTY, Positions.MID_GAME, Positions.NEAR_FULL
+    @Param({"0", "112", "209"})
+    int prefilled;
+
+    private final int[] moves = Positions.drawnGame();
+    private final Gomoku game = new Gomoku(new HumanPlayer("One"), new HumanPlayer("Two"));
+    private final Stone duplicate = new Stone(0, 0, true);
+    private int next;
+    private Stone nextStone;
+
+    @Setup
+    public void fill() {
+        Positions.play(game, moves, prefilled);
+        next = moves[prefilled];
+        nextStone = Moves.toStone(next);
+    }
+
+    @Benchmark
+    public int placePacked() {
+        // Each operation places the next move and takes it back, so the position stays the same.
+        int status = game.place(next);
+        game.undo();
+        return status;
+    }
+
+    @Benchmark
+    public Result placeStone() {
+        Result result = game.place(nextStone);
+        game.undo();
+        return result;
+    }
+
+    @Benchmark
+    public int undo() {
+        game.place(next);
+        return game.undo();
+    }
+
+    @Benchmark
+    public Result placeRejected() {
+        return game.place(duplicate);
+    }
+}
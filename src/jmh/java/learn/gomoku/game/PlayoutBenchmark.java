@@ -0,0 +1,47 @@
+package learn.gomoku.game;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Random playouts per second from an empty and a half-full board, single-threaded.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class PlayoutBenchmark {
+
+    // Positions.EMPTY, Positions.MID_GAME
+    @Param({"0", "112"})
+    int prefilled;
+
+    private final Playout playout = new Playout();
+    private final SplittableRandom random = new SplittableRandom(1);
+
+    @Setup
+    public void load() {
+        playout.load(Positions.play(new Gomoku(null, null, true), Positions.drawnGame(), prefilled));
+    }
+
+    @Benchmark
+    public int playout() {
+        int outcome = playout.playRandom(random);
+        playout.rewind();
+        return outcome;
+    }
+}
@@ -0,0 +1,43 @@
+package learn.gomoku.game;
+
+/**
+ * Deterministic move sequences for benchmarks.
+ */
+public final class Positions {
+
+    // Filling rows in this order never makes five in a row, so a game can be played to a full board.
+    private static final int[] ROW_ORDER = {0, 2, 1, 3, 4, 6, 5, 7, 8, 10, 9, 11, 12, 14, 13};
+
+    public static final int EMPTY = 0;
+    public static final int MID_GAME = Gomoku.WIDTH * Gomoku.WIDTH / 2;
+    public static final int NEAR_FULL = Gomoku.WIDTH * Gomoku.WIDTH - 16;
+
+    private Positions() {
+    }
+
+    /**
+     * Every cell of the board as packed moves, alternating black and white, with no win before the last move.
+     */
+    public static int[] drawnGame() {
+        int[] moves = new int[Gomoku.WIDTH * Gomoku.WIDTH];
+        int index = 0;
+        for (int row : ROW_ORDER) {
+            for (int col = 0; col < Gomoku.WIDTH; col++) {
+                moves[index] = Moves.pack(row, col, index % 2 == 0);
+                index++;
+            }
+        }
+        return moves;
+    }
+
+    /**
+     * Plays the first {@code count} moves of {@link #drawnGame()} into a fresh game.
+     */
+    public static Gomoku play(Gomoku game, int[] moves, int count) {
+        game.reset();
+        for (int i = 0; i < count; i++) {
+            game.place(moves[i]);
+        }
+        return game;
+    }
+}
@@ -0,0 +1,60 @@
+package learn.gomoku.game;
+
+import learn.gomoku.players.RandomPlayer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Four threads choosing first players the old way, through the one synchronized generator behind
+ * Math.random(), against a SplittableRandom per thread; then whole seeded games, where the players and
+ * the game each take a split of one per-game generator.
+ */
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(4)
+@State(Scope.Thread)
+public class RandomSourceBenchmark {
+
+    private final SplittableRandom random = new SplittableRandom(1);
+    private long seed;
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public boolean mathRandom() {
+        return Math.random() < 0.5;
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public boolean splittable() {
+        return random.nextBoolean();
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.SECONDS)
+    public int seededGame() {
+        SplittableRandom game = new SplittableRandom(seed++);
+        RandomPlayer one = new RandomPlayer(game.split(), Gomoku.WIDTH, Gomoku.WIN_LENGTH);
+        RandomPlayer two = new RandomPlayer(game.split(), Gomoku.WIDTH, Gomoku.WIN_LENGTH);
+        Gomoku gomoku = new Gomoku(one, two, Gomoku.WIDTH, Gomoku.WIN_LENGTH, game.split());
+        while (!gomoku.isOver()) {
+            gomoku.place(gomoku.getCurrent().chooseMove(gomoku.view()));
+        }
+        return gomoku.getMoveCount();
+    }
+}
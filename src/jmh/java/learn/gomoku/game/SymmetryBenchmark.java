@@ -0,0 +1,57 @@
+package learn.gomoku.game;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Canonical orientation of a position: the bitboard comparison against taking the smallest of the
+ * eight transformed hashes, which costs a pass over the moves per transform.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class SymmetryBenchmark {
+
+    @Param({"4", "20", "60"})
+    public int moves;
+
+    private Gomoku game;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(1);
+        game = new Gomoku(null, null, true);
+        while (game.getMoveCount() < moves) {
+            game.place(game.randomEmptyCell(random));
+        }
+    }
+
+    @Benchmark
+    public long canonicalHash() {
+        return Symmetry.canonicalHash(game);
+    }
+
+    @Benchmark
+    public long smallestHash() {
+        long best = Symmetry.hash(game, Symmetry.IDENTITY);
+        for (int t = 1; t < Symmetry.COUNT; t++) {
+            best = Math.min(best, Symmetry.hash(game, t));
+        }
+        return best;
+    }
+}
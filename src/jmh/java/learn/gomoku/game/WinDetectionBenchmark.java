@@ -0,0 +1,88 @@
+package learn.gomoku.game;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Win detection on a mid-game board: the combined check Gomoku.place runs after every stone,
+ * and each of the four directional checks on its own.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class WinDetectionBenchmark {
+
+    private static final int WIN_LENGTH = 5;
+
+    private final BitBoard board = new BitBoard(Gomoku.WIDTH);
+    private final int[] cells = new int[Positions.MID_GAME];
+    private final boolean[] colours = new boolean[Positions.MID_GAME];
+    private int next;
+
+    @Setup
+    public void fill() {
+        int[] moves = Positions.drawnGame();
+        for (int i = 0; i < cells.length; i++) {
+            cells[i] = Moves.row(moves[i]) * Gomoku.WIDTH + Moves.column(moves[i]);
+            colours[i] = Moves.isBlack(moves[i]);
+            board.set(cells[i], colours[i]);
+        }
+    }
+
+    private int nextIndex() {
+        int index = next;
+        next = index + 1 == cells.length ? 0 : index + 1;
+        return index;
+    }
+
+    @Benchmark
+    public boolean isWin() {
+        int i = nextIndex();
+        return board.run(BoardGeometry.HORIZONTAL, cells[i], colours[i]) == WIN_LENGTH
+                || board.run(BoardGeometry.VERTICAL, cells[i], colours[i]) == WIN_LENGTH
+                || board.run(BoardGeometry.DIAGONAL_DOWN, cells[i], colours[i]) == WIN_LENGTH
+                || board.run(BoardGeometry.DIAGONAL_UP, cells[i], colours[i]) == WIN_LENGTH;
+    }
+
+    @Benchmark
+    public int horizontal() {
+        int i = nextIndex();
+        return board.run(BoardGeometry.HORIZONTAL, cells[i], colours[i]);
+    }
+
+    @Benchmark
+    public int vertical() {
+        int i = nextIndex();
+        return board.run(BoardGeometry.VERTICAL, cells[i], colours[i]);
+    }
+
+    @Benchmark
+    public int diagonalDown() {
+        int i = nextIndex();
+        return board.run(BoardGeometry.DIAGONAL_DOWN, cells[i], colours[i]);
+    }
+
+    @Benchmark
+    public int diagonalUp() {
+        int i = nextIndex();
+        return board.run(BoardGeometry.DIAGONAL_UP, cells[i], colours[i]);
+    }
+
+    @Benchmark
+    public boolean isFull() {
+        return board.isFull();
+    }
+}
@@ -0,0 +1,80 @@
+package learn.gomoku.metrics;
+
+import learn.gomoku.game.Gomoku;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Overhead of the metrics hook a game loop runs after each Gomoku.place: the same 100 moves (and the reset
+ * before them) in a JVM with metrics off and in one with them on. Metrics.ENABLED is read once per JVM, so each
+ * variant gets its own fork.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@State(Scope.Thread)
+public class MetricsBenchmark {
+
+    private static final int MOVES = 100;
+
+    private final int[] moves = new int[MOVES];
+    private final Gomoku game = new Gomoku(null, null, true);
+
+    @Setup
+    public void setUp() {
+        // a game that ends early would leave the rest of the moves replaying rejections; try the next seed
+        long seed = 1;
+        while (!generate(seed)) {
+            seed++;
+        }
+    }
+
+    private boolean generate(long seed) {
+        Random random = new Random(seed);
+        Gomoku scratch = new Gomoku(null, null, true);
+        for (int i = 0; i < MOVES; i++) {
+            moves[i] = scratch.randomEmptyCell(random);
+            if (scratch.place(moves[i]) != Gomoku.PLACED) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Benchmark
+    @Fork(value = 1, jvmArgsAppend = "-Dgomoku.metrics=false")
+    public int disabled() {
+        return play();
+    }
+
+    @Benchmark
+    @Fork(value = 1, jvmArgsAppend = "-Dgomoku.metrics=true")
+    public int enabled() {
+        return play();
+    }
+
+    private int play() {
+        game.reset();
+        int status = 0;
+        for (int move : moves) {
+            int placed = game.place(move);
+            if (Metrics.ENABLED) {
+                Metrics.countPlace(placed);
+            }
+            status += placed;
+        }
+        return status;
+    }
+}
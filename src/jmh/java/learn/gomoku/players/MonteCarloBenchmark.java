@@ -0,0 +1,77 @@
+package learn.gomoku.players;
+
+import learn.gomoku.game.Gomoku;
+import learn.gomoku.game.Stone;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * MonteCarloPlayer at a fixed 50 ms budget. The "playouts" counter is total playouts/s over all
+ * threads; "nodes" is tree nodes/s, times MonteCarloTree.BYTES_PER_NODE for the memory it touches.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MonteCarloBenchmark {
+
+    @Param({"1", "2", "4", "8"})
+    int threads;
+
+    private MonteCarloPlayer player;
+    private List<Stone> opening;
+
+    @Setup
+    public void setUp() {
+        player = new MonteCarloPlayer("MCTS", threads, 50);
+        Gomoku game = new Gomoku(player, new RandomPlayer(1), true);
+        int[][] moves = {{7, 7}, {7, 8}, {8, 8}, {6, 6}, {8, 7}, {9, 9}, {6, 8}, {8, 6}};
+        for (int i = 0; i < moves.length; i++) {
+            game.place(new Stone(moves[i][0], moves[i][1], i % 2 == 0));
+        }
+        opening = game.getStones();
+    }
+
+    @TearDown
+    public void tearDown() {
+        player.close();
+    }
+
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    @State(Scope.Thread)
+    public static class Counters {
+        public long playouts;
+        public long nodes;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            playouts = 0;
+            nodes = 0;
+        }
+    }
+
+    @Benchmark
+    public Stone generateMove(Counters counters) {
+        Stone move = player.generateMove(opening);
+        counters.playouts += player.getLastPlayouts();
+        counters.nodes += player.getLastNodes();
+        return move;
+    }
+}
@@ -0,0 +1,114 @@
+package learn.gomoku.players;
+
+import learn.gomoku.game.Gomoku;
+import learn.gomoku.game.Result;
+import learn.gomoku.game.Stone;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Whole random games through the tournament loop, with rejected placements counted. The {@code rejected}
+ * counter is reported per second next to games per second; their ratio is the wasted attempts per game.
+ * <ul>
+ *     <li>blindGuess: a uniform guess over the whole board that is never told why it failed, the way
+ *     RandomPlayer used to play; the retries grow steeply as the board fills.</li>
+ *     <li>history: RandomPlayer handed the move history, syncing its private copy of the board.</li>
+ *     <li>boardView: RandomPlayer reading the game's empty cells directly, one attempt per turn.</li>
+ * </ul>
+ */
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Thread)
+public class MoveFeedbackBenchmark {
+
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    @State(Scope.Thread)
+    public static class Attempts {
+        public long rejected;
+
+        @Setup(Level.Iteration)
+        public void clear() {
+            rejected = 0;
+        }
+    }
+
+    private final Gomoku blind = new Gomoku(new BlindGuesser(1), new BlindGuesser(2));
+    private final Gomoku random = new Gomoku(new RandomPlayer(1), new RandomPlayer(2));
+
+    @Benchmark
+    public Player blindGuess(Attempts attempts) {
+        blind.reset();
+        while (!blind.isOver()) {
+            Player current = blind.getCurrent();
+            while (!blind.place(current.generateMove(blind.getStones())).isSuccess()) {
+                attempts.rejected++;
+            }
+        }
+        return blind.getWinner();
+    }
+
+    @Benchmark
+    public Player history(Attempts attempts) {
+        random.reset();
+        while (!random.isOver()) {
+            Player current = random.getCurrent();
+            while (!random.place(current.generateMove(random.getStones())).isSuccess()) {
+                attempts.rejected++;
+            }
+        }
+        return random.getWinner();
+    }
+
+    @Benchmark
+    public Player boardView(Attempts attempts) {
+        random.reset();
+        while (!random.isOver()) {
+            Player current = random.getCurrent();
+            Stone stone = current.chooseMove(random.view());
+            Result result;
+            while (!(result = random.place(stone)).isSuccess()) {
+                attempts.rejected++;
+                current.moveRejected(stone, result);
+                stone = current.chooseMove(random.view());
+            }
+        }
+        return random.getWinner();
+    }
+
+    private static class BlindGuesser implements Player {
+
+        private final Random random;
+
+        BlindGuesser(long seed) {
+            random = new Random(seed);
+        }
+
+        @Override
+        public String getName() {
+            return "Blind";
+        }
+
+        @Override
+        public Stone generateMove(List<Stone> previousMoves) {
+            boolean black = previousMoves.size() % 2 == 0;
+            return Stone.of(random.nextInt(Gomoku.WIDTH), random.nextInt(Gomoku.WIDTH), black);
+        }
+    }
+}
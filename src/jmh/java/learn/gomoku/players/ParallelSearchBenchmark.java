@@ -0,0 +1,95 @@
+package learn.gomoku.players;
+
+import learn.gomoku.game.Gomoku;
+import learn.gomoku.game.Stone;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Lazy SMP scaling. timeToDepth is the wall time for the first worker to complete a fixed depth with
+ * no time limit; searchRate plays fixed-budget moves and reports total nodes/s in the "nodes" counter.
+ * Run on a machine with at least as many cores as the largest thread count.
+ */
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ParallelSearchBenchmark {
+
+    @Param({"1", "2", "4", "8", "16"})
+    int threads;
+
+    @Param({"6"})
+    int depth;
+
+    private final TranspositionTable table = new TranspositionTable(64);
+    private ParallelSearchPlayer toDepth;
+    private ParallelSearchPlayer timed;
+    private List<Stone> opening;
+
+    @Setup
+    public void setUp() {
+        toDepth = new ParallelSearchPlayer("Depth", threads, 60_000, depth, table);
+        timed = new ParallelSearchPlayer("Timed", threads, 50);
+        Gomoku game = new Gomoku(toDepth, new RandomPlayer(1), true);
+        int[][] moves = {{7, 7}, {7, 8}, {8, 8}, {6, 6}, {8, 7}, {9, 9}, {6, 8}, {8, 6}};
+        for (int i = 0; i < moves.length; i++) {
+            game.place(new Stone(moves[i][0], moves[i][1], i % 2 == 0));
+        }
+        opening = game.getStones();
+    }
+
+    // each measured search starts cold, otherwise it would just replay the previous one from the table
+    @Setup(Level.Invocation)
+    public void clearTable() {
+        table.clear();
+    }
+
+    @TearDown
+    public void tearDown() {
+        toDepth.close();
+        timed.close();
+    }
+
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    @State(Scope.Thread)
+    public static class Nodes {
+        public long nodes;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            nodes = 0;
+        }
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public Stone timeToDepth() {
+        return toDepth.generateMove(opening);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.SECONDS)
+    public Stone searchRate(Nodes counter) {
+        Stone move = timed.generateMove(opening);
+        counter.nodes += timed.getLastNodes();
+        return move;
+    }
+}
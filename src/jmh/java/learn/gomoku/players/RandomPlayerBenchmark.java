@@ -0,0 +1,61 @@
+package learn.gomoku.players;
+
+import learn.gomoku.game.Gomoku;
+import learn.gomoku.game.Positions;
+import learn.gomoku.game.Result;
+import learn.gomoku.game.Stone;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * RandomPlayer move generation, and whole RandomPlayer-vs-RandomPlayer games.
+ */
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class RandomPlayerBenchmark {
+
+    private final RandomPlayer one = new RandomPlayer();
+    private final RandomPlayer two = new RandomPlayer();
+    private final Gomoku midGame = new Gomoku(one, two);
+    private final Gomoku game = new Gomoku(one, two);
+
+    @Setup
+    public void fill() {
+        Positions.play(midGame, Positions.drawnGame(), Positions.MID_GAME);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public Stone generateMove() {
+        return midGame.getCurrent().generateMove(midGame.getStones());
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.SECONDS)
+    public Player fullGame() {
+        // Same loop as GomokuRandomTest: keep generating until the placement succeeds.
+        game.reset();
+        while (!game.isOver()) {
+            Player current = game.getCurrent();
+            Result result;
+            do {
+                result = game.place(current.generateMove(game.getStones()));
+            } while (!result.isSuccess());
+        }
+        return game.getWinner();
+    }
+}
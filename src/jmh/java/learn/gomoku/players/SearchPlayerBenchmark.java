@@ -0,0 +1,52 @@
+package learn.gomoku.players;
+
+import learn.gomoku.game.Gomoku;
+import learn.gomoku.game.Stone;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Move latency of SearchPlayer. Sample mode reports percentiles; p0.99 should stay under the budget.
+ */
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class SearchPlayerBenchmark {
+
+    @Param({"50"})
+    int budgetMillis;
+
+    private SearchPlayer player;
+    private List<Stone> opening;
+
+    @Setup
+    public void setUp() {
+        player = new SearchPlayer("Search", budgetMillis);
+        Gomoku game = new Gomoku(player, new RandomPlayer(1), true);
+        int[][] moves = {{7, 7}, {7, 8}, {8, 8}, {6, 6}, {8, 7}, {9, 9}, {6, 8}, {8, 6}};
+        for (int i = 0; i < moves.length; i++) {
+            game.place(new Stone(moves[i][0], moves[i][1], i % 2 == 0));
+        }
+        opening = game.getStones();
+    }
+
+    @Benchmark
+    public Stone generateMove() {
+        return player.generateMove(opening);
+    }
+}
@@ -0,0 +1,96 @@
+package learn.gomoku.record;
+
+import learn.gomoku.game.BatchSimulator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Writing and scanning record files. Scores are games per second; the scan reads every move
+ * through the memory map.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class GameRecordBenchmark {
+
+    private static final int GAMES = 100_000;
+    private static final int BATCH = 1_000;
+
+    private Path directory;
+    private Path path;
+    private GameRecordReader reader;
+    private final BatchSimulator batch = new BatchSimulator(BATCH);
+
+    @Setup
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("records");
+        path = directory.resolve("games.gmk");
+        SplittableRandom random = new SplittableRandom(1);
+        try (GameRecordWriter writer = new GameRecordWriter(path, 15, 5)) {
+            for (int done = 0; done < GAMES; done += BATCH) {
+                batch.run(random);
+                appendBatch(writer);
+            }
+        }
+        reader = new GameRecordReader(path);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        reader.close();
+        Files.deleteIfExists(RecordFormat.indexPath(path));
+        Files.deleteIfExists(path);
+        Files.deleteIfExists(directory.resolve("write.gmk.idx"));
+        Files.deleteIfExists(directory.resolve("write.gmk"));
+        Files.delete(directory);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(GAMES)
+    public long scan() {
+        long sum = 0;
+        GameRecordReader.Cursor cursor = reader.cursor();
+        while (cursor.next()) {
+            for (int i = 0; i < cursor.length(); i++) {
+                sum += cursor.cell(i);
+            }
+            sum += cursor.result();
+        }
+        return sum;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public long write() throws IOException {
+        // appends the same simulated batch to a growing file
+        try (GameRecordWriter writer = new GameRecordWriter(directory.resolve("write.gmk"), 15, 5)) {
+            appendBatch(writer);
+            return writer.getGameCount();
+        }
+    }
+
+    private void appendBatch(GameRecordWriter writer) throws IOException {
+        for (int g = 0; g < batch.games(); g++) {
+            writer.append(batch.moves(), g * batch.stride(), batch.lengths()[g], batch.outcomes()[g]);
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package learn.gomoku.record;
+
+import learn.gomoku.game.BatchSimulator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Games verified per second from a memory-mapped file of random games, by thread count.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ReplayVerifierBenchmark {
+
+    private static final int GAMES = 200_000;
+    private static final int BATCH = 1_000;
+
+    @Param({"1", "2", "4", "8"})
+    int threads;
+
+    private Path directory;
+    private Path path;
+    private GameRecordReader reader;
+    private ReplayVerifier verifier;
+
+    @Setup
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("replay");
+        path = directory.resolve("games.gmk");
+        BatchSimulator batch = new BatchSimulator(BATCH);
+        SplittableRandom random = new SplittableRandom(1);
+        try (GameRecordWriter writer = new GameRecordWriter(path, 15, 5)) {
+            for (int done = 0; done < GAMES; done += BATCH) {
+                batch.run(random);
+                for (int g = 0; g < batch.games(); g++) {
+                    writer.append(batch.moves(), g * batch.stride(), batch.lengths()[g], batch.outcomes()[g]);
+                }
+            }
+        }
+        reader = new GameRecordReader(path);
+        verifier = new ReplayVerifier(threads);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        verifier.shutdown();
+        reader.close();
+        Files.deleteIfExists(RecordFormat.indexPath(path));
+        Files.deleteIfExists(path);
+        Files.delete(directory);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(GAMES)
+    public VerificationReport verify() {
+        return verifier.verify(reader);
+    }
+}
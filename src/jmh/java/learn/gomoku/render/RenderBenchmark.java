@@ -0,0 +1,96 @@
+package learn.gomoku.render;
+
+import learn.gomoku.game.Gomoku;
+import learn.gomoku.game.Stone;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.PrintWriter;
+import java.io.Writer;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Rendering a whole game, one frame per move, into a null writer. {@code scanHistory} is the old
+ * GameController approach: refill a char grid by scanning every stone for every cell, then print
+ * each row with printf.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class RenderBenchmark {
+
+    private static final int MOVES = 100;
+
+    private final Writer out = Writer.nullWriter();
+    private final BoardRenderer board = new BoardRenderer(out);
+    private final DiffRenderer diff = new DiffRenderer(out);
+    private final int[] moves = new int[MOVES];
+    private Gomoku game;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(1);
+        game = new Gomoku(null, null, true);
+        for (int i = 0; i < MOVES && !game.isOver(); i++) {
+            moves[i] = game.randomEmptyCell(random);
+            game.place(moves[i]);
+        }
+    }
+
+    @Benchmark
+    public void board() {
+        play(board);
+    }
+
+    @Benchmark
+    public void diff() {
+        play(diff);
+    }
+
+    @Benchmark
+    public void scanHistory() {
+        PrintWriter printer = new PrintWriter(out);
+        char[][] grid = new char[Gomoku.WIDTH][Gomoku.WIDTH];
+        for (char[] row : grid) {
+            Arrays.fill(row, '-');
+        }
+        game.reset();
+        for (int move : moves) {
+            game.place(move);
+            List<Stone> stones = game.getStones();
+            for (int i = 0; i < grid.length; i++) {
+                for (int j = 0; j < grid.length; j++) {
+                    for (Stone stone : stones) {
+                        if (i == stone.getRow() && j == stone.getColumn()) {
+                            grid[i][j] = stone.isBlack() ? 'X' : 'O';
+                        }
+                    }
+                }
+                printer.printf("%3s %s %n", i + 1, new String(grid[i]));
+            }
+        }
+        printer.flush();
+    }
+
+    private void play(Renderer renderer) {
+        game.reset();
+        for (int move : moves) {
+            game.place(move);
+            renderer.render(game);
+        }
+    }
+}
@@ -1,21 +1,28 @@
 package learn.gomoku;
 
+import learn.gomoku.events.ConsoleSink;
+import learn.gomoku.events.EventStream;
 import learn.gomoku.game.Gomoku;
-import learn.gomoku.game.Result;
 import learn.gomoku.game.Stone;
+import learn.gomoku.metrics.Metrics;
 import learn.gomoku.players.HumanPlayer;
 import learn.gomoku.players.Player;
 import learn.gomoku.players.RandomPlayer;
+import learn.gomoku.players.SearchPlayer;
+import learn.gomoku.render.BoardRenderer;
+import learn.gomoku.render.Renderer;
 
-import java.util.Arrays;
-import java.util.List;
+import java.io.PrintWriter;
 import java.util.Locale;
 import java.util.Scanner;
 
 public class GameController {
     Scanner console = new Scanner(System.in);
-    char[][] board = new char[15][15];
+    Renderer renderer = new BoardRenderer(new PrintWriter(System.out));
+    EventStream events = new EventStream(1024, EventStream.Overflow.BLOCK, new ConsoleSink());
     Gomoku game;
+    int width = Gomoku.WIDTH;
+    int winLength = Gomoku.WIN_LENGTH;
 
     /**
      * Prints a welcome to user, calls run()
@@ -41,23 +48,29 @@ public class GameController {
     }
 
     /**
+     * choose the board size and win length
      * create player 1
      * create player 2
      * use 1 and 2 to instantiate the game
      * calls displayMessages()
-     * uses: getPlayer
+     * uses: getPlayer, readInt
      */
 
     private void setup() {
+        System.out.println("Enter the board size [5-64] (" + Gomoku.WIDTH + " is standard): ");
+        width = readInt(console.next(), 5, 64);
+        System.out.println("Enter the win length [3-" + width + "] (" + Gomoku.WIN_LENGTH + " is standard): ");
+        winLength = readInt(console.next(), 3, width);
+
         Player playerOne = getPlayer(1);
         Player playerTwo = getPlayer(2);
 
-        game = new Gomoku(playerOne, playerTwo);
+        game = new Gomoku(playerOne, playerTwo, width, winLength);
         displayMessages();
     }
 
     /**
-     * Displays relevant messages to user. Initializes board.
+     * Displays relevant messages to user.
      * Prints 'randomizing'
      */
 
@@ -65,16 +78,13 @@ public class GameController {
         System.out.println("~~~ GAME START ~~~");
         System.out.println(game.getCurrent().getName() + " goes first");
         System.out.println("Randomizing: ");
-
-        for (int row = 0; row < board.length; row++) {
-            Arrays.fill(board[row], '-');
-        }
     }
 
     /**
      * prompt user for human or random
      * If human, prompt user for a name. Use the name to instantiate a HumanPlayer.
      * If random, instantiate a RandomPlayer.
+     * If search, instantiate a SearchPlayer (standard board only, otherwise a RandomPlayer).
      *
      * @param playerNumber 1 or 2 for playerOne or playerTwo
      * @return the Player
@@ -83,7 +93,7 @@ public class GameController {
 
     private Player getPlayer(int playerNumber) {
         Player player = null;
-        System.out.println("Do you want player " + playerNumber + " to be [Human] or [Random]: ");
+        System.out.println("Do you want player " + playerNumber + " to be [Human], [Random] or [Search]: ");
         String message = readRequiredString(console.next());
 
         switch (message.toLowerCase(Locale.ROOT)) {
@@ -93,7 +103,15 @@ public class GameController {
                 player = new HumanPlayer(name);
                 break;
             case "random":
-                player = new RandomPlayer();
+                player = new RandomPlayer(width, winLength);
+                break;
+            case "search":
+                if (width == Gomoku.WIDTH && winLength == Gomoku.WIN_LENGTH) {
+                    player = new SearchPlayer();
+                } else {
+                    System.out.println("Search only plays the standard board; using a random player.");
+                    player = new RandomPlayer(width, winLength);
+                }
                 break;
         }
         return player;
@@ -104,38 +122,66 @@ public class GameController {
      * display current player
      * generate a stone from the current player
      * place the stone and collect the result
-     * display result
+     * display result (published to the event stream)
      * repeat until game over
-     * uses: printBoard, readInt (for row and column)
+     * uses: renderer, readInt (for row and column)
      */
 
     private void play() {
-        while (!hasWon()) {
-            System.out.println(game.getCurrent().getName() + "'s turn. ");
+        long start = Metrics.ENABLED ? System.nanoTime() : 0;
+        int rejected = 0;
+        long id = events.gameStarted(game);
+        while (!game.isOver()) {
+            Player current = game.getCurrent();
+            System.out.println(current.getName() + "'s turn. ");
             System.out.println("Blacks turn? " + game.isBlacksTurn());
-            printBoard();
-            Stone stone = game.getCurrent().generateMove(game.getStones());
+            renderer.render(game);
+            long moveStart = Metrics.ENABLED ? System.nanoTime() : 0;
+            Stone stone = current.chooseMove(game.view());
+            if (Metrics.ENABLED && stone != null) {
+                Metrics.GENERATE_MOVE_NANOS.record(System.nanoTime() - moveStart);
+            }
             Stone temp = null;
 
             if (stone == null) { // human player
                 System.out.println("Enter a row to place: ");
-                int row = readInt(console.next(), 1, board.length);
+                int row = readInt(console.next(), 1, game.getWidth());
                 row--;
                 System.out.println("Enter a column to place: ");
-                int col = readInt(console.next(), 1, board.length);
+                int col = readInt(console.next(), 1, game.getWidth());
                 col--;
                 temp = new Stone(row, col, game.isBlacksTurn());
-                Result result = game.place(temp);
-                System.out.println(result.toString());
-                System.out.println("Blacks turn? " + game.isBlacksTurn());
+                int status = events.place(id, game, temp);
+                if (Metrics.ENABLED) {
+                    Metrics.countPlace(status);
+                }
+                if (status < 0) {
+                    rejected++;
+                }
             }
 
             if (stone != null) { // random player
-                Result result = game.place(stone);
-                System.out.println("random placed at " + stone.getRow() + " , " + stone.getColumn());
-                System.out.println(result.toString());
+                int status = events.place(id, game, stone);
+                if (Metrics.ENABLED) {
+                    Metrics.countPlace(status);
+                }
+                if (status < 0) {
+                    rejected++;
+                    current.moveRejected(stone, game.resultOf(status));
+                }
             }
 
+            // the move is reported on the event thread; let it catch up before the next board is drawn
+            events.drain();
+
+        }
+        announceResult();
+        if (Metrics.ENABLED) {
+            Metrics.GAMES.increment();
+            Metrics.GAME_MOVES.record(game.getMoveCount());
+            Metrics.GAME_REJECTED_MOVES.record(rejected);
+            Metrics.GAME_NANOS.record(System.nanoTime() - start);
+            System.out.print(Metrics.toText());
         }
 
         if (playAgain()) {
@@ -144,67 +190,15 @@ public class GameController {
     }
 
     /**
-     * Simplifies the play() method by incorporating checking game over functionality here.
-     *
-     * @return boolean true if game over false if not
+     * Prints the winner, or that the game was drawn, and the final board.
      */
-    private boolean hasWon() {
+    private void announceResult() {
         if (game.getWinner() != null) {
             System.out.println(game.getWinner().getName() + " wins the game!");
-            game.swap();
-            printBoard();
-            return true;
-        }
-        return false;
-    }
-
-    /**
-     * use the game to fill in the char[][] board (game.getStones()) -- synchronize the game's state with the char[][]
-     * print the board
-     */
-
-    private void printBoard() {
-        List<Stone> stones = game.getStones();
-
-        char x = 'X';
-        char o = 'O';
-        int lastI = 0;
-        int lastJ = 0;
-        for (int i = 0; i < board.length; i++) {
-            for (int j = 0; j < board.length; j++) {
-                for (int k = 0; k < stones.size(); k++) {
-                    if(game.isOver() && game.isBlacksTurn()){
-                        if (i == stones.get(k).getRow() && j == stones.get(k).getColumn()) {
-                            if (board[i][j] != x&& board[i][j]!=o) {
-                                board[i][j] = x;
-                            }
-                        }
-                    }
-                    if(game.isOver() && !game.isBlacksTurn()){
-                        if (i == stones.get(k).getRow() && j == stones.get(k).getColumn()) {
-                            if (board[i][j] != o && board[i][j]!=x) {
-                                board[i][j] = o;
-                            }
-                        }
-                    }
-                    if (!game.isBlacksTurn()) {
-                        if (i == stones.get(k).getRow() && j == stones.get(k).getColumn()) {
-                            if (board[i][j] != o) {
-                                board[i][j] = x;
-                            }
-                        }
-                    }
-                        if (game.isBlacksTurn()) {
-                            if (i == stones.get(k).getRow() && j == stones.get(k).getColumn()) {
-                                if (board[i][j] != x) {
-                                    board[i][j] = o;
-                                }
-                            }
-                        }
-                }
-            }
-            System.out.printf("%3s %s %n", i + 1, new String(board[i]));
+        } else {
+            System.out.println("The game is a draw.");
         }
+        renderer.render(game);
     }
 
     /**
@@ -0,0 +1,174 @@
+package learn.gomoku.book;
+
+import learn.gomoku.game.BoardView;
+import learn.gomoku.game.Gomoku;
+import learn.gomoku.game.Moves;
+import learn.gomoku.game.Symmetry;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Random;
+
+/**
+ * Memory-mapped opening book written by {@link OpeningBookBuilder}.
+ * <pre>
+ * file:  magic "GMKB" (int) | version (byte) | width (byte) | win length (byte) | unused (byte)
+ * entry: position hash (long) | cell (int) | weight (int)
+ * </pre>
+ * Entries are sorted by hash, then by weight from high to low. Each position is stored once, under its
+ * {@link Symmetry#canonicalHash canonical hash}, and its moves are stored in the canonical orientation
+ * too. A lookup finds the canonical transform and binary-searches the mapping for the hash; nothing is
+ * copied onto the heap. Reads don't change any state, so one
+ * book can be shared by many threads.
+ */
+public class OpeningBook implements Closeable {
+
+    public static final int NO_MOVE = -1;
+
+    static final int MAGIC = 0x474D4B42;
+    static final int VERSION = 2;
+    static final int HEADER_BYTES = 8;
+    static final int ENTRY_BYTES = 16;
+
+    private final FileChannel channel;
+    private final MappedByteBuffer entries;
+    private final int width;
+    private final int winLength;
+    private final int size;
+
+    public OpeningBook(Path path) throws IOException {
+        channel = FileChannel.open(path, StandardOpenOption.READ);
+        try {
+            long bytes = channel.size();
+            if (bytes > Integer.MAX_VALUE) {
+                throw new IOException(path + " is too large for an opening book.");
+            }
+            entries = channel.map(FileChannel.MapMode.READ_ONLY, 0, bytes);
+            if (bytes < HEADER_BYTES || entries.getInt(0) != MAGIC) {
+                throw new IOException(path + " is not an opening book.");
+            }
+            if (entries.get(4) != VERSION) {
+                throw new IOException(path + " has an unsupported version.");
+            }
+            width = entries.get(5);
+            winLength = entries.get(6);
+            size = (int) ((bytes - HEADER_BYTES) / ENTRY_BYTES);
+        } catch (IOException | RuntimeException ex) {
+            channel.close();
+            throw ex;
+        }
+    }
+
+    public int getWidth() {
+        return width;
+    }
+
+    public int getWinLength() {
+        return winLength;
+    }
+
+    /**
+     * Number of (position, move) entries.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * The book's highest-weighted move for the side to move.
+     *
+     * @return the move packed with {@link Moves#pack}, or {@link #NO_MOVE} if the position isn't in the book
+     * @throws IllegalArgumentException if the game is played on a different board
+     */
+    public int lookup(Gomoku game) {
+        return lookup(game, null);
+    }
+
+    /**
+     * Picks one of the book's moves for the side to move at random, in proportion to their weights.
+     * Allocates nothing.
+     *
+     * @return the move packed with {@link Moves#pack}, or {@link #NO_MOVE} if the position isn't in the book
+     */
+    public int lookup(Gomoku game, Random random) {
+        return lookup(game.view(), random);
+    }
+
+    /**
+     * Same as {@link #lookup(Gomoku, Random)}, for a player that has only been given a view of the game.
+     */
+    public int lookup(BoardView game, Random random) {
+        if (game.getWidth() != width || game.getWinLength() != winLength) {
+            throw new IllegalArgumentException("Game is not played on the book's board.");
+        }
+        if (game.isOver()) {
+            return NO_MOVE;
+        }
+
+        int transform = Symmetry.canonicalTransform(game);
+        long hash = Symmetry.hash(game, transform);
+
+        int first = firstEntry(hash);
+        if (first == size || hashAt(first) != hash) {
+            return NO_MOVE;
+        }
+        int chosen = first;
+        if (random != null) {
+            long total = 0;
+            int end = first;
+            while (end < size && hashAt(end) == hash) {
+                total += weightAt(end++);
+            }
+            long pick = (long) (random.nextDouble() * total);
+            while (chosen < end - 1 && pick >= weightAt(chosen)) {
+                pick -= weightAt(chosen++);
+            }
+        }
+
+        int cell = Symmetry.cell(Symmetry.inverse(transform), cellAt(chosen), width);
+        int row = cell / width;
+        int column = cell % width;
+        // a hash collision could name an occupied cell
+        if (!game.isEmpty(row, column)) {
+            return NO_MOVE;
+        }
+        return Moves.pack(row, column, game.isBlacksTurn());
+    }
+
+    @Override
+    public void close() throws IOException {
+        // the mapping stays valid until it's garbage collected; closing only releases the channel
+        channel.close();
+    }
+
+    // index of the first entry whose hash is >= hash
+    private int firstEntry(long hash) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (hashAt(middle) < hash) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    private long hashAt(int entry) {
+        return entries.getLong(HEADER_BYTES + entry * ENTRY_BYTES);
+    }
+
+    private int cellAt(int entry) {
+        return entries.getInt(HEADER_BYTES + entry * ENTRY_BYTES + 8);
+    }
+
+    private int weightAt(int entry) {
+        return entries.getInt(HEADER_BYTES + entry * ENTRY_BYTES + 12);
+    }
+}
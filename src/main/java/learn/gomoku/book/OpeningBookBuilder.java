@@ -0,0 +1,221 @@
+package learn.gomoku.book;
+
+import learn.gomoku.game.Gomoku;
+import learn.gomoku.game.Moves;
+import learn.gomoku.game.Symmetry;
+import learn.gomoku.record.GameRecordReader;
+import learn.gomoku.record.RecordFormat;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Builds an {@link OpeningBook} offline from finished games, usually self-play record files. Every
+ * move in the first few plies of a game is credited to its position, folded onto one orientation
+ * out of eight: two points if the mover went on to win, one for a draw, none for a loss. The points
+ * become the move's weight. Unfinished games are skipped. Not thread-safe.
+ */
+public class OpeningBookBuilder {
+
+    private final int width;
+    private final int winLength;
+    private final int plies;
+    private final Gomoku position;
+    private final Map<Long, Map<Integer, int[]>> positions = new HashMap<>();
+    private int[] cells;
+    private long games;
+
+    /**
+     * @param plies number of opening moves of each game to learn from
+     */
+    public OpeningBookBuilder(int width, int winLength, int plies) {
+        if (plies < 1) {
+            throw new IllegalArgumentException("Need at least one ply.");
+        }
+        this.width = width;
+        this.winLength = winLength;
+        this.plies = plies;
+        position = new Gomoku(null, null, true, width, winLength);
+        cells = new int[width * width];
+    }
+
+    /**
+     * Number of games added so far, not counting skipped ones.
+     */
+    public long getGameCount() {
+        return games;
+    }
+
+    /**
+     * Number of distinct positions seen so far.
+     */
+    public int getPositionCount() {
+        return positions.size();
+    }
+
+    public void add(GameRecordReader records) {
+        if (records.getWidth() != width || records.getWinLength() != winLength) {
+            throw new IllegalArgumentException("Records are not played on the book's board.");
+        }
+        GameRecordReader.Cursor cursor = records.cursor();
+        while (cursor.next()) {
+            int length = cursor.length();
+            for (int i = 0; i < Math.min(length, plies); i++) {
+                cells[i] = cursor.cell(i);
+            }
+            add(cells, length, cursor.result());
+        }
+    }
+
+    public void add(Gomoku game) {
+        if (game.getWidth() != width || game.getWinLength() != winLength) {
+            throw new IllegalArgumentException("Game is not played on the book's board.");
+        }
+        if (!game.isOver()) {
+            return;
+        }
+        int length = game.getMoveCount();
+        for (int i = 0; i < Math.min(length, plies); i++) {
+            int move = game.getMove(i);
+            cells[i] = Moves.row(move) * width + Moves.column(move);
+        }
+        int result = game.isDraw() ? RecordFormat.DRAW
+                : Moves.isBlack(game.getMove(length - 1)) ? RecordFormat.BLACK_WINS : RecordFormat.WHITE_WINS;
+        add(cells, length, result);
+    }
+
+    /**
+     * Adds a game given as cells (row * width + column), of which only the first plies are read.
+     *
+     * @param result one of the {@link RecordFormat} result codes
+     * @throws IllegalArgumentException if one of the opening moves is illegal
+     */
+    public void add(int[] cells, int length, int result) {
+        if (result == RecordFormat.UNFINISHED) {
+            return;
+        }
+        while (position.getMoveCount() > 0) {
+            position.undo();
+        }
+        for (int i = 0; i < Math.min(length, plies); i++) {
+            int cell = cells[i];
+            boolean black = position.isBlacksTurn();
+            if (cell < 0 || cell >= width * width || position.isOver() || !position.isEmpty(cell / width, cell % width)) {
+                throw new IllegalArgumentException("Illegal move " + i + " in game " + games + ".");
+            }
+
+            int transform = Symmetry.canonicalTransform(position);
+            long hash = Symmetry.hash(position, transform);
+            int canonical = Symmetry.cell(transform, cell, width);
+            for (int t = 0; t < Symmetry.COUNT; t++) {
+                // a symmetric position has several canonical transforms; fold its equivalent moves together too
+                if (t != transform && Symmetry.hash(position, t) == hash) {
+                    canonical = Math.min(canonical, Symmetry.cell(t, cell, width));
+                }
+            }
+            int[] stats = positions.computeIfAbsent(hash, key -> new HashMap<>())
+                    .computeIfAbsent(canonical, key -> new int[2]);
+            stats[0]++;
+            stats[1] += result == RecordFormat.DRAW ? 1 : (result == RecordFormat.BLACK_WINS) == black ? 2 : 0;
+            position.place(Moves.pack(cell / width, cell % width, black));
+        }
+        games++;
+    }
+
+    /**
+     * Writes the book, keeping moves that were played at least minGames times and scored at least once.
+     *
+     * @return the number of entries written
+     */
+    public int write(Path path, int minGames) throws IOException {
+        List<Entry> entries = new ArrayList<>();
+        positions.forEach((hash, moves) -> moves.forEach((cell, stats) -> {
+            if (stats[0] >= minGames && stats[1] > 0) {
+                entries.add(new Entry(hash, cell, stats[1]));
+            }
+        }));
+        entries.sort(null);
+
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            ByteBuffer buffer = ByteBuffer.allocate(OpeningBook.HEADER_BYTES + entries.size() * OpeningBook.ENTRY_BYTES);
+            buffer.putInt(OpeningBook.MAGIC)
+                    .put((byte) OpeningBook.VERSION)
+                    .put((byte) width)
+                    .put((byte) winLength)
+                    .put((byte) 0);
+            for (Entry entry : entries) {
+                buffer.putLong(entry.hash).putInt(entry.cell).putInt(entry.weight);
+            }
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+        }
+        return entries.size();
+    }
+
+    private static final class Entry implements Comparable<Entry> {
+
+        final long hash;
+        final int cell;
+        final int weight;
+
+        Entry(long hash, int cell, int weight) {
+            this.hash = hash;
+            this.cell = cell;
+            this.weight = weight;
+        }
+
+        @Override
+        public int compareTo(Entry other) {
+            int order = Long.compare(hash, other.hash);
+            if (order == 0) {
+                order = Integer.compare(other.weight, weight);
+            }
+            return order != 0 ? order : Integer.compare(cell, other.cell);
+        }
+    }
+
+    /**
+     * Usage: OpeningBookBuilder book records... [-plies n] [-min n]
+     */
+    public static void main(String[] args) throws IOException {
+        Path book = Path.of(args[0]);
+        List<Path> records = new ArrayList<>();
+        int plies = 8;
+        int minGames = 2;
+        for (int i = 1; i < args.length; i++) {
+            if (args[i].equals("-plies")) {
+                plies = Integer.parseInt(args[++i]);
+            } else if (args[i].equals("-min")) {
+                minGames = Integer.parseInt(args[++i]);
+            } else {
+                records.add(Path.of(args[i]));
+            }
+        }
+
+        OpeningBookBuilder builder = null;
+        for (Path path : records) {
+            try (GameRecordReader reader = new GameRecordReader(path)) {
+                if (builder == null) {
+                    builder = new OpeningBookBuilder(reader.getWidth(), reader.getWinLength(), plies);
+                }
+                builder.add(reader);
+            }
+        }
+        if (builder == null) {
+            throw new IllegalArgumentException("No record files given.");
+        }
+        int entries = builder.write(book, minGames);
+        System.out.printf("%d games, %d positions, %d entries written%n",
+                builder.getGameCount(), builder.getPositionCount(), entries);
+    }
+}
@@ -0,0 +1,47 @@
+package learn.gomoku.events;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.Writer;
+
+/**
+ * Writes each event as a line of text (see {@link EventText}), flushing when the stream catches up.
+ */
+public class ConsoleSink implements EventSink {
+
+    private static final String NEWLINE = System.lineSeparator();
+
+    private final Writer out;
+    private final StringBuilder line = new StringBuilder();
+
+    /**
+     * Writes to System.out.
+     */
+    public ConsoleSink() {
+        this(new PrintWriter(System.out));
+    }
+
+    public ConsoleSink(Writer out) {
+        this.out = out;
+    }
+
+    @Override
+    public void accept(GameEvent event) throws IOException {
+        line.setLength(0);
+        EventText.format(event, line).append(NEWLINE);
+        out.append(line);
+    }
+
+    @Override
+    public void flush() throws IOException {
+        out.flush();
+    }
+
+    /**
+     * Flushes but leaves the writer open, since it is usually System.out.
+     */
+    @Override
+    public void close() throws IOException {
+        out.flush();
+    }
+}
@@ -0,0 +1,146 @@
+package learn.gomoku.events;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Bounded lock-free ring of events for many producers and one consumer. Events are stored field by field
+ * in primitive arrays, so publishing allocates nothing.
+ * <p>
+ * A producer claims a sequence number by CAS on {@code head}, writes the slot, then publishes it by storing
+ * the sequence number in {@code sequences} with release semantics. The consumer reads the slot at
+ * {@code tail} once its sequence number shows up, then claims it by CAS on {@code tail}. With
+ * {@link EventStream.Overflow#DROP_OLDEST} a producer may advance {@code tail} past a published event
+ * itself; the consumer's CAS then fails and it throws away what it read, which is why the consumer claims
+ * after reading rather than before.
+ */
+final class EventRing {
+
+    private static final VarHandle SEQUENCES = MethodHandles.arrayElementVarHandle(long[].class);
+    private static final int SPINS = 100;
+    private static final long PARK_NANOS = 10_000;
+
+    private final int capacity;
+    private final int mask;
+    private final long[] sequences;
+    private final byte[] types;
+    private final long[] games;
+    private final int[] moves;
+    private final int[] rows;
+    private final int[] columns;
+    private final int[] statuses;
+    private final int[] moveCounts;
+    private final AtomicLong head = new AtomicLong();
+    private final AtomicLong tail = new AtomicLong();
+    private final LongAdder dropped = new LongAdder();
+
+    EventRing(int capacity) {
+        if (capacity < 2 || Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("Capacity must be a power of two, at least 2.");
+        }
+        this.capacity = capacity;
+        this.mask = capacity - 1;
+        sequences = new long[capacity];
+        Arrays.fill(sequences, -1);
+        types = new byte[capacity];
+        games = new long[capacity];
+        moves = new int[capacity];
+        rows = new int[capacity];
+        columns = new int[capacity];
+        statuses = new int[capacity];
+        moveCounts = new int[capacity];
+    }
+
+    /**
+     * @return false if the ring was full and the event was dropped (DROP_NEWEST only)
+     */
+    boolean offer(int type, long game, int move, int row, int column, int status, int moveCount,
+                  EventStream.Overflow overflow) {
+        long sequence;
+        int spins = 0;
+        while (true) {
+            long h = head.get();
+            long t = tail.get();
+            if (h - t < capacity) {
+                if (head.compareAndSet(h, h + 1)) {
+                    sequence = h;
+                    break;
+                }
+            } else if (overflow == EventStream.Overflow.DROP_NEWEST) {
+                dropped.increment();
+                return false;
+            } else if (overflow == EventStream.Overflow.DROP_OLDEST) {
+                // only drop a published event; an unpublished one is still being written by its producer
+                if ((long) SEQUENCES.getAcquire(sequences, index(t)) == t && tail.compareAndSet(t, t + 1)) {
+                    dropped.increment();
+                } else {
+                    Thread.onSpinWait();
+                }
+            } else {
+                backOff(++spins);
+            }
+        }
+
+        int i = index(sequence);
+        types[i] = (byte) type;
+        games[i] = game;
+        moves[i] = move;
+        rows[i] = row;
+        columns[i] = column;
+        statuses[i] = status;
+        moveCounts[i] = moveCount;
+        SEQUENCES.setRelease(sequences, i, sequence);
+        return true;
+    }
+
+    /**
+     * Copies the oldest event into {@code event} and removes it.
+     *
+     * @return false if there is no published event
+     */
+    boolean poll(GameEvent event) {
+        while (true) {
+            long t = tail.get();
+            int i = index(t);
+            if ((long) SEQUENCES.getAcquire(sequences, i) != t) {
+                return false;
+            }
+            event.set(types[i], games[i], moves[i], rows[i], columns[i], statuses[i], moveCounts[i]);
+            if (tail.compareAndSet(t, t + 1)) {
+                return true;
+            }
+        }
+    }
+
+    long head() {
+        return head.get();
+    }
+
+    long tail() {
+        return tail.get();
+    }
+
+    boolean isEmpty() {
+        return head.get() == tail.get();
+    }
+
+    long dropped() {
+        return dropped.sum();
+    }
+
+    private int index(long sequence) {
+        return (int) sequence & mask;
+    }
+
+    static void backOff(int spins) {
+        if (spins < SPINS) {
+            Thread.onSpinWait();
+        } else {
+            LockSupport.parkNanos(PARK_NANOS);
+        }
+    }
+}
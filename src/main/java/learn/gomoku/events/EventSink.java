@@ -0,0 +1,26 @@
+package learn.gomoku.events;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * Destination for the events of an {@link EventStream}. Sinks are only ever called from the stream's
+ * consumer thread, so they need not be thread-safe.
+ */
+public interface EventSink extends Closeable {
+
+    /**
+     * Handles one event. The event object is reused for the next one, so don't keep it.
+     */
+    void accept(GameEvent event) throws IOException;
+
+    /**
+     * Called whenever the stream has caught up with its producers, so a sink can buffer between calls.
+     */
+    default void flush() throws IOException {
+    }
+
+    @Override
+    default void close() throws IOException {
+    }
+}
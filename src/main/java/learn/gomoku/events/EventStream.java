@@ -0,0 +1,277 @@
+package learn.gomoku.events;
+
+import learn.gomoku.game.Gomoku;
+import learn.gomoku.game.Moves;
+import learn.gomoku.game.Stone;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Publishes game events into a bounded lock-free ring ({@link EventRing}) and delivers them to
+ * {@link EventSink}s on a background daemon thread, so a slow sink never stalls the game loop unless
+ * the ring fills and the {@link Overflow} policy says to wait.
+ * <p>
+ * Any number of threads may publish. Events of one game arrive in the order they were published, as long
+ * as that game is played on one thread. A sink that throws is dropped from delivery, and its first
+ * exception is rethrown by {@link #close()}.
+ */
+public class EventStream implements Closeable {
+
+    /**
+     * What a publisher does when the ring is full.
+     */
+    public enum Overflow {
+        /**
+         * Wait for the consumer to make room. Nothing is lost, but the game runs at the sink's speed.
+         */
+        BLOCK,
+        /**
+         * Discard the event being published.
+         */
+        DROP_NEWEST,
+        /**
+         * Discard the oldest event still waiting, so the sinks see the most recent ones.
+         */
+        DROP_OLDEST
+    }
+
+    private static final AtomicInteger STREAMS = new AtomicInteger();
+    private static final long IDLE_NANOS = 100_000;
+
+    private final EventRing ring;
+    private final Overflow overflow;
+    private final EventSink[] sinks;
+    private final boolean[] failed;
+    private final Thread consumer;
+    private final AtomicLong nextGame = new AtomicLong(1);
+    private final LongAdder published = new LongAdder();
+    // producers between their closed check and the end of their offer; close() waits for them
+    private final AtomicInteger publishing = new AtomicInteger();
+
+    private volatile boolean closed;
+    // set once closed and no producer can still add an event, so the consumer may stop when the ring is empty
+    private volatile boolean sealed;
+    // ring tail as of the last time the sinks were flushed
+    private volatile long flushed;
+    private IOException failure;
+
+    /**
+     * @param capacity events the ring holds; a power of two
+     */
+    public EventStream(int capacity, Overflow overflow, EventSink... sinks) {
+        this.ring = new EventRing(capacity);
+        this.overflow = overflow;
+        this.sinks = List.of(sinks).toArray(new EventSink[0]);
+        this.failed = new boolean[sinks.length];
+        consumer = new Thread(this::consume, "events-" + STREAMS.incrementAndGet());
+        consumer.setDaemon(true);
+        consumer.start();
+    }
+
+    /**
+     * Publishes STARTED for a new game.
+     *
+     * @return the game's id, to pass to {@link #place}
+     */
+    public long gameStarted(Gomoku game) {
+        long id = nextGame.getAndIncrement();
+        publish(GameEvent.Type.STARTED, id, GameEvent.NO_MOVE, Gomoku.PLACED, game.getMoveCount());
+        return id;
+    }
+
+    /**
+     * Places a packed move with {@link Gomoku#place(int)} and publishes PLACED or REJECTED, then WON or
+     * DRAWN if the move ended the game.
+     *
+     * @return the status code from {@link Gomoku#place(int)}
+     */
+    public int place(long id, Gomoku game, int move) {
+        int status = game.place(move);
+        publishOutcome(id, game, move, Moves.row(move), Moves.column(move), status);
+        return status;
+    }
+
+    /**
+     * Same as {@link #place(long, Gomoku, int)} for a stone, placed with {@link Gomoku#placeStatus(Stone)}.
+     *
+     * @return the status code from {@link Gomoku#placeStatus(Stone)}; {@link Gomoku#resultOf} turns it
+     * into a Result
+     */
+    public int place(long id, Gomoku game, Stone stone) {
+        int status = game.placeStatus(stone);
+        if (stone == null) {
+            publish(GameEvent.Type.REJECTED, id, GameEvent.NO_MOVE, -1, -1, status, game.getMoveCount());
+        } else {
+            publishOutcome(id, game, Moves.pack(stone), stone.getRow(), stone.getColumn(), status);
+        }
+        return status;
+    }
+
+    /**
+     * Publishes one event as it is. Returns at once unless the ring is full and the policy is BLOCK.
+     *
+     * @return false if the event was dropped because the ring was full
+     * @throws IllegalStateException if the stream is closed
+     */
+    public boolean publish(GameEvent.Type type, long game, int move, int status, int moveCount) {
+        return publish(type, game, move, Moves.row(move), Moves.column(move), status, moveCount);
+    }
+
+    private boolean publish(GameEvent.Type type, long game, int move, int row, int column, int status,
+                            int moveCount) {
+        publishing.incrementAndGet();
+        try {
+            if (closed) {
+                throw new IllegalStateException("Event stream is closed.");
+            }
+            boolean accepted = ring.offer(type.ordinal(), game, move, row, column, status, moveCount, overflow);
+            if (accepted) {
+                published.increment();
+            }
+            return accepted;
+        } finally {
+            publishing.decrementAndGet();
+        }
+    }
+
+    /**
+     * Events accepted into the ring. With DROP_OLDEST some of these may still be dropped later.
+     */
+    public long getPublished() {
+        return published.sum();
+    }
+
+    /**
+     * Events discarded because the ring was full.
+     */
+    public long getDropped() {
+        return ring.dropped();
+    }
+
+    /**
+     * Waits until every event published before the call has been handed to the sinks and the sinks
+     * have been flushed, for callers that must not print over the sinks' output.
+     */
+    public void drain() {
+        long target = ring.head();
+        while (flushed < target && consumer.isAlive()) {
+            LockSupport.unpark(consumer);
+            LockSupport.parkNanos(IDLE_NANOS / 10);
+        }
+    }
+
+    /**
+     * Delivers the events already published, stops the consumer thread and closes the sinks.
+     *
+     * @throws IOException the first exception thrown by a sink
+     */
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        // a producer that got past the closed check before it was set still gets its event delivered
+        while (publishing.get() > 0) {
+            LockSupport.unpark(consumer);
+            LockSupport.parkNanos(IDLE_NANOS / 10);
+        }
+        sealed = true;
+        LockSupport.unpark(consumer);
+        try {
+            consumer.join();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while closing the event stream.", ex);
+        }
+        for (EventSink sink : sinks) {
+            try {
+                sink.close();
+            } catch (IOException ex) {
+                fail(ex);
+            }
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    private void publishOutcome(long id, Gomoku game, int move, int row, int column, int status) {
+        int moveCount = game.getMoveCount();
+        if (status < 0) {
+            publish(GameEvent.Type.REJECTED, id, move, row, column, status, moveCount);
+            return;
+        }
+        publish(GameEvent.Type.PLACED, id, move, status, moveCount);
+        if (status == Gomoku.WIN) {
+            publish(GameEvent.Type.WON, id, move, Gomoku.PLACED, moveCount);
+        } else if (status == Gomoku.DRAW) {
+            publish(GameEvent.Type.DRAWN, id, GameEvent.NO_MOVE, Gomoku.PLACED, moveCount);
+        }
+    }
+
+    private void consume() {
+        GameEvent event = new GameEvent();
+        boolean pending = false;
+        int idle = 0;
+        while (true) {
+            if (ring.poll(event)) {
+                deliver(event);
+                pending = true;
+                idle = 0;
+                continue;
+            }
+            if (pending) {
+                flushSinks();
+                pending = false;
+            }
+            flushed = ring.tail();
+            if (sealed && ring.isEmpty()) {
+                return;
+            }
+            if (++idle < 100) {
+                Thread.onSpinWait();
+            } else {
+                LockSupport.parkNanos(IDLE_NANOS);
+            }
+        }
+    }
+
+    private void deliver(GameEvent event) {
+        for (int i = 0; i < sinks.length; i++) {
+            if (!failed[i]) {
+                try {
+                    sinks[i].accept(event);
+                } catch (IOException | RuntimeException ex) {
+                    failed[i] = true;
+                    fail(ex);
+                }
+            }
+        }
+    }
+
+    private void flushSinks() {
+        for (int i = 0; i < sinks.length; i++) {
+            if (!failed[i]) {
+                try {
+                    sinks[i].flush();
+                } catch (IOException | RuntimeException ex) {
+                    failed[i] = true;
+                    fail(ex);
+                }
+            }
+        }
+    }
+
+    private void fail(Exception ex) {
+        if (failure == null) {
+            failure = ex instanceof IOException ? (IOException) ex : new IOException("Event sink failed.", ex);
+        }
+    }
+}
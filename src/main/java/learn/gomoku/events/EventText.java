@@ -0,0 +1,61 @@
+package learn.gomoku.events;
+
+import learn.gomoku.game.Gomoku;
+
+/**
+ * One-line text form of an event, shared by the text sinks. Rows and columns are 1-based, as on screen.
+ * <pre>
+ * game 3 started
+ * game 3 placed 12 X 8 8
+ * game 3 rejected O 8 8 duplicate
+ * game 3 rejected O 0 16 off_board
+ * game 3 rejected - off_board
+ * game 3 won X 25
+ * game 3 drawn 225
+ * </pre>
+ */
+final class EventText {
+
+    private EventText() {
+    }
+
+    static StringBuilder format(GameEvent event, StringBuilder line) {
+        line.append("game ").append(event.getGame()).append(' ');
+        switch (event.getType()) {
+            case STARTED:
+                return line.append("started");
+            case PLACED:
+                line.append("placed ").append(event.getMoveCount()).append(' ');
+                return stone(event, line);
+            case REJECTED:
+                line.append("rejected ");
+                return stone(event, line).append(' ').append(reason(event.getStatus()));
+            case WON:
+                return line.append("won ").append(event.isBlack() ? 'X' : 'O').append(' ').append(event.getMoveCount());
+            default:
+                return line.append("drawn ").append(event.getMoveCount());
+        }
+    }
+
+    private static StringBuilder stone(GameEvent event, StringBuilder line) {
+        if (event.getMove() == GameEvent.NO_MOVE) {
+            return line.append('-');
+        }
+        return line.append(event.isBlack() ? 'X' : 'O')
+                .append(' ').append(event.getRow() + 1)
+                .append(' ').append(event.getColumn() + 1);
+    }
+
+    private static String reason(int status) {
+        switch (status) {
+            case Gomoku.GAME_OVER:
+                return "game_over";
+            case Gomoku.OFF_BOARD:
+                return "off_board";
+            case Gomoku.WRONG_PLAYER:
+                return "wrong_player";
+            default:
+                return "duplicate";
+        }
+    }
+}
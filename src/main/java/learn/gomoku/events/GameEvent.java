@@ -0,0 +1,101 @@
+package learn.gomoku.events;
+
+import learn.gomoku.game.Gomoku;
+import learn.gomoku.game.Moves;
+
+/**
+ * One event from an {@link EventStream}. The consumer thread reuses a single instance for every event it
+ * hands to the sinks, so a sink must copy what it needs and not keep the event.
+ */
+public final class GameEvent {
+
+    public enum Type {
+        STARTED,
+        PLACED,
+        REJECTED,
+        WON,
+        DRAWN
+    }
+
+    /**
+     * Move of an event that has none, such as STARTED.
+     */
+    public static final int NO_MOVE = -1;
+
+    private static final Type[] TYPES = Type.values();
+
+    private Type type;
+    private long game;
+    private int move;
+    private int row;
+    private int column;
+    private int status;
+    private int moveCount;
+
+    GameEvent() {
+    }
+
+    void set(int type, long game, int move, int row, int column, int status, int moveCount) {
+        this.type = TYPES[type];
+        this.game = game;
+        this.move = move;
+        this.row = row;
+        this.column = column;
+        this.status = status;
+        this.moveCount = moveCount;
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    /**
+     * The id {@link EventStream#gameStarted} gave the game.
+     */
+    public long getGame() {
+        return game;
+    }
+
+    /**
+     * The stone placed or rejected, or the winning stone, packed with {@link Moves#pack}; {@link #NO_MOVE}
+     * for STARTED and DRAWN and for a rejected null stone. Packing keeps only the low 8 bits of an
+     * off-board row or column, so use {@link #getRow()} and {@link #getColumn()} for those.
+     */
+    public int getMove() {
+        return move;
+    }
+
+    /**
+     * The stone's row as given, even when it is off the board.
+     */
+    public int getRow() {
+        return row;
+    }
+
+    public int getColumn() {
+        return column;
+    }
+
+    public boolean isBlack() {
+        return Moves.isBlack(move);
+    }
+
+    /**
+     * The {@link Gomoku#place(int)} status code for PLACED and REJECTED, otherwise {@link Gomoku#PLACED}.
+     */
+    public int getStatus() {
+        return status;
+    }
+
+    /**
+     * Moves on the board after the event.
+     */
+    public int getMoveCount() {
+        return moveCount;
+    }
+
+    @Override
+    public String toString() {
+        return EventText.format(this, new StringBuilder()).toString();
+    }
+}
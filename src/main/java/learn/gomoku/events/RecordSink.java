@@ -0,0 +1,80 @@
+package learn.gomoku.events;
+
+import learn.gomoku.record.GameRecordWriter;
+import learn.gomoku.record.RecordFormat;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Collects the placed moves of each game and appends the game to a binary record file
+ * ({@link RecordFormat}) when it is won or drawn. Games still open at close are stored as unfinished.
+ * Only use it with a stream that doesn't drop events, or games will be recorded with moves missing.
+ */
+public class RecordSink implements EventSink {
+
+    private final GameRecordWriter writer;
+    private final int width;
+    private final Map<Long, OpenGame> open = new HashMap<>();
+
+    public RecordSink(Path path, int width, int winLength) throws IOException {
+        this.writer = new GameRecordWriter(path, width, winLength);
+        this.width = width;
+    }
+
+    @Override
+    public void accept(GameEvent event) throws IOException {
+        switch (event.getType()) {
+            case STARTED:
+                open.put(event.getGame(), new OpenGame(width * width));
+                break;
+            case PLACED:
+                OpenGame moves = open.get(event.getGame());
+                if (moves != null) {
+                    moves.cells[moves.length++] = (short) (event.getRow() * width + event.getColumn());
+                }
+                break;
+            case WON:
+                finish(event.getGame(), event.isBlack() ? RecordFormat.BLACK_WINS : RecordFormat.WHITE_WINS);
+                break;
+            case DRAWN:
+                finish(event.getGame(), RecordFormat.DRAW);
+                break;
+            default:
+                break;
+        }
+    }
+
+    @Override
+    public void flush() throws IOException {
+        writer.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        try (writer) {
+            for (OpenGame moves : open.values()) {
+                writer.append(moves.cells, 0, moves.length, RecordFormat.UNFINISHED);
+            }
+            open.clear();
+        }
+    }
+
+    private void finish(long game, int result) throws IOException {
+        OpenGame moves = open.remove(game);
+        if (moves != null) {
+            writer.append(moves.cells, 0, moves.length, result);
+        }
+    }
+
+    private static class OpenGame {
+        private final short[] cells;
+        private int length;
+
+        OpenGame(int capacity) {
+            cells = new short[capacity];
+        }
+    }
+}
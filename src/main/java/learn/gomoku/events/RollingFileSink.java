@@ -0,0 +1,91 @@
+package learn.gomoku.events;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Writes events as text lines (see {@link EventText}) to a log file that rolls over when it would grow
+ * past a size limit: {@code file} moves to {@code file.1}, {@code file.1} to {@code file.2} and so on,
+ * and the oldest backup beyond the limit is deleted. An existing file is appended to.
+ */
+public class RollingFileSink implements EventSink {
+
+    private static final String NEWLINE = System.lineSeparator();
+
+    private final Path file;
+    private final long maxBytes;
+    private final int backups;
+    private final StringBuilder line = new StringBuilder();
+    private Writer out;
+    private long bytes;
+
+    /**
+     * @param maxBytes largest a file may grow; a file always takes at least one line
+     * @param backups  rolled-over files to keep
+     */
+    public RollingFileSink(Path file, long maxBytes, int backups) throws IOException {
+        if (maxBytes < 1) {
+            throw new IllegalArgumentException("Files must be allowed at least one byte.");
+        }
+        if (backups < 0) {
+            throw new IllegalArgumentException("Backup count can't be negative.");
+        }
+        this.file = file;
+        this.maxBytes = maxBytes;
+        this.backups = backups;
+        open();
+    }
+
+    @Override
+    public void accept(GameEvent event) throws IOException {
+        line.setLength(0);
+        EventText.format(event, line).append(NEWLINE);
+        // event lines are ASCII, one byte per char
+        if (bytes > 0 && bytes + line.length() > maxBytes) {
+            roll();
+        }
+        out.append(line);
+        bytes += line.length();
+    }
+
+    @Override
+    public void flush() throws IOException {
+        out.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        out.close();
+    }
+
+    private void open() throws IOException {
+        out = Files.newBufferedWriter(file, StandardCharsets.US_ASCII,
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        bytes = Files.size(file);
+    }
+
+    private void roll() throws IOException {
+        out.close();
+        if (backups == 0) {
+            Files.delete(file);
+        } else {
+            Files.deleteIfExists(backup(backups));
+            for (int i = backups - 1; i >= 1; i--) {
+                if (Files.exists(backup(i))) {
+                    Files.move(backup(i), backup(i + 1), StandardCopyOption.REPLACE_EXISTING);
+                }
+            }
+            Files.move(file, backup(1), StandardCopyOption.REPLACE_EXISTING);
+        }
+        open();
+    }
+
+    private Path backup(int number) {
+        return file.resolveSibling(file.getFileName() + "." + number);
+    }
+}
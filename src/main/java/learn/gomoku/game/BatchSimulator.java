@@ -0,0 +1,101 @@
+package learn.gomoku.game;
+
+import java.util.SplittableRandom;
+
+/**
+ * Plays many random games at once, one move per live game per round, and writes the results into
+ * flat primitive columns instead of Stones and Results. Game g's moves are
+ * {@code moves()[g * stride() .. g * stride() + lengths()[g])}, each a cell index
+ * (row * width + column) as a short; black plays the even-numbered moves. The buffers are reused
+ * by the next {@link #run}, so copy out anything that must outlive it.
+ */
+public final class BatchSimulator {
+
+    private final int games;
+    private final int stride;
+    private final Playout[] playouts;
+    private final int[] live;
+    private final short[] moves;
+    private final int[] outcomes;
+    private final int[] lengths;
+
+    public BatchSimulator(int games) {
+        this(games, Gomoku.WIDTH, Gomoku.WIN_LENGTH);
+    }
+
+    public BatchSimulator(int games, int width, int winLength) {
+        if (games < 1) {
+            throw new IllegalArgumentException("Need at least one game.");
+        }
+        if (winLength < 2 || winLength > width) {
+            throw new IllegalArgumentException("Win length must be between 2 and the board width.");
+        }
+        this.games = games;
+        this.stride = width * width;
+        playouts = new Playout[games];
+        for (int game = 0; game < games; game++) {
+            playouts[game] = new Playout(width, winLength);
+        }
+        live = new int[games];
+        moves = new short[Math.multiplyExact(games, stride)];
+        outcomes = new int[games];
+        lengths = new int[games];
+    }
+
+    /**
+     * Plays every game from the empty board to the end. Each move is uniformly random over the
+     * empty cells; the whole batch draws from one generator, so a seed and a batch size replay exactly.
+     */
+    public void run(SplittableRandom random) {
+        for (int game = 0; game < games; game++) {
+            playouts[game].rewind();
+            live[game] = game;
+            lengths[game] = 0;
+        }
+
+        int liveCount = games;
+        while (liveCount > 0) {
+            for (int i = 0; i < liveCount; ) {
+                int game = live[i];
+                Playout playout = playouts[game];
+                int cell = playout.emptyCell(random.nextInt(playout.emptyCount()));
+                moves[game * stride + lengths[game]++] = (short) cell;
+
+                int status = playout.play(cell);
+                if (status == Gomoku.PLACED) {
+                    i++;
+                    continue;
+                }
+                outcomes[game] = status == Gomoku.DRAW ? Playout.DRAW
+                        : playout.isBlacksTurn() ? Playout.BLACK_WINS : Playout.WHITE_WINS;
+                live[i] = live[--liveCount];
+            }
+        }
+    }
+
+    public int games() {
+        return games;
+    }
+
+    /**
+     * Distance between the first moves of consecutive games in {@link #moves()}: the number of cells.
+     */
+    public int stride() {
+        return stride;
+    }
+
+    public short[] moves() {
+        return moves;
+    }
+
+    /**
+     * {@link Playout#BLACK_WINS}, {@link Playout#WHITE_WINS} or {@link Playout#DRAW} per game.
+     */
+    public int[] outcomes() {
+        return outcomes;
+    }
+
+    public int[] lengths() {
+        return lengths;
+    }
+}
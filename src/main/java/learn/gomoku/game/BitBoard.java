@@ -0,0 +1,138 @@
+package learn.gomoku.game;
+
+import java.util.Arrays;
+
+import static learn.gomoku.game.BoardGeometry.DIRECTIONS;
+
+/**
+ * Packed board used by {@link Gomoku}.
+ * Each colour has a bit-plane over all cells (bit = row * width + column) plus one word per
+ * row, column and diagonal, so a run through a cell is found with a couple of shifts.
+ */
+class BitBoard {
+
+    static final int EMPTY = 0;
+    static final int BLACK = 1;
+    static final int WHITE = 2;
+
+    private final BoardGeometry geometry;
+    private final long[] blackPlane;
+    private final long[] whitePlane;
+    private final long[][] blackLines;
+    private final long[][] whiteLines;
+    private int count;
+
+    BitBoard(int width) {
+        geometry = BoardGeometry.of(width);
+        blackPlane = new long[geometry.words];
+        whitePlane = new long[geometry.words];
+        blackLines = newLines(geometry);
+        whiteLines = newLines(geometry);
+    }
+
+    private static long[][] newLines(BoardGeometry geometry) {
+        long[][] lines = new long[DIRECTIONS][];
+        for (int direction = 0; direction < DIRECTIONS; direction++) {
+            lines[direction] = new long[geometry.lineCount(direction)];
+        }
+        return lines;
+    }
+
+    BoardGeometry geometry() {
+        return geometry;
+    }
+
+    int width() {
+        return geometry.width;
+    }
+
+    int cells() {
+        return geometry.cells;
+    }
+
+    int count() {
+        return count;
+    }
+
+    int get(int cell) {
+        long bit = 1L << cell;
+        if ((blackPlane[cell >>> 6] & bit) != 0) {
+            return BLACK;
+        }
+        if ((whitePlane[cell >>> 6] & bit) != 0) {
+            return WHITE;
+        }
+        return EMPTY;
+    }
+
+    boolean isEmpty(int cell) {
+        return ((blackPlane[cell >>> 6] | whitePlane[cell >>> 6]) & (1L << cell)) == 0;
+    }
+
+    void set(int cell, boolean black) {
+        long[] plane = black ? blackPlane : whitePlane;
+        long[][] lines = black ? blackLines : whiteLines;
+        plane[cell >>> 6] |= 1L << cell;
+        for (int direction = 0; direction < DIRECTIONS; direction++) {
+            lines[direction][geometry.lineOf[direction][cell]] |= 1L << geometry.posOf[direction][cell];
+        }
+        count++;
+    }
+
+    void clear(int cell, boolean black) {
+        long[] plane = black ? blackPlane : whitePlane;
+        long[][] lines = black ? blackLines : whiteLines;
+        plane[cell >>> 6] &= ~(1L << cell);
+        for (int direction = 0; direction < DIRECTIONS; direction++) {
+            lines[direction][geometry.lineOf[direction][cell]] &= ~(1L << geometry.posOf[direction][cell]);
+        }
+        count--;
+    }
+
+    void clear() {
+        Arrays.fill(blackPlane, 0);
+        Arrays.fill(whitePlane, 0);
+        for (int direction = 0; direction < DIRECTIONS; direction++) {
+            Arrays.fill(blackLines[direction], 0);
+            Arrays.fill(whiteLines[direction], 0);
+        }
+        count = 0;
+    }
+
+    /**
+     * Copies the black and white bit-planes (bit = cell) into arrays of {@code words} longs.
+     */
+    void copyPlanes(long[] black, long[] white) {
+        System.arraycopy(blackPlane, 0, black, 0, blackPlane.length);
+        System.arraycopy(whitePlane, 0, white, 0, whitePlane.length);
+    }
+
+    /**
+     * Bits of one colour along a line, indexed by position on that line.
+     */
+    long line(boolean black, int direction, int line) {
+        return (black ? blackLines : whiteLines)[direction][line];
+    }
+
+    /**
+     * Length of the run of same-coloured stones through an occupied cell in one direction,
+     * including the cell itself.
+     */
+    int run(int direction, int cell, boolean black) {
+        long bits = line(black, direction, geometry.lineOf[direction][cell]);
+        int pos = geometry.posOf[direction][cell];
+        int forward = Long.numberOfTrailingZeros(~(bits >>> pos));
+        int backward = pos == 0 ? 0 : Long.numberOfLeadingZeros(~(bits << (64 - pos)));
+        return forward + backward;
+    }
+
+    boolean isFull() {
+        long[] full = geometry.fullMask;
+        for (int i = 0; i < full.length; i++) {
+            if ((blackPlane[i] | whitePlane[i]) != full[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,134 @@
+package learn.gomoku.game;
+
+/**
+ * Precomputed line tables for a square board.
+ * Every cell lies on exactly one line in each of the four directions. A line is stored
+ * as a single 64-bit word (bit = position along the line), so a board can be at most 64 wide.
+ */
+final class BoardGeometry {
+
+    static final int HORIZONTAL = 0;
+    static final int VERTICAL = 1;
+    static final int DIAGONAL_DOWN = 2;
+    static final int DIAGONAL_UP = 3;
+    static final int DIRECTIONS = 4;
+
+    static final int MAX_WIDTH = 64;
+
+    private static final BoardGeometry[] CACHE = new BoardGeometry[MAX_WIDTH + 1];
+
+    final int width;
+    final int cells;
+    final int words;
+
+    // [direction][cell] -> line index / position along that line
+    final int[][] lineOf;
+    final int[][] posOf;
+
+    // [direction][line] -> cell at position 0 / number of cells
+    final int[][] lineStart;
+    final int[][] lineLength;
+
+    // [direction] -> cell delta between consecutive positions on a line
+    final int[] step;
+
+    // [direction][line] -> mask of the positions that exist on that line
+    final long[][] lineMask;
+
+    // bit-plane with every cell of the board set
+    final long[] fullMask;
+
+    static BoardGeometry of(int width) {
+        if (width < 1 || width > MAX_WIDTH) {
+            throw new IllegalArgumentException("Board width must be between 1 and " + MAX_WIDTH + ".");
+        }
+        synchronized (CACHE) {
+            if (CACHE[width] == null) {
+                CACHE[width] = new BoardGeometry(width);
+            }
+            return CACHE[width];
+        }
+    }
+
+    private BoardGeometry(int width) {
+        this.width = width;
+        this.cells = width * width;
+        this.words = (cells + 63) >>> 6;
+
+        int diagonals = 2 * width - 1;
+        lineOf = new int[DIRECTIONS][cells];
+        posOf = new int[DIRECTIONS][cells];
+        lineStart = new int[][]{new int[width], new int[width], new int[diagonals], new int[diagonals]};
+        lineLength = new int[][]{new int[width], new int[width], new int[diagonals], new int[diagonals]};
+        step = new int[]{1, width, width + 1, 1 - width};
+        lineMask = new long[DIRECTIONS][];
+
+        for (int row = 0; row < width; row++) {
+            for (int col = 0; col < width; col++) {
+                int cell = row * width + col;
+
+                lineOf[HORIZONTAL][cell] = row;
+                posOf[HORIZONTAL][cell] = col;
+
+                lineOf[VERTICAL][cell] = col;
+                posOf[VERTICAL][cell] = row;
+
+                lineOf[DIAGONAL_DOWN][cell] = col - row + width - 1;
+                posOf[DIAGONAL_DOWN][cell] = Math.min(row, col);
+
+                int sum = row + col;
+                lineOf[DIAGONAL_UP][cell] = sum;
+                posOf[DIAGONAL_UP][cell] = col - Math.max(0, sum - (width - 1));
+            }
+        }
+
+        for (int line = 0; line < width; line++) {
+            lineStart[HORIZONTAL][line] = line * width;
+            lineLength[HORIZONTAL][line] = width;
+            lineStart[VERTICAL][line] = line;
+            lineLength[VERTICAL][line] = width;
+        }
+
+        for (int line = 0; line < diagonals; line++) {
+            int offset = line - (width - 1);
+            int length = width - Math.abs(offset);
+
+            // down-right diagonals start on the top row or the left column
+            int row = Math.max(0, -offset);
+            int col = Math.max(0, offset);
+            lineStart[DIAGONAL_DOWN][line] = row * width + col;
+            lineLength[DIAGONAL_DOWN][line] = length;
+
+            // up-right diagonals start on the left column or the bottom row
+            col = Math.max(0, line - (width - 1));
+            row = line - col;
+            lineStart[DIAGONAL_UP][line] = row * width + col;
+            lineLength[DIAGONAL_UP][line] = length;
+        }
+
+        for (int direction = 0; direction < DIRECTIONS; direction++) {
+            int lines = lineLength[direction].length;
+            lineMask[direction] = new long[lines];
+            for (int line = 0; line < lines; line++) {
+                lineMask[direction][line] = mask(lineLength[direction][line]);
+            }
+        }
+
+        fullMask = new long[words];
+        for (int cell = 0; cell < cells; cell++) {
+            fullMask[cell >>> 6] |= 1L << cell;
+        }
+    }
+
+    int lineCount(int direction) {
+        return lineLength[direction].length;
+    }
+
+    int cellAt(int direction, int line, int pos) {
+        return lineStart[direction][line] + pos * step[direction];
+    }
+
+    static long mask(int bits) {
+        return bits >= 64 ? -1L : (1L << bits) - 1;
+    }
+}
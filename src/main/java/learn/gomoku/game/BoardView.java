@@ -0,0 +1,99 @@
+package learn.gomoku.game;
+
+import java.util.List;
+import java.util.PrimitiveIterator;
+import java.util.Random;
+import java.util.SplittableRandom;
+
+/**
+ * Read-only window onto a {@link Gomoku}, what the game loops hand to {@link learn.gomoku.players.Player}s.
+ * It follows the live game, so it always shows the current position, but it has no way to place, undo,
+ * reset or swap. Each game owns one view ({@link Gomoku#view()}), so handing it out allocates nothing.
+ */
+public final class BoardView {
+
+    private final Gomoku game;
+
+    BoardView(Gomoku game) {
+        this.game = game;
+    }
+
+    Gomoku game() {
+        return game;
+    }
+
+    public int getWidth() {
+        return game.getWidth();
+    }
+
+    public int getWinLength() {
+        return game.getWinLength();
+    }
+
+    public boolean isBlacksTurn() {
+        return game.isBlacksTurn();
+    }
+
+    public boolean isOver() {
+        return game.isOver();
+    }
+
+    public int getMoveCount() {
+        return game.getMoveCount();
+    }
+
+    /**
+     * @see Gomoku#getMove(int)
+     */
+    public int getMove(int index) {
+        return game.getMove(index);
+    }
+
+    /**
+     * @see Gomoku#getStones()
+     */
+    public List<Stone> getStones() {
+        return game.getStones();
+    }
+
+    public long getHash() {
+        return game.getHash();
+    }
+
+    public boolean isEmpty(int row, int column) {
+        return game.isEmpty(row, column);
+    }
+
+    /**
+     * @see Gomoku#stateAt(int, int)
+     */
+    public int stateAt(int row, int column) {
+        return game.stateAt(row, column);
+    }
+
+    public int getLegalMoveCount() {
+        return game.getLegalMoveCount();
+    }
+
+    /**
+     * @see Gomoku#getLegalMove(int)
+     */
+    public int getLegalMove(int index) {
+        return game.getLegalMove(index);
+    }
+
+    public PrimitiveIterator.OfInt legalMoves() {
+        return game.legalMoves();
+    }
+
+    /**
+     * @see Gomoku#randomEmptyCell(Random)
+     */
+    public int randomEmptyCell(Random random) {
+        return game.randomEmptyCell(random);
+    }
+
+    public int randomEmptyCell(SplittableRandom random) {
+        return game.randomEmptyCell(random);
+    }
+}
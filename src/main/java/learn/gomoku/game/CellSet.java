@@ -0,0 +1,56 @@
+package learn.gomoku.game;
+
+import java.util.Arrays;
+
+/**
+ * Set of board cells with O(1) add, remove and indexed access. Removal swaps the last element into
+ * the freed slot, so iteration order is arbitrary.
+ */
+final class CellSet {
+
+    private final int[] cells;
+    private final int[] positions;
+    private int size;
+
+    CellSet(int capacity) {
+        cells = new int[capacity];
+        positions = new int[capacity];
+        Arrays.fill(positions, -1);
+    }
+
+    int size() {
+        return size;
+    }
+
+    int get(int index) {
+        return cells[index];
+    }
+
+    boolean contains(int cell) {
+        return positions[cell] >= 0;
+    }
+
+    void add(int cell) {
+        if (positions[cell] < 0) {
+            positions[cell] = size;
+            cells[size++] = cell;
+        }
+    }
+
+    void remove(int cell) {
+        int position = positions[cell];
+        if (position >= 0) {
+            int last = cells[--size];
+            cells[position] = last;
+            positions[last] = position;
+            positions[cell] = -1;
+        }
+    }
+
+    void clear() {
+        for (int i = 0; i < size; i++) {
+            positions[cells[i]] = -1;
+        }
+        size = 0;
+    }
+}
@@ -0,0 +1,104 @@
+package learn.gomoku.game;
+
+import learn.gomoku.players.Player;
+
+import java.util.List;
+
+/**
+ * A {@link Gomoku} that one writer thread plays while any number of other threads watch. After every
+ * change the writer publishes an immutable {@link GameSnapshot} through a volatile field; readers
+ * only ever see whole snapshots, never a move half applied, and neither side blocks the other.
+ * Publishing costs one small allocation per move (the snapshot and a copy of the two bit-planes).
+ * <p>
+ * The wrapped game must only be changed through this object, and only by one thread at a time.
+ */
+public final class ConcurrentGomoku {
+
+    private final Gomoku game;
+    private long version;
+    private volatile GameSnapshot snapshot;
+
+    public ConcurrentGomoku(Gomoku game) {
+        this.game = game;
+        snapshot = new GameSnapshot(0, game);
+    }
+
+    public ConcurrentGomoku(Player playerOne, Player playerTwo, boolean playerOneFirst, int width, int winLength) {
+        this(new Gomoku(playerOne, playerTwo, playerOneFirst, width, winLength));
+    }
+
+    /**
+     * The latest published state. Safe from any thread.
+     */
+    public GameSnapshot snapshot() {
+        return snapshot;
+    }
+
+    public List<Stone> getStones() {
+        return snapshot.getStones();
+    }
+
+    public boolean isBlacksTurn() {
+        return snapshot.isBlacksTurn();
+    }
+
+    public boolean isOver() {
+        return snapshot.isOver();
+    }
+
+    public Player getCurrent() {
+        return snapshot.getCurrent();
+    }
+
+    public Player getWinner() {
+        return snapshot.getWinner();
+    }
+
+    /**
+     * Writer only. See {@link Gomoku#place(Stone)}.
+     */
+    public Result place(Stone stone) {
+        Result result = game.place(stone);
+        if (result.isSuccess()) {
+            publish();
+        }
+        return result;
+    }
+
+    /**
+     * Writer only. See {@link Gomoku#place(int)}.
+     */
+    public int place(int move) {
+        int status = game.place(move);
+        if (status >= 0) {
+            publish();
+        }
+        return status;
+    }
+
+    /**
+     * Writer only. See {@link Gomoku#undo()}. Publishes only when a move was taken back, so the version
+     * keeps counting real changes.
+     *
+     * @throws IllegalStateException if there is no move to undo; nothing is published
+     */
+    public int undo() {
+        int move = game.undo();
+        if (move >= 0) {
+            publish();
+        }
+        return move;
+    }
+
+    /**
+     * Writer only. See {@link Gomoku#reset()}.
+     */
+    public void reset() {
+        game.reset();
+        publish();
+    }
+
+    private void publish() {
+        snapshot = new GameSnapshot(++version, game);
+    }
+}
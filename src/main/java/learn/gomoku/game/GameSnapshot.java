@@ -0,0 +1,92 @@
+package learn.gomoku.game;
+
+import learn.gomoku.players.Player;
+
+import java.util.List;
+
+/**
+ * Immutable picture of a {@link ConcurrentGomoku} between two changes. Every field comes from the
+ * same moment, so it can be read from any thread without locking and never looks torn.
+ */
+public final class GameSnapshot {
+
+    private final long version;
+    private final int width;
+    private final List<Stone> stones;
+    private final long[] blackPlane;
+    private final long[] whitePlane;
+    private final long hash;
+    private final boolean blacksTurn;
+    private final boolean over;
+    private final Player current;
+    private final Player winner;
+
+    GameSnapshot(long version, Gomoku game) {
+        this.version = version;
+        width = game.getWidth();
+        stones = game.getStones();
+        int words = (width * width + 63) >>> 6;
+        blackPlane = new long[words];
+        whitePlane = new long[words];
+        game.bitBoard().copyPlanes(blackPlane, whitePlane);
+        hash = game.getHash();
+        blacksTurn = game.isBlacksTurn();
+        over = game.isOver();
+        current = game.getCurrent();
+        winner = game.getWinner();
+    }
+
+    /**
+     * Number of changes (placed moves, undos and resets) applied before this snapshot was taken.
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    public int getWidth() {
+        return width;
+    }
+
+    /**
+     * The moves played so far, in order; an O(1) view, like {@link Gomoku#getStones()}.
+     */
+    public List<Stone> getStones() {
+        return stones;
+    }
+
+    public int getMoveCount() {
+        return stones.size();
+    }
+
+    /**
+     * {@link Gomoku#EMPTY}, {@link Gomoku#BLACK} or {@link Gomoku#WHITE}.
+     */
+    public int stateAt(int row, int column) {
+        int cell = row * width + column;
+        long bit = 1L << cell;
+        if ((blackPlane[cell >>> 6] & bit) != 0) {
+            return Gomoku.BLACK;
+        }
+        return (whitePlane[cell >>> 6] & bit) != 0 ? Gomoku.WHITE : Gomoku.EMPTY;
+    }
+
+    public long getHash() {
+        return hash;
+    }
+
+    public boolean isBlacksTurn() {
+        return blacksTurn;
+    }
+
+    public boolean isOver() {
+        return over;
+    }
+
+    public Player getCurrent() {
+        return current;
+    }
+
+    public Player getWinner() {
+        return winner;
+    }
+}
@@ -2,25 +2,238 @@ package learn.gomoku.game;
 
 import learn.gomoku.players.Player;
 
-import java.util.ArrayList;
 import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+import java.util.Random;
+import java.util.SplittableRandom;
 
 public class Gomoku {
 
+    // the standard game; other sizes and win lengths are set per instance
     public static final int WIDTH = 15;
+    public static final int WIN_LENGTH = 5;
+
+    // place(int) status codes: successful placements are >= 0, rejections are < 0.
+    public static final int PLACED = 0;
+    public static final int WIN = 1;
+    public static final int DRAW = 2;
+    public static final int GAME_OVER = -1;
+    public static final int OFF_BOARD = -2;
+    public static final int WRONG_PLAYER = -3;
+    public static final int DUPLICATE = -4;
+
+    // stateAt() values
+    public static final int EMPTY = BitBoard.EMPTY;
+    public static final int BLACK = BitBoard.BLACK;
+    public static final int WHITE = BitBoard.WHITE;
+
+    private static final Result PLACED_RESULT = new Result(null, true);
+    private static final Result DRAW_RESULT = new Result("Game ends in a draw.", true);
+    private static final Result GAME_OVER_RESULT = new Result("Game is over.");
+    private static final Result OFF_BOARD_RESULT = new Result("Stone is off the board.");
+    private static final Result WRONG_PLAYER_RESULT = new Result("Wrong player.");
+    private static final Result DUPLICATE_RESULT = new Result("Duplicate move.");
 
     private final Player playerOne;
     private final Player playerTwo;
-    private final char[][] board = new char[WIDTH][WIDTH];
-
-    private ArrayList<Stone> stones = new ArrayList<>();
+    private final int width;
+    private final int winLength;
+    private final BitBoard board;
+    private final CellSet empty;
+    private final BoardView view = new BoardView(this);
+
+    private int[] moves;
+    private int moveCount;
+    private int shared;
+    private ThreatIndex threats;
+    private long hash;
+    private Result playerOneWins;
+    private Result playerTwoWins;
     private boolean over;
     private Player current;
     private Player winner;
     private boolean blacksTurn = true;
-
+    private SplittableRandom random;
+    private long rewinds;
+
+    /**
+     * Returns an immutable view of the moves played so far, in order. The view is not a copy:
+     * it costs O(1) regardless of game length. Later moves are not visible through it, and it
+     * keeps showing the old moves after {@link #reset()}.
+     */
     public List<Stone> getStones() {
-        return new ArrayList<>(stones);
+        shared = Math.max(shared, moveCount);
+        return new MoveHistory(moves, moveCount);
+    }
+
+    /**
+     * Length of the common prefix of two lists returned by {@link #getStones()}, found without comparing
+     * any moves. -1 when that can't be known (lists from elsewhere, from different games, or from either
+     * side of an undo or reset); the caller then has to compare them move by move.
+     */
+    public static int sharedPrefix(List<Stone> first, List<Stone> second) {
+        if (first instanceof MoveHistory && second instanceof MoveHistory) {
+            return ((MoveHistory) first).sharedPrefix((MoveHistory) second);
+        }
+        return -1;
+    }
+
+    public int getMoveCount() {
+        return moveCount;
+    }
+
+    /**
+     * The read-only view of this game that players are given. Always the same object.
+     */
+    public BoardView view() {
+        return view;
+    }
+
+    /**
+     * Counts the {@link #undo()} and {@link #reset()} calls. While it is unchanged, moves have only been
+     * added, so anything seen earlier is still a prefix of the game.
+     */
+    public long getRewindCount() {
+        return rewinds;
+    }
+
+    /**
+     * Returns the move at {@code index} packed with {@link Moves#pack}, without allocating.
+     */
+    public int getMove(int index) {
+        if (index < 0 || index >= moveCount) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + moveCount);
+        }
+        return moves[index];
+    }
+
+    /**
+     * 64-bit Zobrist hash of the stones on the board, kept up to date by place() and undo().
+     * Equal positions reached by different move orders hash the same.
+     */
+    public long getHash() {
+        return hash;
+    }
+
+    /**
+     * Number of empty cells where {@code black} (or white) would make the given threat.
+     * The first threat query indexes the whole board; after that each move only rescans
+     * the four lines through the new stone.
+     */
+    public int getThreatCount(Threat threat, boolean black) {
+        return threats().count(threat, black);
+    }
+
+    /**
+     * One of the {@link #getThreatCount} threat cells, as a move for that colour packed with {@link Moves#pack}.
+     */
+    public int getThreatMove(Threat threat, boolean black, int index) {
+        int cell = threats().cell(threat, black, index);
+        return Moves.pack(cell / width, cell % width, black);
+    }
+
+    public boolean isThreat(Threat threat, boolean black, int row, int column) {
+        return threats().contains(threat, black, row * width + column);
+    }
+
+    /**
+     * Number of open fours (four in a row with a winning cell at both ends) {@code black} (or white) has on the board.
+     */
+    public int getOpenFours(boolean black) {
+        return threats().openFours(black);
+    }
+
+    public boolean isEmpty(int row, int column) {
+        return board.isEmpty(row * width + column);
+    }
+
+    /**
+     * Number of moves the side to move can legally play: the empty cells, or none once the game is over.
+     */
+    public int getLegalMoveCount() {
+        return over ? 0 : empty.size();
+    }
+
+    /**
+     * One of the {@link #getLegalMoveCount} legal moves, packed with {@link Moves#pack}. The order is
+     * arbitrary and changes as moves are placed and undone.
+     */
+    public int getLegalMove(int index) {
+        if (index < 0 || index >= getLegalMoveCount()) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + getLegalMoveCount());
+        }
+        return toMove(empty.get(index));
+    }
+
+    /**
+     * Iterates over the legal moves, packed with {@link Moves#pack}. Don't place or undo while iterating.
+     */
+    public PrimitiveIterator.OfInt legalMoves() {
+        return new PrimitiveIterator.OfInt() {
+            private final int count = getLegalMoveCount();
+            private int next;
+
+            @Override
+            public boolean hasNext() {
+                return next < count;
+            }
+
+            @Override
+            public int nextInt() {
+                if (next >= count) {
+                    throw new NoSuchElementException();
+                }
+                return toMove(empty.get(next++));
+            }
+        };
+    }
+
+    /**
+     * A uniformly random legal move, packed with {@link Moves#pack}. O(1): it is drawn from the set of
+     * empty cells, so it never needs a retry.
+     *
+     * @throws IllegalStateException if the game is over
+     */
+    public int randomEmptyCell(Random random) {
+        if (getLegalMoveCount() == 0) {
+            throw new IllegalStateException("No legal moves.");
+        }
+        return toMove(empty.get(random.nextInt(empty.size())));
+    }
+
+    /**
+     * Same as {@link #randomEmptyCell(Random)}, drawing from a SplittableRandom.
+     *
+     * @throws IllegalStateException if the game is over
+     */
+    public int randomEmptyCell(SplittableRandom random) {
+        if (getLegalMoveCount() == 0) {
+            throw new IllegalStateException("No legal moves.");
+        }
+        return toMove(empty.get(random.nextInt(empty.size())));
+    }
+
+    private int toMove(int cell) {
+        return Moves.pack(cell / width, cell % width, blacksTurn);
+    }
+
+    BitBoard bitBoard() {
+        return board;
+    }
+
+    /**
+     * What is on a cell: {@link #EMPTY}, {@link #BLACK} or {@link #WHITE}. O(1), read from the bitboard.
+     */
+    public int stateAt(int row, int column) {
+        return board.get(row * width + column);
+    }
+
+    private ThreatIndex threats() {
+        if (threats == null) {
+            threats = new ThreatIndex(board, winLength);
+        }
+        return threats;
     }
 
     public boolean isOver() {
@@ -35,15 +248,129 @@ public class Gomoku {
         return winner;
     }
 
+    /**
+     * True once the game has ended with a full board and no winner. Unlike {@code getWinner() == null}
+     * this also works for games without Player objects.
+     */
+    public boolean isDraw() {
+        if (!over) {
+            return false;
+        }
+        int move = moves[moveCount - 1];
+        return !isWin(Moves.row(move) * width + Moves.column(move));
+    }
+
     public boolean isBlacksTurn() {
         return blacksTurn;
     }
 
     public Gomoku(Player playerOne, Player playerTwo) {
+        this(playerOne, playerTwo, WIDTH, WIN_LENGTH);
+    }
+
+    /**
+     * Creates a game with a fixed first player instead of a random one, for reproducible headless play.
+     */
+    public Gomoku(Player playerOne, Player playerTwo, boolean playerOneFirst) {
+        this(playerOne, playerTwo, playerOneFirst, WIDTH, WIN_LENGTH);
+    }
+
+    /**
+     * Creates a game on a width x width board, won by exactly winLength in a row (connect-6 is 19, 6).
+     *
+     * @throws IllegalArgumentException if width is not 1-64 or winLength is not 2-width
+     */
+    public Gomoku(Player playerOne, Player playerTwo, int width, int winLength) {
+        this(playerOne, playerTwo, width, winLength, null);
+    }
+
+    /**
+     * Creates a game whose first players, in this game and after every {@link #reset()}, are drawn from
+     * {@code random}, so a seeded generator replays them exactly. The game is the generator's only user;
+     * hand it a {@link SplittableRandom#split()} rather than one shared with other games or threads.
+     * A null generator is replaced by an unseeded one.
+     */
+    public Gomoku(Player playerOne, Player playerTwo, int width, int winLength, SplittableRandom random) {
+        this(playerOne, playerTwo, true, width, winLength, random);
+        chooseFirstPlayer();
+    }
+
+    public Gomoku(Player playerOne, Player playerTwo, boolean playerOneFirst, int width, int winLength) {
+        this(playerOne, playerTwo, playerOneFirst, width, winLength, null);
+    }
+
+    /**
+     * Fixed first player for this game; {@code random} picks the first player after each {@link #reset()}.
+     */
+    public Gomoku(Player playerOne, Player playerTwo, boolean playerOneFirst, int width, int winLength,
+                  SplittableRandom random) {
+        checkDimensions(width, winLength);
         this.playerOne = playerOne;
         this.playerTwo = playerTwo;
+        this.width = width;
+        this.winLength = winLength;
+        board = new BitBoard(width);
+        empty = new CellSet(width * width);
+        moves = new int[width * width];
+        current = playerOneFirst ? playerOne : playerTwo;
+        this.random = random;
+        fillEmpty();
+    }
+
+    /**
+     * The constructors' board checks, for code that takes a board size before it creates any games.
+     *
+     * @throws IllegalArgumentException if width is not 1-64 or winLength is not 2-width
+     */
+    public static void checkDimensions(int width, int winLength) {
+        if (width < 1 || width > BoardGeometry.MAX_WIDTH) {
+            throw new IllegalArgumentException("Board width must be between 1 and " + BoardGeometry.MAX_WIDTH + ".");
+        }
+        if (winLength < 2 || winLength > width) {
+            throw new IllegalArgumentException("Win length must be between 2 and the board width.");
+        }
+    }
+
+    public int getWidth() {
+        return width;
+    }
 
-        if (Math.random() < 0.5) {
+    public int getWinLength() {
+        return winLength;
+    }
+
+    /**
+     * Clears the board so the same players can start a new game. The first player is chosen again
+     * from the game's generator. Lists returned by {@link #getStones()} before the reset still show the old game.
+     */
+    public void reset() {
+        rewinds++;
+        board.clear();
+        fillEmpty();
+        moveCount = 0;
+        hash = 0;
+        over = false;
+        winner = null;
+        blacksTurn = true;
+        if (threats != null) {
+            threats.rebuild();
+        }
+        chooseFirstPlayer();
+    }
+
+    private void fillEmpty() {
+        empty.clear();
+        for (int cell = 0; cell < width * width; cell++) {
+            empty.add(cell);
+        }
+    }
+
+    private void chooseFirstPlayer() {
+        if (random == null) {
+            // created on first use, so games with a fixed first player that are never reset don't need one
+            random = new SplittableRandom();
+        }
+        if (random.nextBoolean()) {
             current = playerOne;
         } else {
             current = playerTwo;
@@ -51,93 +378,184 @@ public class Gomoku {
     }
 
     public Result place(Stone stone) {
+        return resultOf(placeStatus(stone));
+    }
 
+    /**
+     * Same as {@link #place(Stone)}, reporting the outcome as a status code like {@link #place(int)}.
+     * A null stone is OFF_BOARD.
+     */
+    public int placeStatus(Stone stone) {
+        int status;
         if (isOver()) {
-            return new Result("Game is over.");
+            status = GAME_OVER;
+        } else if (!isValid(stone)) {
+            status = OFF_BOARD;
+        } else {
+            status = apply(Moves.pack(stone));
+        }
+        return status;
+    }
+
+    /**
+     * The Result {@link #place(Stone)} gives for a status code; for WIN it names this game's winner.
+     */
+    public Result resultOf(int status) {
+        switch (status) {
+            case PLACED:
+                return PLACED_RESULT;
+            case WIN:
+                return winResult();
+            case DRAW:
+                return DRAW_RESULT;
+            case OFF_BOARD:
+                return OFF_BOARD_RESULT;
+            case WRONG_PLAYER:
+                return WRONG_PLAYER_RESULT;
+            case DUPLICATE:
+                return DUPLICATE_RESULT;
+            default:
+                return GAME_OVER_RESULT;
+        }
+    }
+
+    /**
+     * Places a move packed with {@link Moves#pack}. Same rules as {@link #place(Stone)}
+     * but reports the outcome as a status code, so nothing is allocated.
+     *
+     * @return PLACED, WIN or DRAW on success; GAME_OVER, OFF_BOARD, WRONG_PLAYER or DUPLICATE otherwise
+     */
+    public int place(int move) {
+        return apply(move);
+    }
+
+    private int apply(int move) {
+        if (over) {
+            return GAME_OVER;
+        }
+
+        int row = Moves.row(move);
+        int column = Moves.column(move);
+        if (row >= width || column >= width) {
+            return OFF_BOARD;
         }
 
-        if (!isValid(stone)) {
-            return new Result("Stone is off the board.");
+        if (blacksTurn != Moves.isBlack(move)) {
+            return WRONG_PLAYER;
         }
 
-        if (blacksTurn != stone.isBlack()) {
-            return new Result("Wrong player.");
+        int cell = row * width + column;
+        if (!board.isEmpty(cell)) {
+            return DUPLICATE;
         }
 
-        if (board[stone.getRow()][stone.getColumn()] != 0) {
-            return new Result("Duplicate move.");
+        if (moveCount < shared) {
+            // a view still shows this slot from before an undo or reset, so stop writing into its array
+            moves = moves.clone();
+            shared = 0;
         }
 
-        board[stone.getRow()][stone.getColumn()] = blacksTurn ? 'B' : 'W';
-        stones.add(stone);
+        board.set(cell, blacksTurn);
+        empty.remove(cell);
+        hash ^= Zobrist.key(cell, blacksTurn);
+        moves[moveCount++] = move;
+        if (threats != null) {
+            threats.update(cell);
+        }
 
-        if (isWin(stone)) {
+        if (isWin(cell)) {
             over = true;
             winner = current;
-            return new Result(current.getName() + " wins.", true);
+            return WIN;
         }
 
-        if (stones.size() == WIDTH * WIDTH) {
+        if (board.isFull()) {
             over = true;
-            return new Result("Game ends in a draw.", true);
+            return DRAW;
         }
 
         blacksTurn = !blacksTurn;
         swap();
-        return new Result(null, true);
+        return PLACED;
+    }
+
+    /**
+     * Takes back the last move, restoring the board, the turn, the current player and the
+     * over/winner flags exactly as they were before it. O(1) and allocation-free, for tree search.
+     *
+     * @return the move that was taken back, packed with {@link Moves#pack}
+     * @throws IllegalStateException if no moves have been played
+     */
+    public int undo() {
+        if (moveCount == 0) {
+            throw new IllegalStateException("No moves to undo.");
+        }
+
+        rewinds++;
+        int move = moves[--moveCount];
+        int cell = Moves.row(move) * width + Moves.column(move);
+        board.clear(cell, Moves.isBlack(move));
+        empty.add(cell);
+        hash ^= Zobrist.key(cell, Moves.isBlack(move));
+        if (threats != null) {
+            threats.update(cell);
+        }
+
+        if (over) {
+            // the game ended on this move, so the turn was never passed on
+            over = false;
+            winner = null;
+        } else {
+            blacksTurn = !blacksTurn;
+            swap();
+        }
+        return move;
     }
 
     public void swap() {
         current = current == playerOne ? playerTwo : playerOne;
     }
 
-    private boolean isValid(Stone stone) {
-        return stone != null
-                && stone.getRow() >= 0 && stone.getRow() < WIDTH
-                && stone.getColumn() >= 0 && stone.getColumn() < WIDTH;
+    private Result winResult() {
+        if (winner == playerOne) {
+            if (playerOneWins == null) {
+                playerOneWins = new Result(playerOne.getName() + " wins.", true);
+            }
+            return playerOneWins;
+        }
+        if (playerTwoWins == null) {
+            playerTwoWins = new Result(playerTwo.getName() + " wins.", true);
+        }
+        return playerTwoWins;
     }
 
-    private boolean isWin(Stone stone) {
-        char symbol = board[stone.getRow()][stone.getColumn()];
-        return isHorizontalWin(stone.getRow(), stone.getColumn(), symbol)
-                || isVerticalWin(stone.getRow(), stone.getColumn(), symbol)
-                || isDiagonalDownWin(stone.getRow(), stone.getColumn(), symbol)
-                || isDiagonalUpWin(stone.getRow(), stone.getColumn(), symbol);
+    private boolean isValid(Stone stone) {
+        return stone != null
+                && stone.getRow() >= 0 && stone.getRow() < width
+                && stone.getColumn() >= 0 && stone.getColumn() < width;
     }
 
-    private boolean isHorizontalWin(int row, int column, char symbol) {
-        return count(row, column, 1, 0, symbol)
-                + count(row, column, -1, 0, symbol) == 4;
+    private boolean isWin(int cell) {
+        return isHorizontalWin(cell, blacksTurn)
+                || isVerticalWin(cell, blacksTurn)
+                || isDiagonalDownWin(cell, blacksTurn)
+                || isDiagonalUpWin(cell, blacksTurn);
     }
 
-    private boolean isVerticalWin(int row, int column, char symbol) {
-        return count(row, column, 0, 1, symbol)
-                + count(row, column, 0, -1, symbol) == 4;
+    private boolean isHorizontalWin(int cell, boolean black) {
+        return board.run(BoardGeometry.HORIZONTAL, cell, black) == winLength;
     }
 
-    private boolean isDiagonalDownWin(int row, int column, char symbol) {
-        return count(row, column, 1, 1, symbol)
-                + count(row, column, -1, -1, symbol) == 4;
+    private boolean isVerticalWin(int cell, boolean black) {
+        return board.run(BoardGeometry.VERTICAL, cell, black) == winLength;
     }
 
-    private boolean isDiagonalUpWin(int row, int column, char symbol) {
-        return count(row, column, -1, 1, symbol)
-                + count(row, column, 1, -1, symbol) == 4;
+    private boolean isDiagonalDownWin(int cell, boolean black) {
+        return board.run(BoardGeometry.DIAGONAL_DOWN, cell, black) == winLength;
     }
 
-    private int count(int row, int col, int deltaRow, int deltaCol, char symbol) {
-
-        int result = 0;
-        int r = row + deltaRow;
-        int c = col + deltaCol;
-
-        while (r >= 0 && r < WIDTH && c >= 0 && c < WIDTH && board[r][c] == symbol) {
-            result++;
-            r += deltaRow;
-            c += deltaCol;
-        }
-
-        return result;
+    private boolean isDiagonalUpWin(int cell, boolean black) {
+        return board.run(BoardGeometry.DIAGONAL_UP, cell, black) == winLength;
     }
 
 }
@@ -0,0 +1,41 @@
+package learn.gomoku.game;
+
+import java.util.AbstractList;
+import java.util.RandomAccess;
+
+/**
+ * Read-only view of the first {@code size} moves of a game, backed directly by the game's move array.
+ * Gomoku only ever appends past the end of a view; before it would overwrite a slot a view can see
+ * (after an undo or reset) it switches to a fresh array, so a view never changes once handed out.
+ */
+final class MoveHistory extends AbstractList<Stone> implements RandomAccess {
+
+    private final int[] moves;
+    private final int size;
+
+    MoveHistory(int[] moves, int size) {
+        this.moves = moves;
+        this.size = size;
+    }
+
+    /**
+     * Views of the same array are prefixes of one another, so their common prefix is the shorter one;
+     * -1 for views of different arrays.
+     */
+    int sharedPrefix(MoveHistory other) {
+        return moves == other.moves ? Math.min(size, other.size) : -1;
+    }
+
+    @Override
+    public Stone get(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+        return Moves.toStone(moves[index]);
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+}
@@ -0,0 +1,38 @@
+package learn.gomoku.game;
+
+/**
+ * Packs a move into a single int so the hot path never needs a {@link Stone}.
+ * Layout: bits 0-7 column, bits 8-15 row, bit 16 set for black.
+ * Row and column are stored unsigned, so anything outside 0-255 must be rejected before packing.
+ */
+public final class Moves {
+
+    private static final int BLACK = 1 << 16;
+
+    private Moves() {
+    }
+
+    public static int pack(int row, int column, boolean black) {
+        return (black ? BLACK : 0) | (row & 0xFF) << 8 | (column & 0xFF);
+    }
+
+    public static int pack(Stone stone) {
+        return pack(stone.getRow(), stone.getColumn(), stone.isBlack());
+    }
+
+    public static int row(int move) {
+        return (move >>> 8) & 0xFF;
+    }
+
+    public static int column(int move) {
+        return move & 0xFF;
+    }
+
+    public static boolean isBlack(int move) {
+        return (move & BLACK) != 0;
+    }
+
+    public static Stone toStone(int move) {
+        return Stone.of(row(move), column(move), isBlack(move));
+    }
+}
@@ -0,0 +1,153 @@
+package learn.gomoku.game;
+
+import java.util.SplittableRandom;
+
+import static learn.gomoku.game.BoardGeometry.DIRECTIONS;
+
+/**
+ * Cheap scratch copy of a {@link Gomoku} position for Monte Carlo rollouts. It keeps only the
+ * bitboard and a set of empty cells, so a random move is one array lookup and is always legal.
+ * Moves played since the last {@link #load} can be taken back with {@link #rewind()}, in time
+ * proportional to the number of moves, so one copy serves any number of rollouts from the same root.
+ */
+public final class Playout {
+
+    public static final int DRAW = 0;
+    public static final int BLACK_WINS = 1;
+    public static final int WHITE_WINS = 2;
+
+    private final BitBoard board;
+    private final int winLength;
+    private final CellSet empty;
+    private final int[] played;
+    private int playedCount;
+    private boolean rootBlacksTurn;
+    private boolean blacksTurn;
+
+    public Playout() {
+        this(Gomoku.WIDTH, Gomoku.WIN_LENGTH);
+    }
+
+    public Playout(int width, int winLength) {
+        board = new BitBoard(width);
+        this.winLength = winLength;
+        empty = new CellSet(board.cells());
+        played = new int[board.cells()];
+        clear();
+    }
+
+    /**
+     * Copies the current position of a game. The game itself is not touched afterwards.
+     *
+     * @throws IllegalArgumentException if the game has a different board size or win length
+     */
+    public void load(Gomoku game) {
+        if (game.getWidth() != board.width() || game.getWinLength() != winLength) {
+            throw new IllegalArgumentException("Playout doesn't match the game's board size or win length.");
+        }
+        clear();
+        for (int i = 0; i < game.getMoveCount(); i++) {
+            int move = game.getMove(i);
+            int cell = Moves.row(move) * board.width() + Moves.column(move);
+            board.set(cell, Moves.isBlack(move));
+            empty.remove(cell);
+        }
+        rootBlacksTurn = game.isBlacksTurn();
+        blacksTurn = rootBlacksTurn;
+    }
+
+    /**
+     * Loads the empty board with black to move.
+     */
+    public void clear() {
+        board.clear();
+        empty.clear();
+        for (int cell = 0; cell < board.cells(); cell++) {
+            empty.add(cell);
+        }
+        playedCount = 0;
+        rootBlacksTurn = true;
+        blacksTurn = true;
+    }
+
+    /**
+     * Takes back every move played since {@link #load}.
+     */
+    public void rewind() {
+        while (playedCount > 0) {
+            int cell = played[--playedCount];
+            board.clear(cell, board.get(cell) == BitBoard.BLACK);
+            empty.add(cell);
+        }
+        blacksTurn = rootBlacksTurn;
+    }
+
+    public int width() {
+        return board.width();
+    }
+
+    public boolean isBlacksTurn() {
+        return blacksTurn;
+    }
+
+    public boolean isEmpty(int cell) {
+        return board.isEmpty(cell);
+    }
+
+    public int emptyCount() {
+        return empty.size();
+    }
+
+    public int emptyCell(int index) {
+        return empty.get(index);
+    }
+
+    /**
+     * Plays the side to move on an empty cell (row * width + column). The caller guarantees the
+     * cell is empty and the game is not over; nothing is checked.
+     *
+     * @return {@link Gomoku#WIN}, {@link Gomoku#DRAW} or {@link Gomoku#PLACED}
+     */
+    public int play(int cell) {
+        board.set(cell, blacksTurn);
+        empty.remove(cell);
+        played[playedCount++] = cell;
+        if (isWin(cell, blacksTurn)) {
+            return Gomoku.WIN;
+        }
+        if (empty.size() == 0) {
+            return Gomoku.DRAW;
+        }
+        blacksTurn = !blacksTurn;
+        return Gomoku.PLACED;
+    }
+
+    /**
+     * Plays uniformly random empty cells until the game ends.
+     *
+     * @return {@link #BLACK_WINS}, {@link #WHITE_WINS} or {@link #DRAW}
+     */
+    public int playRandom(SplittableRandom random) {
+        if (empty.size() == 0) {
+            return DRAW;
+        }
+        while (true) {
+            int status = play(empty.get(random.nextInt(empty.size())));
+            if (status == Gomoku.WIN) {
+                return blacksTurn ? BLACK_WINS : WHITE_WINS;
+            }
+            if (status == Gomoku.DRAW) {
+                return DRAW;
+            }
+        }
+    }
+
+    private boolean isWin(int cell, boolean black) {
+        for (int direction = 0; direction < DIRECTIONS; direction++) {
+            if (board.run(direction, cell, black) == winLength) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,89 @@
+package learn.gomoku.game;
+
+import static learn.gomoku.game.BoardGeometry.DIRECTIONS;
+
+/**
+ * The placement rules of {@link Gomoku} and nothing else: no players, history views, hash, threat
+ * index or empty-cell set. Used to check recorded games as fast as the bitboard allows. Moves are
+ * cells (row * width + column) and the colours alternate from black.
+ */
+public final class RuleBoard {
+
+    private final BitBoard board;
+    private final int cells;
+    private final int winLength;
+    private final int[] played;
+    private int playedCount;
+    private boolean over;
+
+    public RuleBoard(int width, int winLength) {
+        if (winLength < 2 || winLength > width) {
+            throw new IllegalArgumentException("Win length must be between 2 and the board width.");
+        }
+        board = new BitBoard(width);
+        cells = board.cells();
+        this.winLength = winLength;
+        played = new int[cells];
+    }
+
+    public int width() {
+        return board.width();
+    }
+
+    /**
+     * Back to the empty board, in time proportional to the number of moves played.
+     */
+    public void reset() {
+        while (playedCount > 0) {
+            int cell = played[--playedCount];
+            board.clear(cell, (playedCount & 1) == 0);
+        }
+        over = false;
+    }
+
+    /**
+     * True if black plays next, or made the winning move once the game is over.
+     */
+    public boolean isBlacksTurn() {
+        return over ? (playedCount & 1) == 1 : (playedCount & 1) == 0;
+    }
+
+    /**
+     * Plays the side to move at a cell.
+     *
+     * @return the same status codes as {@link Gomoku#place(int)}, apart from WRONG_PLAYER
+     */
+    public int play(int cell) {
+        if (over) {
+            return Gomoku.GAME_OVER;
+        }
+        if (cell < 0 || cell >= cells) {
+            return Gomoku.OFF_BOARD;
+        }
+        if (!board.isEmpty(cell)) {
+            return Gomoku.DUPLICATE;
+        }
+        boolean black = (playedCount & 1) == 0;
+        board.set(cell, black);
+        played[playedCount++] = cell;
+        // a colour can't have a run of winLength before it has that many stones
+        if (playedCount >= 2 * winLength - 1 && isWin(cell, black)) {
+            over = true;
+            return Gomoku.WIN;
+        }
+        if (playedCount == cells) {
+            over = true;
+            return Gomoku.DRAW;
+        }
+        return Gomoku.PLACED;
+    }
+
+    private boolean isWin(int cell, boolean black) {
+        for (int direction = 0; direction < DIRECTIONS; direction++) {
+            if (board.run(direction, cell, black) == winLength) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -1,7 +1,12 @@
 package learn.gomoku.game;
 
+import java.util.Objects;
+
 public class Stone {
 
+    private static final int CACHED_WIDTH = 64;
+    private static final Stone[] CACHE = new Stone[CACHED_WIDTH * CACHED_WIDTH * 2];
+
     private final int row;
     private final int column;
     private final boolean black;
@@ -12,6 +17,23 @@ public class Stone {
         this.black = isBlack;
     }
 
+    /**
+     * Returns a shared instance for on-board coordinates so move generation doesn't allocate.
+     * Stones are immutable, so sharing them is safe.
+     */
+    public static Stone of(int row, int column, boolean isBlack) {
+        if (row < 0 || row >= CACHED_WIDTH || column < 0 || column >= CACHED_WIDTH) {
+            return new Stone(row, column, isBlack);
+        }
+        int index = (row * CACHED_WIDTH + column) * 2 + (isBlack ? 1 : 0);
+        Stone stone = CACHE[index];
+        if (stone == null) {
+            stone = new Stone(row, column, isBlack);
+            CACHE[index] = stone;
+        }
+        return stone;
+    }
+
     public int getRow() {
         return row;
     }
@@ -23,4 +45,28 @@ public class Stone {
     public boolean isBlack() {
         return black;
     }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        Stone stone = (Stone) o;
+        return row == stone.row &&
+                column == stone.column &&
+                black == stone.black;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(row, column, black);
+    }
+
+    @Override
+    public String toString() {
+        return "Stone{" +
+                "row=" + row +
+                ", column=" + column +
+                ", black=" + black +
+                '}';
+    }
 }
@@ -0,0 +1,207 @@
+package learn.gomoku.game;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static learn.gomoku.game.BoardGeometry.HORIZONTAL;
+import static learn.gomoku.game.BoardGeometry.VERTICAL;
+
+/**
+ * The eight rotations and reflections of a square board. Transform t first transposes the board if
+ * bit 2 is set, then mirrors the rows if bit 0 is set and the columns if bit 1 is set; transform 0 is
+ * the identity. Moves keep their colour under every transform.
+ * <p>
+ * A position's canonical orientation is the transform of it whose rows, read top to bottom as
+ * (black, white) bitboard words, compare smallest; all eight orientations of a position share it,
+ * so anything keyed on {@link #canonicalHash} stores one entry instead of up to eight.
+ */
+public final class Symmetry {
+
+    public static final int COUNT = 8;
+    public static final int IDENTITY = 0;
+
+    private static final int MIRROR_ROWS = 1;
+    private static final int MIRROR_COLUMNS = 2;
+    private static final int TRANSPOSE = 4;
+
+    private Symmetry() {
+    }
+
+    public static int row(int transform, int row, int column, int width) {
+        int r = (transform & TRANSPOSE) == 0 ? row : column;
+        return (transform & MIRROR_ROWS) == 0 ? r : width - 1 - r;
+    }
+
+    public static int column(int transform, int row, int column, int width) {
+        int c = (transform & TRANSPOSE) == 0 ? column : row;
+        return (transform & MIRROR_COLUMNS) == 0 ? c : width - 1 - c;
+    }
+
+    /**
+     * Transforms a cell (row * width + column).
+     */
+    public static int cell(int transform, int cell, int width) {
+        int row = cell / width;
+        int column = cell % width;
+        return row(transform, row, column, width) * width + column(transform, row, column, width);
+    }
+
+    /**
+     * Transforms a move packed with {@link Moves#pack}.
+     */
+    public static int move(int transform, int move, int width) {
+        int row = Moves.row(move);
+        int column = Moves.column(move);
+        return Moves.pack(row(transform, row, column, width), column(transform, row, column, width), Moves.isBlack(move));
+    }
+
+    /**
+     * The transform that undoes this one. Mirrors are their own inverse; after a transpose the row and
+     * column mirrors swap places.
+     */
+    public static int inverse(int transform) {
+        if ((transform & TRANSPOSE) == 0) {
+            return transform;
+        }
+        return TRANSPOSE | (transform & MIRROR_ROWS) << 1 | (transform & MIRROR_COLUMNS) >> 1;
+    }
+
+    /**
+     * The transform that takes the game's position to its canonical orientation. In a symmetric
+     * position several transforms do; the lowest-numbered one is returned. O(width) word operations
+     * per transform, read straight off the game's bitboard, without allocating.
+     */
+    public static int canonicalTransform(Gomoku game) {
+        return canonicalTransform(game.bitBoard());
+    }
+
+    public static int canonicalTransform(BoardView view) {
+        return canonicalTransform(view.game());
+    }
+
+    /**
+     * The canonical transform of the position a move history leads to.
+     *
+     * @throws IllegalArgumentException if a stone is off the board or repeats a cell
+     */
+    public static int canonicalTransform(List<Stone> history, int width) {
+        BitBoard board = new BitBoard(width);
+        for (Stone stone : history) {
+            int row = stone.getRow();
+            int column = stone.getColumn();
+            if (row < 0 || row >= width || column < 0 || column >= width || !board.isEmpty(row * width + column)) {
+                throw new IllegalArgumentException("Not a legal stone: " + stone);
+            }
+            board.set(row * width + column, stone.isBlack());
+        }
+        return canonicalTransform(board);
+    }
+
+    /**
+     * Writes a move history in its canonical orientation into moves, packed with {@link Moves#pack}.
+     *
+     * @return the transform used; its {@link #inverse} maps the moves back
+     */
+    public static int canonicalize(List<Stone> history, int width, int[] moves) {
+        int transform = canonicalTransform(history, width);
+        for (int i = 0; i < history.size(); i++) {
+            moves[i] = move(transform, Moves.pack(history.get(i)), width);
+        }
+        return transform;
+    }
+
+    public static List<Stone> transform(List<Stone> history, int transform, int width) {
+        List<Stone> stones = new ArrayList<>(history.size());
+        for (Stone stone : history) {
+            stones.add(Moves.toStone(move(transform, Moves.pack(stone), width)));
+        }
+        return stones;
+    }
+
+    /**
+     * Hash of the game's position in its canonical orientation: the same for all eight orientations.
+     */
+    public static long canonicalHash(Gomoku game) {
+        return hash(game, canonicalTransform(game));
+    }
+
+    static int canonicalTransform(BitBoard board) {
+        int width = board.width();
+        int top = leadingEmpty(board, HORIZONTAL, 0, 1);
+        if (top == width) {
+            return IDENTITY;
+        }
+        int bottom = leadingEmpty(board, HORIZONTAL, width - 1, -1);
+        int left = leadingEmpty(board, VERTICAL, 0, 1);
+        int right = leadingEmpty(board, VERTICAL, width - 1, -1);
+        int lead = Math.max(Math.max(top, bottom), Math.max(left, right));
+
+        // an empty row sorts first, so only the transforms with the most empty rows on top can win
+        int best = -1;
+        for (int t = 0; t < COUNT; t++) {
+            boolean mirrored = (t & MIRROR_ROWS) != 0;
+            int empty = (t & TRANSPOSE) == 0 ? (mirrored ? bottom : top) : (mirrored ? right : left);
+            if (empty < lead) {
+                continue;
+            }
+            if (best < 0) {
+                best = t;
+                continue;
+            }
+            for (int row = lead; row < width; row++) {
+                int order = Long.compareUnsigned(row(board, t, row, true), row(board, best, row, true));
+                if (order == 0) {
+                    order = Long.compareUnsigned(row(board, t, row, false), row(board, best, row, false));
+                }
+                if (order != 0) {
+                    if (order < 0) {
+                        best = t;
+                    }
+                    break;
+                }
+            }
+        }
+        return best;
+    }
+
+    private static int leadingEmpty(BitBoard board, int direction, int first, int step) {
+        int width = board.width();
+        int count = 0;
+        for (int line = first; count < width; line += step, count++) {
+            if ((board.line(true, direction, line) | board.line(false, direction, line)) != 0) {
+                break;
+            }
+        }
+        return count;
+    }
+
+    // One row of the transformed board as a word, bit = column. Transposed rows are the board's
+    // vertical lines, and mirroring the columns reverses the bits.
+    private static long row(BitBoard board, int transform, int row, boolean black) {
+        int width = board.width();
+        int direction = (transform & TRANSPOSE) == 0 ? HORIZONTAL : VERTICAL;
+        long bits = board.line(black, direction, (transform & MIRROR_ROWS) == 0 ? row : width - 1 - row);
+        return (transform & MIRROR_COLUMNS) == 0 ? bits : Long.reverse(bits) >>> (64 - width);
+    }
+
+    /**
+     * Zobrist hash of the game's position seen through a transform, equal to {@link Gomoku#getHash()}
+     * of the transformed position. O(moves), without allocating.
+     */
+    public static long hash(Gomoku game, int transform) {
+        int width = game.getWidth();
+        long hash = 0;
+        for (int i = 0; i < game.getMoveCount(); i++) {
+            int move = game.getMove(i);
+            int row = Moves.row(move);
+            int column = Moves.column(move);
+            int cell = row(transform, row, column, width) * width + column(transform, row, column, width);
+            hash ^= Zobrist.key(cell, Moves.isBlack(move));
+        }
+        return hash;
+    }
+
+    public static long hash(BoardView view, int transform) {
+        return hash(view.game(), transform);
+    }
+}
@@ -0,0 +1,15 @@
+package learn.gomoku.game;
+
+/**
+ * Kinds of empty cell tracked by Gomoku's threat index, always from one colour's point of view.
+ */
+public enum Threat {
+    /**
+     * Playing here makes exactly five in a row and wins.
+     */
+    FIVE,
+    /**
+     * Playing here makes an open four: four in a row with a winning cell at each end.
+     */
+    OPEN_FOUR
+}
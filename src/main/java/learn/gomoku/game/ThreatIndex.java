@@ -0,0 +1,181 @@
+package learn.gomoku.game;
+
+import static learn.gomoku.game.BoardGeometry.DIRECTIONS;
+
+/**
+ * Incremental index of threat cells for both colours. After a stone is placed only the four lines
+ * through it are rescanned; the cells each line contributes are kept as a per-line mask and
+ * reference-counted into a {@link CellSet} per colour and {@link Threat}.
+ */
+final class ThreatIndex {
+
+    private static final int BLACK = 0;
+    private static final int WHITE = 1;
+    private static final int FIVE = Threat.FIVE.ordinal();
+    private static final int OPEN_FOUR = Threat.OPEN_FOUR.ordinal();
+
+    private final BitBoard board;
+    private final BoardGeometry geometry;
+    private final int winLength;
+
+    // [colour][threat][direction][line] -> threat positions along that line
+    private final long[][][][] masks;
+    // [colour][threat][cell] -> number of lines through the cell that make it a threat
+    private final byte[][][] references;
+    private final CellSet[][] cells;
+    // [colour][direction][line] -> open fours already on that line
+    private final int[][][] openFourLines;
+    private final int[] openFours = new int[2];
+
+    ThreatIndex(BitBoard board, int winLength) {
+        this.board = board;
+        this.geometry = board.geometry();
+        this.winLength = winLength;
+
+        int threats = Threat.values().length;
+        masks = new long[2][threats][DIRECTIONS][];
+        references = new byte[2][threats][geometry.cells];
+        cells = new CellSet[2][threats];
+        openFourLines = new int[2][DIRECTIONS][];
+        for (int colour = 0; colour < 2; colour++) {
+            for (int threat = 0; threat < threats; threat++) {
+                cells[colour][threat] = new CellSet(geometry.cells);
+                for (int direction = 0; direction < DIRECTIONS; direction++) {
+                    masks[colour][threat][direction] = new long[geometry.lineCount(direction)];
+                }
+            }
+            for (int direction = 0; direction < DIRECTIONS; direction++) {
+                openFourLines[colour][direction] = new int[geometry.lineCount(direction)];
+            }
+        }
+        rebuild();
+    }
+
+    int count(Threat threat, boolean black) {
+        return cells[black ? BLACK : WHITE][threat.ordinal()].size();
+    }
+
+    int cell(Threat threat, boolean black, int index) {
+        CellSet set = cells[black ? BLACK : WHITE][threat.ordinal()];
+        if (index < 0 || index >= set.size()) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + set.size());
+        }
+        return set.get(index);
+    }
+
+    boolean contains(Threat threat, boolean black, int cell) {
+        return cells[black ? BLACK : WHITE][threat.ordinal()].contains(cell);
+    }
+
+    int openFours(boolean black) {
+        return openFours[black ? BLACK : WHITE];
+    }
+
+    /**
+     * Rescans every line. Used when the index is created and after the board is cleared.
+     */
+    void rebuild() {
+        for (int direction = 0; direction < DIRECTIONS; direction++) {
+            for (int line = 0; line < geometry.lineCount(direction); line++) {
+                refresh(direction, line);
+            }
+        }
+    }
+
+    /**
+     * Rescans the lines through a cell whose stone was just placed or removed.
+     */
+    void update(int cell) {
+        for (int direction = 0; direction < DIRECTIONS; direction++) {
+            refresh(direction, geometry.lineOf[direction][cell]);
+        }
+    }
+
+    private void refresh(int direction, int line) {
+        long black = board.line(true, direction, line);
+        long white = board.line(false, direction, line);
+        refresh(BLACK, direction, line, black, white);
+        refresh(WHITE, direction, line, white, black);
+    }
+
+    private void refresh(int colour, int direction, int line, long own, long opponent) {
+        int length = geometry.lineLength[direction][line];
+        long empty = ~(own | opponent) & geometry.lineMask[direction][line];
+        int stones = Long.bitCount(own);
+
+        long fives = 0;
+        if (stones >= winLength - 1) {
+            fives = fives(own, opponent, empty, length);
+        }
+
+        long fours = 0;
+        int open = 0;
+        if (stones >= winLength - 2) {
+            // windows of winLength + 1: empty ends, winLength - 1 cells between them
+            long span = BoardGeometry.mask(winLength + 1);
+            long inner = BoardGeometry.mask(winLength - 1) << 1;
+            for (int start = 0; start + winLength < length; start++) {
+                if ((opponent & span << start) != 0
+                        || isOwn(own, start) || isOwn(own, start + winLength)
+                        || isOwn(own, start - 1) || isOwn(own, start + winLength + 1)) {
+                    continue;
+                }
+                int count = Long.bitCount(own & inner << start);
+                if (count == winLength - 2) {
+                    fours |= empty & inner << start;
+                } else if (count == winLength - 1) {
+                    open++;
+                }
+            }
+        }
+
+        apply(colour, FIVE, direction, line, fives);
+        apply(colour, OPEN_FOUR, direction, line, fours);
+        openFours[colour] += open - openFourLines[colour][direction][line];
+        openFourLines[colour][direction][line] = open;
+    }
+
+    private long fives(long own, long opponent, long empty, int length) {
+        long result = 0;
+        long window = BoardGeometry.mask(winLength);
+        for (int start = 0; start + winLength <= length; start++) {
+            long bits = window << start;
+            // a run longer than winLength doesn't win, so the cells either side must not be ours
+            if ((opponent & bits) == 0
+                    && Long.bitCount(own & bits) == winLength - 1
+                    && !isOwn(own, start - 1)
+                    && !isOwn(own, start + winLength)) {
+                result |= empty & bits;
+            }
+        }
+        return result;
+    }
+
+    private static boolean isOwn(long own, int pos) {
+        return pos >= 0 && pos < 64 && (own >>> pos & 1) != 0;
+    }
+
+    private void apply(int colour, int threat, int direction, int line, long next) {
+        long previous = masks[colour][threat][direction][line];
+        long changed = previous ^ next;
+        if (changed == 0) {
+            return;
+        }
+        masks[colour][threat][direction][line] = next;
+
+        byte[] counts = references[colour][threat];
+        CellSet set = cells[colour][threat];
+        while (changed != 0) {
+            int pos = Long.numberOfTrailingZeros(changed);
+            changed &= changed - 1;
+            int cell = geometry.cellAt(direction, line, pos);
+            if ((next >>> pos & 1) != 0) {
+                if (counts[cell]++ == 0) {
+                    set.add(cell);
+                }
+            } else if (--counts[cell] == 0) {
+                set.remove(cell);
+            }
+        }
+    }
+}
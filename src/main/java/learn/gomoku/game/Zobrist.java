@@ -0,0 +1,31 @@
+package learn.gomoku.game;
+
+/**
+ * Fixed random keys for Zobrist hashing: a position's hash is the XOR of the key of every stone on it,
+ * so placing or removing a stone updates it with a single XOR. The keys come from a fixed seed, so a
+ * position hashes the same in every run and every JVM.
+ */
+final class Zobrist {
+
+    private static final int CELLS = BoardGeometry.MAX_WIDTH * BoardGeometry.MAX_WIDTH;
+    private static final long[] KEYS = new long[2 * CELLS];
+
+    static {
+        long state = 0x5DEECE66DL;
+        for (int i = 0; i < KEYS.length; i++) {
+            // SplitMix64
+            state += 0x9E3779B97F4A7C15L;
+            long z = state;
+            z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+            z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+            KEYS[i] = z ^ (z >>> 31);
+        }
+    }
+
+    private Zobrist() {
+    }
+
+    static long key(int cell, boolean black) {
+        return KEYS[black ? cell + CELLS : cell];
+    }
+}
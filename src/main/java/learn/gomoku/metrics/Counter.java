@@ -0,0 +1,37 @@
+package learn.gomoku.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A named count that any number of threads can bump without contending: a {@link LongAdder} spreads
+ * the updates over striped cells and only sums them when read.
+ */
+public final class Counter {
+
+    private final String name;
+    private final LongAdder count = new LongAdder();
+
+    Counter(String name) {
+        this.name = name;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void increment() {
+        count.increment();
+    }
+
+    public void add(long amount) {
+        count.add(amount);
+    }
+
+    public long sum() {
+        return count.sum();
+    }
+
+    void reset() {
+        count.reset();
+    }
+}
@@ -0,0 +1,141 @@
+package learn.gomoku.metrics;
+
+import learn.gomoku.game.Gomoku;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Engine-wide counters and histograms, switched on with {@code -Dgomoku.metrics=true}.
+ * <p>
+ * {@link #ENABLED} is a static final read once at start-up, so with metrics off every
+ * {@code if (Metrics.ENABLED)} hook is compiled away and the hot paths run exactly as before.
+ * With metrics on, counters are striped {@link java.util.concurrent.atomic.LongAdder}s and timings go
+ * into {@link Histogram}s, both safe to update from any number of threads.
+ */
+public final class Metrics {
+
+    public static final boolean ENABLED = Boolean.getBoolean("gomoku.metrics");
+
+    private static final List<Counter> COUNTERS = new ArrayList<>();
+    private static final List<Histogram> HISTOGRAMS = new ArrayList<>();
+
+    // outcomes of the moves played by the game loops (Tournament, GameController, GameServer); search,
+    // mirrors and book building place stones on their own boards and are not counted
+    public static final Counter PLACED = counter("place.placed");
+    public static final Counter WINS = counter("place.win");
+    public static final Counter DRAWS = counter("place.draw");
+    public static final Counter GAME_OVER = counter("place.rejected.game_over");
+    public static final Counter OFF_BOARD = counter("place.rejected.off_board");
+    public static final Counter WRONG_PLAYER = counter("place.rejected.wrong_player");
+    public static final Counter DUPLICATE = counter("place.rejected.duplicate");
+
+    // game loops (Tournament, GameController)
+    public static final Counter GAMES = counter("game.completed");
+    public static final Histogram GAME_MOVES = histogram("game.moves");
+    public static final Histogram GAME_REJECTED_MOVES = histogram("game.rejected_moves");
+    public static final Histogram GAME_NANOS = histogram("game.nanos");
+    public static final Histogram GENERATE_MOVE_NANOS = histogram("player.generate_move.nanos");
+
+    private Metrics() {
+    }
+
+    /**
+     * Counts one placement by its {@link Gomoku#place(int)} status code. Call it only for moves of a
+     * game being played, behind {@code if (Metrics.ENABLED)}.
+     */
+    public static void countPlace(int status) {
+        switch (status) {
+            case Gomoku.PLACED:
+                PLACED.increment();
+                break;
+            case Gomoku.WIN:
+                WINS.increment();
+                break;
+            case Gomoku.DRAW:
+                DRAWS.increment();
+                break;
+            case Gomoku.OFF_BOARD:
+                OFF_BOARD.increment();
+                break;
+            case Gomoku.WRONG_PLAYER:
+                WRONG_PLAYER.increment();
+                break;
+            case Gomoku.DUPLICATE:
+                DUPLICATE.increment();
+                break;
+            default:
+                GAME_OVER.increment();
+        }
+    }
+
+    private static Counter counter(String name) {
+        Counter counter = new Counter(name);
+        COUNTERS.add(counter);
+        return counter;
+    }
+
+    private static Histogram histogram(String name) {
+        Histogram histogram = new Histogram(name);
+        HISTOGRAMS.add(histogram);
+        return histogram;
+    }
+
+    public static List<Counter> counters() {
+        return Collections.unmodifiableList(COUNTERS);
+    }
+
+    public static List<Histogram> histograms() {
+        return Collections.unmodifiableList(HISTOGRAMS);
+    }
+
+    /**
+     * Zeroes everything. Updates racing with the reset may survive it.
+     */
+    public static void reset() {
+        COUNTERS.forEach(Counter::reset);
+        HISTOGRAMS.forEach(Histogram::reset);
+    }
+
+    /**
+     * One line per metric: {@code name value} for counters, {@code name count=.. mean=.. p50=.. ...}
+     * for histograms.
+     */
+    public static String toText() {
+        StringBuilder text = new StringBuilder();
+        for (Counter counter : COUNTERS) {
+            text.append(counter.getName()).append(' ').append(counter.sum()).append('\n');
+        }
+        for (Histogram histogram : HISTOGRAMS) {
+            text.append(histogram.getName())
+                    .append(String.format(Locale.ROOT, " count=%d mean=%.1f p50=%d p90=%d p99=%d p99.9=%d max=%d",
+                            histogram.count(), histogram.mean(), histogram.percentile(0.5), histogram.percentile(0.9),
+                            histogram.percentile(0.99), histogram.percentile(0.999), histogram.max()))
+                    .append('\n');
+        }
+        return text.toString();
+    }
+
+    /**
+     * {@code {"counters": {name: value, ...}, "histograms": {name: {"count": .., "mean": .., ...}, ...}}}
+     */
+    public static String toJson() {
+        StringBuilder json = new StringBuilder("{\"counters\":{");
+        for (int i = 0; i < COUNTERS.size(); i++) {
+            Counter counter = COUNTERS.get(i);
+            json.append(i == 0 ? "" : ",").append('"').append(counter.getName()).append("\":").append(counter.sum());
+        }
+        json.append("},\"histograms\":{");
+        for (int i = 0; i < HISTOGRAMS.size(); i++) {
+            Histogram histogram = HISTOGRAMS.get(i);
+            json.append(i == 0 ? "" : ",").append('"').append(histogram.getName()).append("\":")
+                    .append(String.format(Locale.ROOT,
+                            "{\"count\":%d,\"mean\":%.1f,\"p50\":%d,\"p90\":%d,\"p99\":%d,\"p999\":%d,\"max\":%d}",
+                            histogram.count(), histogram.mean(), histogram.percentile(0.5), histogram.percentile(0.9),
+                            histogram.percentile(0.99), histogram.percentile(0.999), histogram.max()));
+        }
+        return json.append("}}").toString();
+    }
+}
@@ -0,0 +1,356 @@
+package learn.gomoku.players;
+
+import learn.gomoku.game.Gomoku;
+import learn.gomoku.game.Moves;
+import learn.gomoku.game.Threat;
+
+import java.util.Arrays;
+
+/**
+ * Iterative-deepening principal variation search over a {@link Gomoku} position, searched in place
+ * with place()/undo(). Only empty cells within two of an existing stone are tried, ordered by the
+ * transposition table move and then by {@link WindowEvaluator#moveValue}. When the opponent threatens
+ * five, only the blocking cells are searched.
+ */
+final class AlphaBetaSearch {
+
+    static final int WIN = 1_000_000;
+    private static final int INFINITY = WIN + 1;
+    private static final int WIN_THRESHOLD = WIN - 1_000;
+    private static final int MAX_PLY = 64;
+    private static final int MAX_CANDIDATES = 24;
+    private static final int NEIGHBOURHOOD = 2;
+    private static final int OPEN_FOUR_BONUS = 1 << 16;
+    // check the clock every 64 nodes, well under a millisecond
+    private static final int CHECK_INTERVAL = 0x3F;
+
+    private final int width = Gomoku.WIDTH;
+    private final TranspositionTable table;
+    private final WindowEvaluator evaluator = new WindowEvaluator(Gomoku.WIDTH, 5);
+    private final int[][] neighbours;
+    private final byte[] near;
+    private final boolean[] occupied;
+    private final int[][] moves = new int[MAX_PLY][];
+    private final int[][] values = new int[MAX_PLY][];
+
+    private Gomoku game;
+    private long deadline;
+    private volatile boolean stopRequested;
+    private boolean stopped;
+    private long nodes;
+    private int rootMove;
+    private int completedDepth;
+    private int score;
+
+    AlphaBetaSearch(TranspositionTable table) {
+        this.table = table;
+        int cells = width * width;
+        near = new byte[cells];
+        occupied = new boolean[cells];
+        neighbours = new int[cells][];
+        for (int cell = 0; cell < cells; cell++) {
+            int row = cell / width;
+            int col = cell % width;
+            int[] list = new int[(2 * NEIGHBOURHOOD + 1) * (2 * NEIGHBOURHOOD + 1)];
+            int count = 0;
+            for (int r = Math.max(0, row - NEIGHBOURHOOD); r <= Math.min(width - 1, row + NEIGHBOURHOOD); r++) {
+                for (int c = Math.max(0, col - NEIGHBOURHOOD); c <= Math.min(width - 1, col + NEIGHBOURHOOD); c++) {
+                    list[count++] = r * width + c;
+                }
+            }
+            neighbours[cell] = Arrays.copyOf(list, count);
+        }
+        for (int ply = 0; ply < MAX_PLY; ply++) {
+            moves[ply] = new int[cells];
+            values[ply] = new int[cells];
+        }
+    }
+
+    /**
+     * Searches until maxDepth is completed, the soft deadline passes between iterations, or the hard
+     * deadline passes mid-iteration. The position is unchanged afterwards.
+     *
+     * @return the best cell (row * width + column) from the last completed iteration
+     */
+    int search(Gomoku game, long softDeadline, long hardDeadline, int maxDepth) {
+        return search(game, softDeadline, hardDeadline, 1, maxDepth);
+    }
+
+    /**
+     * Same as {@link #search(Gomoku, long, long, int)} but deepening starts at firstDepth, so that
+     * parallel helpers started at different depths explore different parts of the tree.
+     */
+    int search(Gomoku game, long softDeadline, long hardDeadline, int firstDepth, int maxDepth) {
+        setUp(game);
+        deadline = hardDeadline;
+        stopped = false;
+        nodes = 0;
+        completedDepth = 0;
+        score = 0;
+
+        boolean black = game.isBlacksTurn();
+        if (game.getThreatCount(Threat.FIVE, black) > 0) {
+            score = WIN;
+            return cellOf(game.getThreatMove(Threat.FIVE, black, 0));
+        }
+
+        int count = generate(0, black, -1);
+        if (count == 0) {
+            return -1;
+        }
+        int best = moves[0][0];
+
+        for (int depth = Math.min(firstDepth, maxDepth); depth <= maxDepth; depth++) {
+            int result = negamax(depth, 0, -INFINITY, INFINITY);
+            if (stopped) {
+                break;
+            }
+            best = rootMove;
+            score = result;
+            completedDepth = depth;
+            if (Math.abs(result) >= WIN_THRESHOLD || System.nanoTime() > softDeadline) {
+                break;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Asks a running search to stop at its next clock check. Safe to call from another thread.
+     */
+    void stop() {
+        stopRequested = true;
+    }
+
+    /**
+     * Re-arms a search after {@link #stop()}. Call before handing the search to its thread, so a stop
+     * that arrives before the search starts is not lost.
+     */
+    void clearStop() {
+        stopRequested = false;
+    }
+
+    long nodes() {
+        return nodes;
+    }
+
+    int completedDepth() {
+        return completedDepth;
+    }
+
+    int score() {
+        return score;
+    }
+
+    private void setUp(Gomoku game) {
+        this.game = game;
+        evaluator.clear();
+        Arrays.fill(near, (byte) 0);
+        Arrays.fill(occupied, false);
+        for (int i = 0; i < game.getMoveCount(); i++) {
+            int move = game.getMove(i);
+            track(cellOf(move), Moves.isBlack(move));
+        }
+        // make sure the threat index is live before searching
+        game.getThreatCount(Threat.FIVE, true);
+    }
+
+    private int negamax(int depth, int ply, int alpha, int beta) {
+        if ((++nodes & CHECK_INTERVAL) == 0 && (stopRequested || System.nanoTime() > deadline)) {
+            stopped = true;
+        }
+        if (stopped) {
+            return 0;
+        }
+
+        boolean black = game.isBlacksTurn();
+        if (game.getThreatCount(Threat.FIVE, black) > 0) {
+            return WIN - ply - 1;
+        }
+        if (depth <= 0 || ply >= MAX_PLY - 1) {
+            return evaluator.score(black);
+        }
+
+        if (depth == 1 && ply > 0 && game.getThreatCount(Threat.FIVE, !black) == 0) {
+            return bestGain(black);
+        }
+
+        long hash = game.getHash();
+        long entry = table.probe(hash);
+        int tableMove = -1;
+        if (entry != 0) {
+            tableMove = TranspositionTable.move(entry);
+            if (ply > 0 && TranspositionTable.depth(entry) >= depth) {
+                int stored = fromTable(TranspositionTable.score(entry), ply);
+                int bound = TranspositionTable.bound(entry);
+                if (bound == TranspositionTable.EXACT
+                        || bound == TranspositionTable.LOWER_BOUND && stored >= beta
+                        || bound == TranspositionTable.UPPER_BOUND && stored <= alpha) {
+                    return stored;
+                }
+            }
+        }
+
+        int count = generate(ply, black, tableMove);
+        if (count == 0) {
+            return 0;
+        }
+        if (ply > 0 && count > MAX_CANDIDATES) {
+            count = MAX_CANDIDATES;
+        }
+
+        int originalAlpha = alpha;
+        int best = -INFINITY;
+        int bestMove = -1;
+        int[] list = moves[ply];
+        for (int i = 0; i < count; i++) {
+            int cell = list[i];
+            int status = make(cell, black);
+            int result;
+            if (status == Gomoku.WIN) {
+                result = WIN - ply - 1;
+            } else if (status == Gomoku.DRAW) {
+                result = 0;
+            } else if (i == 0) {
+                result = -negamax(depth - 1, ply + 1, -beta, -alpha);
+            } else {
+                result = -negamax(depth - 1, ply + 1, -alpha - 1, -alpha);
+                if (result > alpha && result < beta) {
+                    result = -negamax(depth - 1, ply + 1, -beta, -alpha);
+                }
+            }
+            unmake(cell, black);
+            if (stopped) {
+                return 0;
+            }
+
+            if (result > best) {
+                best = result;
+                bestMove = cell;
+                if (result > alpha) {
+                    alpha = result;
+                    if (ply == 0) {
+                        rootMove = cell;
+                    }
+                    if (alpha >= beta) {
+                        break;
+                    }
+                }
+            }
+        }
+
+        int bound = best <= originalAlpha ? TranspositionTable.UPPER_BOUND
+                : best >= beta ? TranspositionTable.LOWER_BOUND
+                : TranspositionTable.EXACT;
+        table.store(hash, bestMove, toTable(best, ply), depth, bound);
+        return best;
+    }
+
+    /**
+     * Depth-one search without making moves. With no five threatened against us, no reply can win at
+     * once, so each child is just the static score after our stone, which the evaluator can compute directly.
+     */
+    private int bestGain(boolean black) {
+        if (game.getMoveCount() == 0) {
+            return evaluator.score(black);
+        }
+        int best = -INFINITY;
+        for (int cell = 0; cell < occupied.length; cell++) {
+            if (near[cell] != 0 && !occupied[cell]) {
+                best = Math.max(best, evaluator.gain(cell, black));
+            }
+        }
+        return best == -INFINITY ? 0 : evaluator.score(black) + best;
+    }
+
+    private int generate(int ply, boolean black, int tableMove) {
+        int[] list = moves[ply];
+        int[] scores = values[ply];
+        int count = 0;
+
+        int blocks = game.getThreatCount(Threat.FIVE, !black);
+        if (blocks > 0) {
+            // the opponent wins next move unless we block
+            for (int i = 0; i < blocks; i++) {
+                list[count++] = cellOf(game.getThreatMove(Threat.FIVE, !black, i));
+            }
+            return count;
+        }
+
+        if (game.getMoveCount() == 0) {
+            list[0] = (width / 2) * width + width / 2;
+            return 1;
+        }
+
+        for (int cell = 0; cell < occupied.length; cell++) {
+            if (near[cell] == 0 || occupied[cell]) {
+                continue;
+            }
+            int value = evaluator.moveValue(cell);
+            if (game.isThreat(Threat.OPEN_FOUR, black, cell / width, cell % width)) {
+                value += OPEN_FOUR_BONUS;
+            }
+            if (cell == tableMove) {
+                value = Integer.MAX_VALUE;
+            }
+            // insertion sort, highest value first
+            int i = count++;
+            while (i > 0 && scores[i - 1] < value) {
+                list[i] = list[i - 1];
+                scores[i] = scores[i - 1];
+                i--;
+            }
+            list[i] = cell;
+            scores[i] = value;
+        }
+        return count;
+    }
+
+    private int make(int cell, boolean black) {
+        int status = game.place(Moves.pack(cell / width, cell % width, black));
+        track(cell, black);
+        return status;
+    }
+
+    private void unmake(int cell, boolean black) {
+        game.undo();
+        occupied[cell] = false;
+        evaluator.remove(cell, black);
+        for (int neighbour : neighbours[cell]) {
+            near[neighbour]--;
+        }
+    }
+
+    private void track(int cell, boolean black) {
+        occupied[cell] = true;
+        evaluator.place(cell, black);
+        for (int neighbour : neighbours[cell]) {
+            near[neighbour]++;
+        }
+    }
+
+    private int cellOf(int move) {
+        return Moves.row(move) * width + Moves.column(move);
+    }
+
+    // Win scores count plies from the root; the table stores them relative to the node instead.
+    private static int toTable(int score, int ply) {
+        if (score >= WIN_THRESHOLD) {
+            return score + ply;
+        }
+        if (score <= -WIN_THRESHOLD) {
+            return score - ply;
+        }
+        return score;
+    }
+
+    private static int fromTable(int score, int ply) {
+        if (score >= WIN_THRESHOLD) {
+            return score - ply;
+        }
+        if (score <= -WIN_THRESHOLD) {
+            return score + ply;
+        }
+        return score;
+    }
+}
@@ -0,0 +1,70 @@
+package learn.gomoku.players;
+
+import learn.gomoku.book.OpeningBook;
+import learn.gomoku.game.BoardView;
+import learn.gomoku.game.Gomoku;
+import learn.gomoku.game.Moves;
+import learn.gomoku.game.Result;
+import learn.gomoku.game.Stone;
+
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Plays from an {@link OpeningBook} while the position is in it, then hands over to another player.
+ */
+public class BookPlayer implements Player {
+
+    private final OpeningBook book;
+    private final Player fallback;
+    private final Random random;
+    private final GameMirror mirror;
+
+    /**
+     * Always plays the book's highest-weighted move.
+     */
+    public BookPlayer(OpeningBook book, Player fallback) {
+        this(book, fallback, null);
+    }
+
+    /**
+     * Picks book moves at random in proportion to their weights, or the best one if random is null.
+     */
+    public BookPlayer(OpeningBook book, Player fallback, Random random) {
+        this.book = book;
+        this.fallback = fallback;
+        this.random = random;
+        mirror = new GameMirror(book.getWidth(), book.getWinLength());
+    }
+
+    @Override
+    public String getName() {
+        return fallback.getName();
+    }
+
+    @Override
+    public Stone generateMove(List<Stone> previousMoves) {
+        if (previousMoves != null) {
+            Gomoku game = mirror.sync(previousMoves);
+            int move = book.lookup(game, random);
+            if (move != OpeningBook.NO_MOVE) {
+                return Moves.toStone(move);
+            }
+        }
+        return fallback.generateMove(previousMoves);
+    }
+
+    @Override
+    public Stone chooseMove(BoardView game) {
+        int move = book.lookup(game, random);
+        if (move != OpeningBook.NO_MOVE) {
+            return Moves.toStone(move);
+        }
+        return fallback.chooseMove(game);
+    }
+
+    @Override
+    public void moveRejected(Stone stone, Result result) {
+        fallback.moveRejected(stone, result);
+    }
+}
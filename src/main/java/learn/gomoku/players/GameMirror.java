@@ -0,0 +1,49 @@
+package learn.gomoku.players;
+
+import learn.gomoku.game.Gomoku;
+import learn.gomoku.game.Moves;
+import learn.gomoku.game.Stone;
+
+import java.util.List;
+
+/**
+ * A player's private copy of the game, kept in step with the move history it is handed.
+ * Normally only the moves since the last call are applied; if the history no longer matches
+ * (a new game, or moves taken back) the copy is rewound to the first move where they differ.
+ * Histories from {@link Gomoku#getStones()} of one game tell that point at once, so following a game
+ * costs O(1) per move; any other list is compared move by move.
+ */
+final class GameMirror {
+
+    private final Gomoku game;
+    // the history the copy matches, while it still does
+    private List<Stone> last = List.of();
+
+    GameMirror() {
+        this(Gomoku.WIDTH, Gomoku.WIN_LENGTH);
+    }
+
+    GameMirror(int width, int winLength) {
+        game = new Gomoku(null, null, true, width, winLength);
+    }
+
+    Gomoku sync(List<Stone> history) {
+        int common = Gomoku.sharedPrefix(last, history);
+        if (common < 0) {
+            int shared = Math.min(game.getMoveCount(), history.size());
+            common = 0;
+            while (common < shared && game.getMove(common) == Moves.pack(history.get(common))) {
+                common++;
+            }
+        }
+        while (game.getMoveCount() > common) {
+            game.undo();
+        }
+        for (int i = common; i < history.size(); i++) {
+            game.place(Moves.pack(history.get(i)));
+        }
+        // a move the copy refused leaves it out of step, so the next call compares
+        last = game.getMoveCount() == history.size() ? history : List.of();
+        return game;
+    }
+}
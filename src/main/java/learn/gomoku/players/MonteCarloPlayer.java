@@ -0,0 +1,187 @@
+package learn.gomoku.players;
+
+import learn.gomoku.game.Gomoku;
+import learn.gomoku.game.Moves;
+import learn.gomoku.game.Stone;
+import learn.gomoku.game.Threat;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Monte Carlo tree search player. Root-parallel: each thread grows its own {@link MonteCarloTree}
+ * from the same position with its own random stream, and the root visit counts are summed to pick
+ * the move. Immediate wins are played and forced blocks are enforced at the root before searching.
+ * Plays the standard {@link Gomoku#WIDTH} board only.
+ */
+public class MonteCarloPlayer implements Player, AutoCloseable {
+
+    public static final int DEFAULT_NODES_PER_THREAD = 1 << 18;
+    private static final AtomicInteger POOLS = new AtomicInteger();
+
+    private final String name;
+    private final long budgetNanos;
+    private final long maxPlayouts;
+    private final GameMirror mirror = new GameMirror();
+    private final Worker[] workers;
+    private final ExecutorService pool;
+    private final int[] visits = new int[Gomoku.WIDTH * Gomoku.WIDTH];
+
+    private long lastPlayouts;
+    private long lastNodes;
+
+    public MonteCarloPlayer(String name, int threads, int budgetMillis) {
+        this(name, threads, budgetMillis, Long.MAX_VALUE, DEFAULT_NODES_PER_THREAD, new SplittableRandom());
+    }
+
+    /**
+     * @param maxPlayouts    playouts per thread per move; the search stops at this or the budget, whichever is first
+     * @param nodesPerThread tree capacity of each thread, {@link MonteCarloTree#BYTES_PER_NODE} bytes per node
+     * @param random         split once per thread, so a seeded player replays exactly when maxPlayouts is what stops it
+     */
+    public MonteCarloPlayer(String name, int threads, int budgetMillis, long maxPlayouts, int nodesPerThread,
+                            SplittableRandom random) {
+        if (threads < 1) {
+            throw new IllegalArgumentException("Need at least one search thread.");
+        }
+        if (budgetMillis < 1) {
+            throw new IllegalArgumentException("Time budget must be at least 1 ms.");
+        }
+        if (nodesPerThread <= Gomoku.WIDTH * Gomoku.WIDTH) {
+            throw new IllegalArgumentException("Tree must hold more nodes than there are cells.");
+        }
+        this.name = name;
+        this.budgetNanos = budgetMillis * 1_000_000L;
+        this.maxPlayouts = maxPlayouts;
+
+        workers = new Worker[threads];
+        for (int i = 0; i < threads; i++) {
+            workers[i] = new Worker(new MonteCarloTree(nodesPerThread, random.split()));
+        }
+
+        String prefix = "mcts-" + POOLS.incrementAndGet() + "-";
+        AtomicInteger count = new AtomicInteger();
+        pool = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, prefix + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Playouts run by all threads together for the last move.
+     */
+    public long getLastPlayouts() {
+        return lastPlayouts;
+    }
+
+    /**
+     * Tree nodes allocated by all threads together for the last move.
+     */
+    public long getLastNodes() {
+        return lastNodes;
+    }
+
+    @Override
+    public Stone generateMove(List<Stone> previousMoves) {
+        long deadline = System.nanoTime() + budgetNanos * 9 / 10;
+        Gomoku game = mirror.sync(previousMoves);
+        lastPlayouts = 0;
+        lastNodes = 0;
+        if (game.isOver()) {
+            return null;
+        }
+
+        boolean black = game.isBlacksTurn();
+        if (game.getThreatCount(Threat.FIVE, black) > 0) {
+            return Moves.toStone(game.getThreatMove(Threat.FIVE, black, 0));
+        }
+        int[] rootMoves = null;
+        int blocks = game.getThreatCount(Threat.FIVE, !black);
+        if (blocks > 0) {
+            rootMoves = new int[blocks];
+            for (int i = 0; i < blocks; i++) {
+                int move = game.getThreatMove(Threat.FIVE, !black, i);
+                rootMoves[i] = Moves.row(move) * Gomoku.WIDTH + Moves.column(move);
+            }
+        }
+
+        Future<?>[] running = new Future<?>[workers.length];
+        for (int i = 0; i < workers.length; i++) {
+            workers[i].prepare(game, rootMoves, deadline);
+            running[i] = pool.submit(workers[i]);
+        }
+        try {
+            for (Future<?> future : running) {
+                future.get();
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while searching.", ex);
+        } catch (ExecutionException ex) {
+            throw new IllegalStateException("Search failed.", ex.getCause());
+        }
+
+        Arrays.fill(visits, 0);
+        for (Worker worker : workers) {
+            MonteCarloTree tree = worker.tree;
+            lastPlayouts += tree.playouts();
+            lastNodes += tree.nodes();
+            for (int i = 0; i < tree.rootChildren(); i++) {
+                visits[tree.rootChildCell(i)] += tree.rootChildVisits(i);
+            }
+        }
+        int best = -1;
+        for (int cell = 0; cell < visits.length; cell++) {
+            if (game.isEmpty(cell / Gomoku.WIDTH, cell % Gomoku.WIDTH)
+                    && (best < 0 || visits[cell] > visits[best])) {
+                best = cell;
+            }
+        }
+        return Stone.of(best / Gomoku.WIDTH, best % Gomoku.WIDTH, black);
+    }
+
+    /**
+     * Stops the worker threads. They are daemon threads, so this is only needed to free them early.
+     */
+    @Override
+    public void close() {
+        pool.shutdownNow();
+    }
+
+    private class Worker implements Callable<Void> {
+
+        private final MonteCarloTree tree;
+        private Gomoku game;
+        private int[] rootMoves;
+        private long deadline;
+
+        Worker(MonteCarloTree tree) {
+            this.tree = tree;
+        }
+
+        void prepare(Gomoku game, int[] rootMoves, long deadline) {
+            this.game = game;
+            this.rootMoves = rootMoves;
+            this.deadline = deadline;
+        }
+
+        @Override
+        public Void call() {
+            tree.search(game, rootMoves, deadline, maxPlayouts);
+            return null;
+        }
+    }
+}
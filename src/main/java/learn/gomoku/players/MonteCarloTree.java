@@ -0,0 +1,250 @@
+package learn.gomoku.players;
+
+import learn.gomoku.game.Gomoku;
+import learn.gomoku.game.Moves;
+import learn.gomoku.game.Playout;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * One UCT search tree with random rollouts, owned by a single thread. Nodes are indices into
+ * parallel primitive arrays, and a node's children occupy a contiguous block, so a node costs
+ * {@link #BYTES_PER_NODE} bytes and the tree never allocates after construction. When the arrays
+ * are full, leaves stop expanding and the search continues with rollouts only.
+ */
+final class MonteCarloTree {
+
+    static final int BYTES_PER_NODE = 4 + 4 + 2 + 4 + 4;
+
+    private static final double EXPLORATION = 1.0;
+    // expansion only considers cells next to a stone; rollouts still use the whole board
+    private static final int NEIGHBOURHOOD = 1;
+    private static final int CHECK_INTERVAL = 0x3F;
+
+    private final int width = Gomoku.WIDTH;
+    private final int[] cell;
+    private final int[] firstChild;
+    private final short[] childCount;
+    private final int[] visits;
+    // in half points for the player who moved into the node: 2 per win, 1 per draw
+    private final int[] score;
+    private int size;
+
+    private final Playout playout = new Playout();
+    private final SplittableRandom random;
+    private final int[][] neighbours;
+    private final byte[] near;
+    private final int[] path;
+    private boolean rootBlack;
+    private long playouts;
+
+    MonteCarloTree(int capacity, SplittableRandom random) {
+        this.random = random;
+        cell = new int[capacity];
+        firstChild = new int[capacity];
+        childCount = new short[capacity];
+        visits = new int[capacity];
+        score = new int[capacity];
+
+        int cells = width * width;
+        near = new byte[cells];
+        path = new int[cells + 1];
+        neighbours = new int[cells][];
+        for (int c = 0; c < cells; c++) {
+            int row = c / width;
+            int col = c % width;
+            int[] list = new int[(2 * NEIGHBOURHOOD + 1) * (2 * NEIGHBOURHOOD + 1)];
+            int count = 0;
+            for (int r = Math.max(0, row - NEIGHBOURHOOD); r <= Math.min(width - 1, row + NEIGHBOURHOOD); r++) {
+                for (int k = Math.max(0, col - NEIGHBOURHOOD); k <= Math.min(width - 1, col + NEIGHBOURHOOD); k++) {
+                    list[count++] = r * width + k;
+                }
+            }
+            neighbours[c] = Arrays.copyOf(list, count);
+        }
+    }
+
+    /**
+     * Runs playouts from the game's position until the deadline or until maxPlayouts have been played.
+     *
+     * @param rootMoves cells to search at the root, or null for every cell next to a stone
+     */
+    void search(Gomoku game, int[] rootMoves, long deadline, long maxPlayouts) {
+        playout.load(game);
+        rootBlack = game.isBlacksTurn();
+        Arrays.fill(near, (byte) 0);
+        for (int i = 0; i < game.getMoveCount(); i++) {
+            int move = game.getMove(i);
+            track(Moves.row(move) * width + Moves.column(move), 1);
+        }
+
+        size = 1;
+        cell[0] = -1;
+        firstChild[0] = -1;
+        visits[0] = 0;
+        score[0] = 0;
+        if (rootMoves == null) {
+            expand(0);
+        } else {
+            addChildren(0, rootMoves, rootMoves.length);
+        }
+
+        playouts = 0;
+        while (playouts < maxPlayouts) {
+            iterate();
+            if ((++playouts & CHECK_INTERVAL) == 0 && System.nanoTime() > deadline) {
+                break;
+            }
+        }
+    }
+
+    long playouts() {
+        return playouts;
+    }
+
+    int nodes() {
+        return size;
+    }
+
+    int rootChildren() {
+        return childCount[0];
+    }
+
+    int rootChildCell(int index) {
+        return cell[firstChild[0] + index];
+    }
+
+    int rootChildVisits(int index) {
+        return visits[firstChild[0] + index];
+    }
+
+    private void iterate() {
+        int node = 0;
+        int depth = 0;
+        int status = Gomoku.PLACED;
+
+        while (firstChild[node] >= 0 && status == Gomoku.PLACED) {
+            node = select(node);
+            path[++depth] = node;
+            status = play(cell[node]);
+        }
+        if (status == Gomoku.PLACED && visits[node] > 0 && expand(node)) {
+            node = firstChild[node];
+            path[++depth] = node;
+            status = play(cell[node]);
+        }
+
+        int outcome;
+        if (status == Gomoku.WIN) {
+            outcome = playout.isBlacksTurn() ? Playout.BLACK_WINS : Playout.WHITE_WINS;
+        } else if (status == Gomoku.DRAW) {
+            outcome = Playout.DRAW;
+        } else {
+            outcome = playout.playRandom(random);
+        }
+
+        visits[0]++;
+        for (int d = 1; d <= depth; d++) {
+            int n = path[d];
+            visits[n]++;
+            boolean black = rootBlack == (d % 2 == 1);
+            if (outcome == Playout.DRAW) {
+                score[n] += 1;
+            } else if ((outcome == Playout.BLACK_WINS) == black) {
+                score[n] += 2;
+            }
+            track(cell[n], -1);
+        }
+        playout.rewind();
+    }
+
+    private int play(int c) {
+        track(c, 1);
+        return playout.play(c);
+    }
+
+    private int select(int node) {
+        int first = firstChild[node];
+        int last = first + childCount[node];
+        double logParent = Math.log(visits[node]);
+        int best = first;
+        double bestValue = Double.NEGATIVE_INFINITY;
+        for (int child = first; child < last; child++) {
+            int n = visits[child];
+            if (n == 0) {
+                return child;
+            }
+            double value = score[child] / (2.0 * n) + EXPLORATION * Math.sqrt(logParent / n);
+            if (value > bestValue) {
+                bestValue = value;
+                best = child;
+            }
+        }
+        return best;
+    }
+
+    private boolean expand(int node) {
+        int count = 0;
+        int cells = width * width;
+        for (int c = 0; c < cells; c++) {
+            if (near[c] > 0 && playout.isEmpty(c)) {
+                count++;
+            }
+        }
+        if (count == 0) {
+            if (playout.emptyCount() != cells) {
+                return false;
+            }
+            return addChild(node, (width / 2) * width + width / 2);
+        }
+        if (size + count > cell.length) {
+            return false;
+        }
+
+        firstChild[node] = size;
+        childCount[node] = (short) count;
+        for (int c = 0; c < cells; c++) {
+            if (near[c] > 0 && playout.isEmpty(c)) {
+                initNode(size++, c);
+            }
+        }
+        return true;
+    }
+
+    private boolean addChild(int node, int c) {
+        if (size == cell.length) {
+            return false;
+        }
+        firstChild[node] = size;
+        childCount[node] = 1;
+        initNode(size++, c);
+        return true;
+    }
+
+    private boolean addChildren(int node, int[] cells, int count) {
+        if (size + count > cell.length) {
+            return false;
+        }
+        firstChild[node] = size;
+        childCount[node] = (short) count;
+        for (int i = 0; i < count; i++) {
+            initNode(size++, cells[i]);
+        }
+        return true;
+    }
+
+    private void initNode(int node, int c) {
+        cell[node] = c;
+        firstChild[node] = -1;
+        childCount[node] = 0;
+        visits[node] = 0;
+        score[node] = 0;
+    }
+
+    private void track(int c, int delta) {
+        for (int neighbour : neighbours[c]) {
+            near[neighbour] += delta;
+        }
+    }
+}
@@ -0,0 +1,192 @@
+package learn.gomoku.players;
+
+import learn.gomoku.game.Gomoku;
+import learn.gomoku.game.Stone;
+
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Lazy SMP version of {@link SearchPlayer}: every worker thread runs its own iterative-deepening
+ * search of the same root position, and they cooperate only through a shared transposition table.
+ * Odd-numbered workers start one ply deeper so the threads spread over different parts of the tree.
+ * The search ends when the first worker finishes; the move comes from the deepest completed search.
+ * Like SearchPlayer it plays the standard {@link Gomoku#WIDTH} board only.
+ */
+public class ParallelSearchPlayer implements Player, AutoCloseable {
+
+    private static final int MAX_DEPTH = 32;
+    private static final AtomicInteger POOLS = new AtomicInteger();
+
+    private final String name;
+    private final long budgetNanos;
+    private final int maxDepth;
+    private final TranspositionTable table;
+    private final Worker[] workers;
+    private final ExecutorService pool;
+
+    private long lastNodes;
+    private int lastDepth;
+
+    public ParallelSearchPlayer(String name, int threads, int budgetMillis) {
+        this(name, threads, budgetMillis, MAX_DEPTH, new TranspositionTable(SearchPlayer.DEFAULT_TABLE_MEGABYTES * threads));
+    }
+
+    /**
+     * @param maxDepth deepest iteration to search; with a large budget the search stops as soon as one
+     *                 worker completes this depth, which is how time-to-depth is measured
+     */
+    public ParallelSearchPlayer(String name, int threads, int budgetMillis, int maxDepth, TranspositionTable table) {
+        if (threads < 1) {
+            throw new IllegalArgumentException("Need at least one search thread.");
+        }
+        if (budgetMillis < 1) {
+            throw new IllegalArgumentException("Time budget must be at least 1 ms.");
+        }
+        this.name = name;
+        this.budgetNanos = budgetMillis * 1_000_000L;
+        this.maxDepth = maxDepth;
+        this.table = table;
+
+        workers = new Worker[threads];
+        for (int i = 0; i < threads; i++) {
+            workers[i] = new Worker(i);
+        }
+
+        String prefix = "search-" + POOLS.incrementAndGet() + "-";
+        AtomicInteger count = new AtomicInteger();
+        pool = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, prefix + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    public int getThreads() {
+        return workers.length;
+    }
+
+    /**
+     * Nodes searched by all workers together for the last move.
+     */
+    public long getLastNodes() {
+        return lastNodes;
+    }
+
+    /**
+     * Depth completed by the search whose move was played last.
+     */
+    public int getLastDepth() {
+        return lastDepth;
+    }
+
+    @Override
+    public Stone generateMove(List<Stone> previousMoves) {
+        long start = System.nanoTime();
+        long soft = start + budgetNanos * 4 / 10;
+        long hard = start + budgetNanos * 9 / 10;
+        table.newSearch();
+
+        CompletionService<Worker> done = new ExecutorCompletionService<>(pool);
+        for (Worker worker : workers) {
+            worker.prepare(previousMoves == null ? List.of() : previousMoves, soft, hard);
+            done.submit(worker);
+        }
+
+        // every worker is collected before a failure is thrown, so none is still running on the next move
+        ExecutionException failure = null;
+        try {
+            for (int i = 0; i < workers.length; i++) {
+                Future<Worker> finished = done.take();
+                if (i == 0) {
+                    for (Worker worker : workers) {
+                        worker.search.stop();
+                    }
+                }
+                try {
+                    finished.get();
+                } catch (ExecutionException ex) {
+                    if (failure == null) {
+                        failure = ex;
+                    }
+                }
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while searching.", ex);
+        }
+        if (failure != null) {
+            throw new IllegalStateException("Search failed.", failure.getCause());
+        }
+
+        Worker best = workers[0];
+        long nodes = 0;
+        for (Worker worker : workers) {
+            nodes += worker.search.nodes();
+            if (worker.search.completedDepth() > best.search.completedDepth()) {
+                best = worker;
+            }
+        }
+        lastNodes = nodes;
+        lastDepth = best.search.completedDepth();
+
+        if (best.result < 0) {
+            return null;
+        }
+        return Stone.of(best.result / best.width, best.result % best.width, best.black);
+    }
+
+    /**
+     * Stops the worker threads. They are daemon threads, so this is only needed to free them early.
+     */
+    @Override
+    public void close() {
+        pool.shutdownNow();
+    }
+
+    private class Worker implements Callable<Worker> {
+
+        private final int id;
+        private final GameMirror mirror = new GameMirror();
+        private final AlphaBetaSearch search = new AlphaBetaSearch(table);
+
+        private List<Stone> history;
+        private long soft;
+        private long hard;
+        private int result;
+        private int width;
+        private boolean black;
+
+        Worker(int id) {
+            this.id = id;
+        }
+
+        void prepare(List<Stone> history, long soft, long hard) {
+            this.history = history;
+            this.soft = soft;
+            this.hard = hard;
+            search.clearStop();
+        }
+
+        @Override
+        public Worker call() {
+            Gomoku game = mirror.sync(history);
+            black = game.isBlacksTurn();
+            width = game.getWidth();
+            result = game.isOver() ? -1 : search.search(game, soft, hard, 1 + id % 2, maxDepth);
+            return this;
+        }
+    }
+}
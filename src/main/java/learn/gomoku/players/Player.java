@@ -1,5 +1,7 @@
 package learn.gomoku.players;
 
+import learn.gomoku.game.BoardView;
+import learn.gomoku.game.Result;
 import learn.gomoku.game.Stone;
 
 import java.util.List;
@@ -9,4 +11,19 @@ public interface Player {
     String getName();
 
     Stone generateMove(List<Stone> previousMoves);
+
+    /**
+     * Board-view version of {@link #generateMove(List)}: the game loop hands over a read-only view of the
+     * game, so a player can read occupancy and legal moves directly instead of rebuilding the board from the
+     * history. By default this asks {@link #generateMove(List)}.
+     */
+    default Stone chooseMove(BoardView game) {
+        return generateMove(game.getStones());
+    }
+
+    /**
+     * Called by the game loop when the stone this player just generated was rejected, before it asks again.
+     */
+    default void moveRejected(Stone stone, Result result) {
+    }
 }
@@ -1,10 +1,12 @@
 package learn.gomoku.players;
 
+import learn.gomoku.game.BoardView;
 import learn.gomoku.game.Gomoku;
+import learn.gomoku.game.Moves;
 import learn.gomoku.game.Stone;
 
 import java.util.List;
-import java.util.Random;
+import java.util.SplittableRandom;
 
 public class RandomPlayer implements Player {
 
@@ -22,10 +24,39 @@ public class RandomPlayer implements Player {
             "Nerves", "Sweat", "Sweet", "Bug", "Piles", "Trumpet", "Shark", "Grouper", "Flutes", "Showers",
             "Humbug", "Cauliflower", "Shoes", "Hopeless", "Zombie", "Monster", "Fuzzy"};
 
-    private final Random random = new Random();
+    private final SplittableRandom random;
     private final String name;
+    private final GameMirror mirror;
 
     public RandomPlayer() {
+        this(new SplittableRandom(), Gomoku.WIDTH, Gomoku.WIN_LENGTH);
+    }
+
+    /**
+     * The name and every move follow from the seed, so seeded players replay a seeded game exactly.
+     */
+    public RandomPlayer(long seed) {
+        this(new SplittableRandom(seed), Gomoku.WIDTH, Gomoku.WIN_LENGTH);
+    }
+
+    /**
+     * For games that aren't the standard size; width and winLength must match the game's.
+     */
+    public RandomPlayer(int width, int winLength) {
+        this(new SplittableRandom(), width, winLength);
+    }
+
+    public RandomPlayer(long seed, int width, int winLength) {
+        this(new SplittableRandom(seed), width, winLength);
+    }
+
+    /**
+     * Draws the name and the moves from {@code random}, which the player then owns; pass a
+     * {@link SplittableRandom#split()} to give each player of a simulation its own stream.
+     */
+    public RandomPlayer(SplittableRandom random, int width, int winLength) {
+        this.random = random;
+        this.mirror = new GameMirror(width, winLength);
         name = String.format("%s %s %s",
                 titles[random.nextInt(titles.length)],
                 names[random.nextInt(names.length)],
@@ -38,18 +69,26 @@ public class RandomPlayer implements Player {
         return name;
     }
 
+    /**
+     * Picks uniformly among the empty cells, so the move is always legal while the game is running.
+     */
     @Override
     public Stone generateMove(List<Stone> previousMoves) {
-
-        boolean isBlack = true;
-        if (previousMoves != null && !previousMoves.isEmpty()) {
-            Stone lastMove = previousMoves.get(previousMoves.size() - 1);
-            isBlack = !lastMove.isBlack();
+        Gomoku game = mirror.sync(previousMoves == null ? List.of() : previousMoves);
+        if (game.isOver()) {
+            return null;
         }
+        return Moves.toStone(game.randomEmptyCell(random));
+    }
 
-        return new Stone(
-                random.nextInt(Gomoku.WIDTH),
-                random.nextInt(Gomoku.WIDTH),
-                isBlack);
+    /**
+     * Draws straight from the game's empty cells, without syncing a private copy of the board.
+     */
+    @Override
+    public Stone chooseMove(BoardView game) {
+        if (game.isOver()) {
+            return null;
+        }
+        return Moves.toStone(game.randomEmptyCell(random));
     }
 }
@@ -0,0 +1,66 @@
+package learn.gomoku.players;
+
+import learn.gomoku.game.Gomoku;
+import learn.gomoku.game.Stone;
+
+import java.util.List;
+
+/**
+ * Alpha-beta (PVS) player with iterative deepening. Each move gets a fixed time budget: no new
+ * iteration starts after 40% of it, and a running iteration is abandoned at 90%, so the move is
+ * returned within the budget. Plays the standard {@link Gomoku#WIDTH} board only.
+ */
+public class SearchPlayer implements Player {
+
+    public static final int DEFAULT_BUDGET_MILLIS = 50;
+    public static final int DEFAULT_TABLE_MEGABYTES = 8;
+    private static final int MAX_DEPTH = 32;
+
+    private final String name;
+    private final long budgetNanos;
+    private final TranspositionTable table;
+    private final AlphaBetaSearch search;
+    private final GameMirror mirror = new GameMirror();
+
+    public SearchPlayer() {
+        this("AlphaBeta", DEFAULT_BUDGET_MILLIS);
+    }
+
+    public SearchPlayer(String name, int budgetMillis) {
+        this(name, budgetMillis, new TranspositionTable(DEFAULT_TABLE_MEGABYTES));
+    }
+
+    /**
+     * @param table may be shared with other players, including ones searching on other threads
+     */
+    public SearchPlayer(String name, int budgetMillis, TranspositionTable table) {
+        if (budgetMillis < 1) {
+            throw new IllegalArgumentException("Time budget must be at least 1 ms.");
+        }
+        this.name = name;
+        this.budgetNanos = budgetMillis * 1_000_000L;
+        this.table = table;
+        this.search = new AlphaBetaSearch(table);
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public Stone generateMove(List<Stone> previousMoves) {
+        long start = System.nanoTime();
+        Gomoku game = mirror.sync(previousMoves == null ? List.of() : previousMoves);
+        if (game.isOver()) {
+            return null;
+        }
+
+        table.newSearch();
+        int cell = search.search(game, start + budgetNanos * 4 / 10, start + budgetNanos * 9 / 10, MAX_DEPTH);
+        if (cell < 0) {
+            return null;
+        }
+        return Stone.of(cell / game.getWidth(), cell % game.getWidth(), game.isBlacksTurn());
+    }
+}
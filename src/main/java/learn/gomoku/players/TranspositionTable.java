@@ -0,0 +1,135 @@
+package learn.gomoku.players;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.Arrays;
+
+/**
+ * Fixed-size cache of search results keyed by {@link learn.gomoku.game.Gomoku#getHash()}.
+ * Entries live in one primitive long[] (two longs each: key XOR data, then data), so the table
+ * never allocates after construction. It is lock-free and can be shared by search threads:
+ * each long is read and written atomically, and a torn entry fails the XOR check and reads as a miss.
+ */
+public class TranspositionTable {
+
+    public enum Replacement {
+        /**
+         * Keep an entry from the current search if it was searched deeper than the new one.
+         */
+        DEPTH_PREFERRED,
+        /**
+         * Newest result always wins.
+         */
+        ALWAYS_REPLACE
+    }
+
+    public static final int EXACT = 1;
+    public static final int LOWER_BOUND = 2;
+    public static final int UPPER_BOUND = 3;
+
+    public static final int NO_MOVE = -1;
+    public static final int MAX_SCORE = (1 << 23) - 1;
+
+    private static final VarHandle SLOTS = MethodHandles.arrayElementVarHandle(long[].class);
+
+    // data layout: move + 1 (18 bits) | depth (8) | bound (2) | generation (8) | score (24, signed)
+    private static final int DEPTH_SHIFT = 18;
+    private static final int BOUND_SHIFT = 26;
+    private static final int GENERATION_SHIFT = 28;
+    private static final int SCORE_SHIFT = 36;
+
+    private final long[] slots;
+    private final int mask;
+    private final Replacement replacement;
+    private volatile int generation;
+
+    public TranspositionTable(int megabytes, Replacement replacement) {
+        if (megabytes < 1) {
+            throw new IllegalArgumentException("Table size must be at least 1 MB.");
+        }
+        long entries = Long.highestOneBit((long) megabytes * 1024 * 1024 / 16);
+        entries = Math.min(entries, 1L << 29);
+        this.slots = new long[(int) entries * 2];
+        this.mask = (int) entries - 1;
+        this.replacement = replacement;
+    }
+
+    public TranspositionTable(int megabytes) {
+        this(megabytes, Replacement.DEPTH_PREFERRED);
+    }
+
+    public int capacity() {
+        return mask + 1;
+    }
+
+    /**
+     * Marks the start of a new search, so entries from older searches can be replaced first.
+     */
+    public void newSearch() {
+        generation = (generation + 1) & 0xFF;
+    }
+
+    public void clear() {
+        Arrays.fill(slots, 0);
+    }
+
+    /**
+     * @return the entry's data for this hash (decode with {@link #move}, {@link #score}, {@link #depth},
+     * {@link #bound}), or 0 if there is none
+     */
+    public long probe(long hash) {
+        int index = index(hash);
+        long check = (long) SLOTS.getOpaque(slots, index);
+        long data = (long) SLOTS.getOpaque(slots, index + 1);
+        return data != 0 && (check ^ data) == hash ? data : 0;
+    }
+
+    public void store(long hash, int move, int score, int depth, int bound) {
+        int index = index(hash);
+        if (replacement == Replacement.DEPTH_PREFERRED) {
+            long old = (long) SLOTS.getOpaque(slots, index + 1);
+            if (old != 0
+                    && generation(old) == generation
+                    && depth(old) > depth
+                    && ((long) SLOTS.getOpaque(slots, index) ^ old) != hash) {
+                return;
+            }
+        }
+
+        long data = (move + 1L) & 0x3FFFF
+                | (long) Math.min(depth, 0xFF) << DEPTH_SHIFT
+                | (long) bound << BOUND_SHIFT
+                | (long) generation << GENERATION_SHIFT
+                | (long) clampScore(score) << SCORE_SHIFT;
+        SLOTS.setOpaque(slots, index, hash ^ data);
+        SLOTS.setOpaque(slots, index + 1, data);
+    }
+
+    private int index(long hash) {
+        return ((int) (hash ^ (hash >>> 32)) & mask) << 1;
+    }
+
+    private static int clampScore(int score) {
+        return Math.max(-MAX_SCORE, Math.min(MAX_SCORE, score));
+    }
+
+    public static int move(long data) {
+        return (int) (data & 0x3FFFF) - 1;
+    }
+
+    public static int depth(long data) {
+        return (int) (data >>> DEPTH_SHIFT) & 0xFF;
+    }
+
+    public static int bound(long data) {
+        return (int) (data >>> BOUND_SHIFT) & 0x3;
+    }
+
+    public static int score(long data) {
+        return (int) (data >> SCORE_SHIFT);
+    }
+
+    private static int generation(long data) {
+        return (int) (data >>> GENERATION_SHIFT) & 0xFF;
+    }
+}
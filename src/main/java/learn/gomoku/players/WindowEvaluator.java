@@ -0,0 +1,145 @@
+package learn.gomoku.players;
+
+import java.util.Arrays;
+
+/**
+ * Static evaluation by counting stones in every window of winLength cells. A window that holds
+ * stones of only one colour scores for that colour, more steeply the fuller it is. Each cell
+ * belongs to at most 4 * winLength windows, so placing or removing a stone updates the score in O(winLength).
+ */
+final class WindowEvaluator {
+
+    private final int[][] windowsOf;
+    private final byte[] black;
+    private final byte[] white;
+    private final int[] scores;
+    private int score;
+
+    WindowEvaluator(int width, int winLength) {
+        int[][] steps = {{0, 1}, {1, 0}, {1, 1}, {-1, 1}};
+        int cells = width * width;
+        int[] counts = new int[cells];
+        int[][] members = new int[4 * cells][];
+        int windows = 0;
+
+        for (int[] step : steps) {
+            for (int row = 0; row < width; row++) {
+                for (int col = 0; col < width; col++) {
+                    int endRow = row + step[0] * (winLength - 1);
+                    int endCol = col + step[1] * (winLength - 1);
+                    if (endRow < 0 || endRow >= width || endCol >= width) {
+                        continue;
+                    }
+                    int[] window = new int[winLength];
+                    for (int i = 0; i < winLength; i++) {
+                        window[i] = (row + step[0] * i) * width + col + step[1] * i;
+                        counts[window[i]]++;
+                    }
+                    members[windows++] = window;
+                }
+            }
+        }
+
+        windowsOf = new int[cells][];
+        for (int cell = 0; cell < cells; cell++) {
+            windowsOf[cell] = new int[counts[cell]];
+            counts[cell] = 0;
+        }
+        for (int window = 0; window < windows; window++) {
+            for (int cell : members[window]) {
+                windowsOf[cell][counts[cell]++] = window;
+            }
+        }
+
+        black = new byte[windows];
+        white = new byte[windows];
+        scores = new int[winLength + 1];
+        for (int stones = 1; stones <= winLength; stones++) {
+            scores[stones] = stones == winLength ? 1 << 20 : 1 << (3 * (stones - 1));
+        }
+    }
+
+    void clear() {
+        Arrays.fill(black, (byte) 0);
+        Arrays.fill(white, (byte) 0);
+        score = 0;
+    }
+
+    /**
+     * Score from one side's point of view: positive is good for {@code forBlack}.
+     */
+    int score(boolean forBlack) {
+        return forBlack ? score : -score;
+    }
+
+    void place(int cell, boolean isBlack) {
+        for (int window : windowsOf[cell]) {
+            score -= value(window);
+            if (isBlack) {
+                black[window]++;
+            } else {
+                white[window]++;
+            }
+            score += value(window);
+        }
+    }
+
+    void remove(int cell, boolean isBlack) {
+        for (int window : windowsOf[cell]) {
+            score -= value(window);
+            if (isBlack) {
+                black[window]--;
+            } else {
+                white[window]--;
+            }
+            score += value(window);
+        }
+    }
+
+    /**
+     * How much a stone on this empty cell would change the score for either side,
+     * i.e. its attacking plus its blocking value. Used to order moves.
+     */
+    int moveValue(int cell) {
+        int value = 0;
+        for (int window : windowsOf[cell]) {
+            int b = black[window];
+            int w = white[window];
+            if (w == 0) {
+                value += scores[b + 1] - scores[b];
+            }
+            if (b == 0) {
+                value += scores[w + 1] - scores[w];
+            }
+        }
+        return value;
+    }
+
+    /**
+     * Change in {@link #score(boolean)} for {@code forBlack} if that side played on this empty cell,
+     * computed without placing the stone.
+     */
+    int gain(int cell, boolean forBlack) {
+        int gain = 0;
+        for (int window : windowsOf[cell]) {
+            int own = forBlack ? black[window] : white[window];
+            int other = forBlack ? white[window] : black[window];
+            if (other == 0) {
+                gain += scores[own + 1] - scores[own];
+            } else if (own == 0) {
+                // the window stops counting for the other side
+                gain += scores[other];
+            }
+        }
+        return gain;
+    }
+
+    private int value(int window) {
+        int b = black[window];
+        int w = white[window];
+        if (b > 0 && w > 0) {
+            return 0;
+        }
+        return scores[b] - scores[w];
+    }
+}
@@ -0,0 +1,165 @@
+package learn.gomoku.record;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Memory-mapped view of a record file and its index. Nothing is copied onto the heap: every read
+ * goes straight to the mapping, so files far larger than memory can be scanned. Game n is found in
+ * O(1) through the index; {@link #cursor()} walks the records in order without it.
+ * Reads don't change any state, so one reader can be shared by many threads (each with its own cursor).
+ * Only games whose index entry had been flushed when the file was opened are visible.
+ */
+public class GameRecordReader implements Closeable {
+
+    private final FileChannel recordChannel;
+    private final FileChannel indexChannel;
+    private final MappedSegments records;
+    private final MappedSegments index;
+    private final int width;
+    private final int winLength;
+    private final int bytesPerMove;
+    private final long games;
+
+    public GameRecordReader(Path path) throws IOException {
+        recordChannel = FileChannel.open(path, StandardOpenOption.READ);
+        try {
+            indexChannel = FileChannel.open(RecordFormat.indexPath(path), StandardOpenOption.READ);
+        } catch (IOException ex) {
+            recordChannel.close();
+            throw ex;
+        }
+        try {
+            records = new MappedSegments(recordChannel, RecordFormat.MAX_RECORD_BYTES);
+            index = new MappedSegments(indexChannel, Long.BYTES);
+            if (records.size() < RecordFormat.HEADER_BYTES || records.getInt(0) != RecordFormat.MAGIC) {
+                throw new IOException(path + " is not a game-record file.");
+            }
+            if (records.getByte(4) != RecordFormat.VERSION) {
+                throw new IOException(path + " has an unsupported version.");
+            }
+            width = records.getByte(5);
+            winLength = records.getByte(6);
+            bytesPerMove = records.getByte(7);
+            games = index.size() / Long.BYTES;
+        } catch (IOException | RuntimeException ex) {
+            close();
+            throw ex;
+        }
+    }
+
+    public int getWidth() {
+        return width;
+    }
+
+    public int getWinLength() {
+        return winLength;
+    }
+
+    public long getGameCount() {
+        return games;
+    }
+
+    /**
+     * File offset of a game's record; pass it to {@link #length(long)}, {@link #cell(long, int)} and
+     * {@link #result(long)} to read several fields without going through the index again.
+     */
+    public long offset(long game) {
+        if (game < 0 || game >= games) {
+            throw new IndexOutOfBoundsException("Game: " + game + ", Count: " + games);
+        }
+        return index.getLong(game * Long.BYTES);
+    }
+
+    public int length(long offset) {
+        return records.getShort(offset);
+    }
+
+    /**
+     * Cell (row * width + column) of a move; black plays the even-numbered moves.
+     */
+    public int cell(long offset, int move) {
+        long position = offset + 2 + (long) move * bytesPerMove;
+        return bytesPerMove == 1 ? records.getByte(position) & 0xFF : records.getShort(position) & 0xFFFF;
+    }
+
+    /**
+     * One of the {@link RecordFormat} result codes.
+     */
+    public int result(long offset) {
+        return records.getByte(offset + 2 + (long) length(offset) * bytesPerMove);
+    }
+
+    /**
+     * A cursor before the first game. Cursors are cheap and not thread-safe.
+     */
+    public Cursor cursor() {
+        return new Cursor();
+    }
+
+    @Override
+    public void close() throws IOException {
+        try (recordChannel; indexChannel) {
+            // mappings stay valid until they're garbage collected; closing only releases the channels
+        }
+    }
+
+    /**
+     * Sequential scan over the games, following record lengths rather than the index.
+     */
+    public class Cursor {
+
+        private long game = -1;
+        private long offset = -1;
+        private int length;
+
+        Cursor() {
+        }
+
+        /**
+         * Moves to the next game.
+         *
+         * @return false after the last game
+         */
+        public boolean next() {
+            if (game + 1 >= games) {
+                return false;
+            }
+            offset = game < 0 ? RecordFormat.HEADER_BYTES : offset + 2 + (long) length * bytesPerMove + 1;
+            game++;
+            length = GameRecordReader.this.length(offset);
+            return true;
+        }
+
+        /**
+         * Moves to game n, through the index.
+         */
+        public void seek(long game) {
+            offset = offset(game);
+            this.game = game;
+            length = GameRecordReader.this.length(offset);
+        }
+
+        public long game() {
+            return game;
+        }
+
+        public int length() {
+            return length;
+        }
+
+        public int cell(int move) {
+            if (move < 0 || move >= length) {
+                throw new IndexOutOfBoundsException("Move: " + move + ", Length: " + length);
+            }
+            return GameRecordReader.this.cell(offset, move);
+        }
+
+        public int result() {
+            return GameRecordReader.this.result(offset);
+        }
+    }
+}
@@ -0,0 +1,267 @@
+package learn.gomoku.record;
+
+import learn.gomoku.game.Gomoku;
+import learn.gomoku.game.Moves;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * Appends games to a record file and its index through FileChannels, buffered in direct buffers.
+ * An existing file is appended to if it was written for the same board; its games keep their numbers.
+ * Complete records the index doesn't list, for example because the index file was lost, are indexed again.
+ * Not thread-safe.
+ */
+public class GameRecordWriter implements Closeable {
+
+    private static final int BUFFER_BYTES = 1 << 16;
+
+    private final FileChannel records;
+    private final FileChannel index;
+    private final ByteBuffer recordBuffer = ByteBuffer.allocateDirect(BUFFER_BYTES);
+    private final ByteBuffer indexBuffer = ByteBuffer.allocateDirect(BUFFER_BYTES);
+    private final int width;
+    private final int winLength;
+    private final int bytesPerMove;
+    // cells seen while checking a game passed as cell indices, cleared after each check
+    private final long[] seen;
+    private long offset;
+    private long games;
+
+    public GameRecordWriter(Path path, int width, int winLength) throws IOException {
+        this.width = width;
+        this.winLength = winLength;
+        this.bytesPerMove = RecordFormat.bytesPerMove(width);
+        this.seen = new long[(width * width + 63) >>> 6];
+        records = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        index = FileChannel.open(RecordFormat.indexPath(path),
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            if (records.size() == 0) {
+                ByteBuffer header = ByteBuffer.allocate(RecordFormat.HEADER_BYTES);
+                header.putInt(RecordFormat.MAGIC)
+                        .put((byte) RecordFormat.VERSION)
+                        .put((byte) width)
+                        .put((byte) winLength)
+                        .put((byte) bytesPerMove)
+                        .flip();
+                writeFully(records, header);
+                index.truncate(0);
+            } else {
+                checkHeader(path, width, winLength);
+            }
+            games = index.size() / Long.BYTES;
+            index.truncate(games * Long.BYTES);
+            index.position(games * Long.BYTES);
+            // records past the last index entry (or a lost index) are indexed again, not thrown away
+            offset = indexRecordsFrom(endOfLastRecord());
+            // drop the half-written record a crashed writer may have left at the end
+            records.truncate(offset);
+            records.position(offset);
+        } catch (IOException | RuntimeException ex) {
+            close();
+            throw ex;
+        }
+    }
+
+    /**
+     * Number of games in the file, including the ones appended by this writer.
+     */
+    public long getGameCount() {
+        return games;
+    }
+
+    /**
+     * Appends the moves of a game. A game that isn't over is stored as {@link RecordFormat#UNFINISHED}.
+     *
+     * @return the game's number
+     * @throws IllegalArgumentException if the game's board or win length differs from the file's
+     */
+    public long append(Gomoku game) throws IOException {
+        if (game.getWidth() != width) {
+            throw new IllegalArgumentException("Game is " + game.getWidth() + " wide, file is " + width + ".");
+        }
+        if (game.getWinLength() != winLength) {
+            throw new IllegalArgumentException("Game is won by " + game.getWinLength() + " in a row, file by "
+                    + winLength + ".");
+        }
+        int count = game.getMoveCount();
+        startRecord(count);
+        for (int i = 0; i < count; i++) {
+            int move = game.getMove(i);
+            putCell(Moves.row(move) * width + Moves.column(move));
+        }
+
+        int result;
+        if (!game.isOver()) {
+            result = RecordFormat.UNFINISHED;
+        } else if (game.isDraw()) {
+            result = RecordFormat.DRAW;
+        } else {
+            result = Moves.isBlack(game.getMove(count - 1)) ? RecordFormat.BLACK_WINS : RecordFormat.WHITE_WINS;
+        }
+        return endRecord(result);
+    }
+
+    /**
+     * Appends a game given as cell indices, such as a slice of {@link learn.gomoku.game.BatchSimulator#moves()}.
+     *
+     * @return the game's number
+     * @throws IllegalArgumentException if a cell is off the board or played twice, or the result is unknown
+     */
+    public long append(short[] cells, int from, int length, int result) throws IOException {
+        if (result < RecordFormat.DRAW || result > RecordFormat.UNFINISHED) {
+            throw new IllegalArgumentException("Unknown result code: " + result);
+        }
+        Objects.checkFromIndexSize(from, length, cells.length);
+        checkCells(cells, from, length);
+        startRecord(length);
+        for (int i = from; i < from + length; i++) {
+            putCell(cells[i]);
+        }
+        return endRecord(result);
+    }
+
+    /**
+     * Writes buffered records and index entries to the channels.
+     */
+    public void flush() throws IOException {
+        recordBuffer.flip();
+        writeFully(records, recordBuffer);
+        recordBuffer.clear();
+        indexBuffer.flip();
+        writeFully(index, indexBuffer);
+        indexBuffer.clear();
+    }
+
+    @Override
+    public void close() throws IOException {
+        try (records; index) {
+            if (records.isOpen() && index.isOpen()) {
+                flush();
+            }
+        }
+    }
+
+    private void startRecord(int moves) throws IOException {
+        if (moves < 0 || moves > width * width) {
+            throw new IllegalArgumentException("Move count out of range: " + moves);
+        }
+        if (recordBuffer.remaining() < 2 + moves * bytesPerMove + 1) {
+            flush();
+        }
+        if (indexBuffer.remaining() < Long.BYTES) {
+            flush();
+        }
+        indexBuffer.putLong(offset);
+        recordBuffer.putShort((short) moves);
+        offset += 2 + (long) moves * bytesPerMove + 1;
+    }
+
+    // checked before anything is buffered, so a bad game leaves no partial record
+    private void checkCells(short[] cells, int from, int length) {
+        try {
+            for (int i = from; i < from + length; i++) {
+                int cell = cells[i];
+                if (cell < 0 || cell >= width * width) {
+                    throw new IllegalArgumentException("Cell " + cell + " is off the board.");
+                }
+                long bit = 1L << cell;
+                if ((seen[cell >>> 6] & bit) != 0) {
+                    throw new IllegalArgumentException("Cell " + cell + " is played twice.");
+                }
+                seen[cell >>> 6] |= bit;
+            }
+        } finally {
+            Arrays.fill(seen, 0);
+        }
+    }
+
+    private void putCell(int cell) {
+        if (bytesPerMove == 1) {
+            recordBuffer.put((byte) cell);
+        } else {
+            recordBuffer.putShort((short) cell);
+        }
+    }
+
+    private long endRecord(int result) {
+        recordBuffer.put((byte) result);
+        return games++;
+    }
+
+    private long endOfLastRecord() throws IOException {
+        if (games == 0) {
+            return RecordFormat.HEADER_BYTES;
+        }
+        ByteBuffer last = ByteBuffer.allocate(Long.BYTES);
+        index.read(last, (games - 1) * Long.BYTES);
+        long start = last.flip().getLong();
+        ByteBuffer count = ByteBuffer.allocate(Short.BYTES);
+        records.read(count, start);
+        return start + 2 + (long) count.flip().getShort() * bytesPerMove + 1;
+    }
+
+    /**
+     * Adds an index entry for every complete record from {@code start} on, stopping at the first one
+     * that runs past the end of the file or doesn't end in a result code.
+     *
+     * @return the end of the last complete record
+     */
+    private long indexRecordsFrom(long start) throws IOException {
+        long size = records.size();
+        ByteBuffer count = ByteBuffer.allocate(Short.BYTES);
+        ByteBuffer result = ByteBuffer.allocate(1);
+        long position = start;
+        while (position + Short.BYTES + 1 <= size) {
+            count.clear();
+            records.read(count, position);
+            int moves = count.flip().getShort();
+            if (moves < 0 || moves > width * width) {
+                break;
+            }
+            long end = position + 2 + (long) moves * bytesPerMove + 1;
+            if (end > size) {
+                break;
+            }
+            result.clear();
+            records.read(result, end - 1);
+            int code = result.flip().get();
+            if (code < RecordFormat.DRAW || code > RecordFormat.UNFINISHED) {
+                break;
+            }
+            if (indexBuffer.remaining() < Long.BYTES) {
+                flush();
+            }
+            indexBuffer.putLong(position);
+            games++;
+            position = end;
+        }
+        flush();
+        return position;
+    }
+
+    private void checkHeader(Path path, int width, int winLength) throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(RecordFormat.HEADER_BYTES);
+        records.read(header, 0);
+        header.flip();
+        if (header.remaining() < RecordFormat.HEADER_BYTES || header.getInt() != RecordFormat.MAGIC) {
+            throw new IOException(path + " is not a game-record file.");
+        }
+        if (header.get() != RecordFormat.VERSION || header.get() != width || header.get() != winLength) {
+            throw new IOException(path + " was written for a different version or board.");
+        }
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+}
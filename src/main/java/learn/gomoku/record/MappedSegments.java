@@ -0,0 +1,51 @@
+package learn.gomoku.record;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+
+/**
+ * Read-only memory map of a whole file, however large. A single mapping is limited to 2 GB, so the
+ * file is mapped in 1 GB segments that overlap by {@code overlap} bytes: any value of up to that
+ * size starting in a segment can be read from it without crossing into the next one.
+ * Reads use absolute positions only, so one instance can be shared by any number of threads.
+ */
+final class MappedSegments {
+
+    private static final int SEGMENT_SHIFT = 30;
+    private static final long SEGMENT_MASK = (1L << SEGMENT_SHIFT) - 1;
+
+    private final MappedByteBuffer[] segments;
+    private final long size;
+
+    MappedSegments(FileChannel channel, int overlap) throws IOException {
+        size = channel.size();
+        int count = (int) ((size + SEGMENT_MASK) >>> SEGMENT_SHIFT);
+        segments = new MappedByteBuffer[count];
+        for (int i = 0; i < count; i++) {
+            long start = (long) i << SEGMENT_SHIFT;
+            long length = Math.min(size - start, (1L << SEGMENT_SHIFT) + overlap);
+            segments[i] = channel.map(FileChannel.MapMode.READ_ONLY, start, length);
+        }
+    }
+
+    long size() {
+        return size;
+    }
+
+    byte getByte(long offset) {
+        return segments[(int) (offset >>> SEGMENT_SHIFT)].get((int) (offset & SEGMENT_MASK));
+    }
+
+    short getShort(long offset) {
+        return segments[(int) (offset >>> SEGMENT_SHIFT)].getShort((int) (offset & SEGMENT_MASK));
+    }
+
+    int getInt(long offset) {
+        return segments[(int) (offset >>> SEGMENT_SHIFT)].getInt((int) (offset & SEGMENT_MASK));
+    }
+
+    long getLong(long offset) {
+        return segments[(int) (offset >>> SEGMENT_SHIFT)].getLong((int) (offset & SEGMENT_MASK));
+    }
+}
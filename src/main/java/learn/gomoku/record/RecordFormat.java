@@ -0,0 +1,40 @@
+package learn.gomoku.record;
+
+import learn.gomoku.game.Playout;
+
+import java.nio.file.Path;
+
+/**
+ * Layout of a game-record file.
+ * <pre>
+ * file:   magic "GMKR" (int) | version (byte) | width (byte) | win length (byte) | bytes per move (byte)
+ * record: move count (short) | one cell (row * width + column) per move | result (byte)
+ * </pre>
+ * A move takes one byte on boards up to 16 wide and a short on larger ones; black plays the
+ * even-numbered moves. The index file next to it ({@link #indexPath}) holds each record's offset as
+ * a long, so record n is found with one read. All values are big-endian.
+ */
+public final class RecordFormat {
+
+    public static final int DRAW = Playout.DRAW;
+    public static final int BLACK_WINS = Playout.BLACK_WINS;
+    public static final int WHITE_WINS = Playout.WHITE_WINS;
+    public static final int UNFINISHED = 3;
+
+    static final int MAGIC = 0x474D4B52;
+    static final int VERSION = 1;
+    static final int HEADER_BYTES = 8;
+    static final int MAX_MOVES = 64 * 64;
+    static final int MAX_RECORD_BYTES = 2 + 2 * MAX_MOVES + 1;
+
+    private RecordFormat() {
+    }
+
+    public static Path indexPath(Path records) {
+        return records.resolveSibling(records.getFileName() + ".idx");
+    }
+
+    static int bytesPerMove(int width) {
+        return width * width <= 256 ? 1 : 2;
+    }
+}
@@ -0,0 +1,185 @@
+package learn.gomoku.record;
+
+import learn.gomoku.game.Gomoku;
+import learn.gomoku.game.Moves;
+import learn.gomoku.game.RuleBoard;
+import learn.gomoku.game.Stone;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Re-plays recorded games under the rules, with no Players, Stones or Results, and checks that
+ * every move is legal and every recorded result is what the moves produce. A file is split into
+ * ranges of games that are verified in parallel straight from the memory map, so games are never
+ * copied onto the heap.
+ */
+public class ReplayVerifier {
+
+    public static final int VALID = 0;
+    public static final int ILLEGAL_MOVE = 1;
+    public static final int WRONG_RESULT = 2;
+
+    private static final int MIN_PARTITION = 4_096;
+
+    private final ForkJoinPool pool;
+
+    public ReplayVerifier(int parallelism) {
+        pool = new ForkJoinPool(parallelism);
+    }
+
+    public ReplayVerifier() {
+        this(Runtime.getRuntime().availableProcessors());
+    }
+
+    public VerificationReport verify(GameRecordReader reader) {
+        return verify(reader, 0, reader.getGameCount());
+    }
+
+    /**
+     * Verifies games from (inclusive) to to (exclusive).
+     */
+    public VerificationReport verify(GameRecordReader reader, long from, long to) {
+        if (from < 0 || to > reader.getGameCount() || from > to) {
+            throw new IndexOutOfBoundsException("Games " + from + "-" + to + " of " + reader.getGameCount());
+        }
+        long threshold = Math.max(MIN_PARTITION, (to - from) / (pool.getParallelism() * 8L));
+        return pool.invoke(new Partition(reader, from, to, threshold));
+    }
+
+    public void shutdown() {
+        pool.shutdown();
+    }
+
+    /**
+     * Checks one recorded game at the cursor's position.
+     *
+     * @param board scratch board for the file's width and win length; it is reset first
+     * @return VALID, ILLEGAL_MOVE or WRONG_RESULT
+     */
+    public static int check(RuleBoard board, GameRecordReader.Cursor game) {
+        board.reset();
+        int length = game.length();
+        int status = Gomoku.PLACED;
+        for (int i = 0; i < length; i++) {
+            status = board.play(game.cell(i));
+            if (status < 0) {
+                return ILLEGAL_MOVE;
+            }
+        }
+        return result(board, status) == game.result() ? VALID : WRONG_RESULT;
+    }
+
+    /**
+     * Checks a game given as moves packed with {@link Moves#pack}; the colours must alternate from black.
+     * The board is reset first.
+     */
+    public static int check(RuleBoard board, int[] moves, int length, int result) {
+        board.reset();
+        int width = board.width();
+        int status = Gomoku.PLACED;
+        for (int i = 0; i < length; i++) {
+            int move = moves[i];
+            int row = Moves.row(move);
+            int column = Moves.column(move);
+            if (row >= width || column >= width || Moves.isBlack(move) != board.isBlacksTurn()) {
+                return ILLEGAL_MOVE;
+            }
+            status = board.play(row * width + column);
+            if (status < 0) {
+                return ILLEGAL_MOVE;
+            }
+        }
+        return result(board, status) == result ? VALID : WRONG_RESULT;
+    }
+
+    public static int check(RuleBoard board, List<Stone> stones, int result) {
+        int[] moves = new int[stones.size()];
+        for (int i = 0; i < moves.length; i++) {
+            Stone stone = stones.get(i);
+            if (stone.getRow() < 0 || stone.getColumn() < 0) {
+                return ILLEGAL_MOVE;
+            }
+            moves[i] = Moves.pack(stone);
+        }
+        return check(board, moves, moves.length, result);
+    }
+
+    private static int result(RuleBoard board, int status) {
+        if (status == Gomoku.WIN) {
+            return board.isBlacksTurn() ? RecordFormat.BLACK_WINS : RecordFormat.WHITE_WINS;
+        }
+        return status == Gomoku.DRAW ? RecordFormat.DRAW : RecordFormat.UNFINISHED;
+    }
+
+    // never serialized; ForkJoinTask is Serializable only by inheritance
+    @SuppressWarnings("serial")
+    private static class Partition extends RecursiveTask<VerificationReport> {
+
+        private final GameRecordReader reader;
+        private final long from;
+        private final long to;
+        private final long threshold;
+
+        Partition(GameRecordReader reader, long from, long to, long threshold) {
+            this.reader = reader;
+            this.from = from;
+            this.to = to;
+            this.threshold = threshold;
+        }
+
+        @Override
+        protected VerificationReport compute() {
+            if (to - from <= threshold) {
+                VerificationReport report = new VerificationReport();
+                if (from == to) {
+                    return report;
+                }
+                RuleBoard board = new RuleBoard(reader.getWidth(), reader.getWinLength());
+                GameRecordReader.Cursor cursor = reader.cursor();
+                cursor.seek(from);
+                for (long game = from; game < to; game++) {
+                    if (game > from) {
+                        cursor.next();
+                    }
+                    int check = check(board, cursor);
+                    if (check == VALID) {
+                        report.recordValid(cursor.length());
+                    } else {
+                        report.recordFailure(game, cursor.length(), check);
+                    }
+                }
+                return report;
+            }
+
+            long middle = (from + to) >>> 1;
+            Partition left = new Partition(reader, from, middle, threshold);
+            left.fork();
+            VerificationReport right = new Partition(reader, middle, to, threshold).compute();
+            return left.join().merge(right);
+        }
+    }
+
+    /**
+     * Verifies a record file and prints the report and throughput.
+     * Arguments: path [parallelism]
+     */
+    public static void main(String[] args) throws IOException {
+        Path path = Path.of(args[0]);
+        int parallelism = args.length > 1 ? Integer.parseInt(args[1]) : Runtime.getRuntime().availableProcessors();
+
+        ReplayVerifier verifier = new ReplayVerifier(parallelism);
+        try (GameRecordReader reader = new GameRecordReader(path)) {
+            long start = System.nanoTime();
+            VerificationReport report = verifier.verify(reader);
+            double seconds = (System.nanoTime() - start) / 1e9;
+            System.out.println(report);
+            System.out.printf("%d threads, %.2f s, %.0f games/s%n", parallelism, seconds, report.getGames() / seconds);
+        } finally {
+            verifier.shutdown();
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package learn.gomoku.record;
+
+import java.util.Arrays;
+
+/**
+ * Totals from {@link ReplayVerifier}. Each worker fills its own instance and the instances are
+ * merged when the work is joined, like the tournament's MatchStats.
+ */
+public class VerificationReport {
+
+    // the first few failing games are kept by number so they can be looked at
+    static final int MAX_FAILURES = 16;
+
+    private long games;
+    private long moves;
+    private long illegalMoves;
+    private long wrongResults;
+    private long[] failures = new long[0];
+
+    void recordValid(int gameMoves) {
+        games++;
+        moves += gameMoves;
+    }
+
+    void recordFailure(long game, int gameMoves, int check) {
+        games++;
+        moves += gameMoves;
+        if (check == ReplayVerifier.ILLEGAL_MOVE) {
+            illegalMoves++;
+        } else {
+            wrongResults++;
+        }
+        if (failures.length < MAX_FAILURES) {
+            failures = Arrays.copyOf(failures, failures.length + 1);
+            failures[failures.length - 1] = game;
+        }
+    }
+
+    VerificationReport merge(VerificationReport other) {
+        games += other.games;
+        moves += other.moves;
+        illegalMoves += other.illegalMoves;
+        wrongResults += other.wrongResults;
+        long[] merged = Arrays.copyOf(failures, failures.length + other.failures.length);
+        System.arraycopy(other.failures, 0, merged, failures.length, other.failures.length);
+        Arrays.sort(merged);
+        failures = Arrays.copyOf(merged, Math.min(MAX_FAILURES, merged.length));
+        return this;
+    }
+
+    public long getGames() {
+        return games;
+    }
+
+    public long getMoves() {
+        return moves;
+    }
+
+    /**
+     * Games with a move off the board, on an occupied cell, or after the game was already over.
+     */
+    public long getIllegalMoves() {
+        return illegalMoves;
+    }
+
+    /**
+     * Games whose moves are legal but whose recorded result doesn't match the replay.
+     */
+    public long getWrongResults() {
+        return wrongResults;
+    }
+
+    public boolean isValid() {
+        return illegalMoves == 0 && wrongResults == 0;
+    }
+
+    /**
+     * Numbers of up to 16 failing games, in order.
+     */
+    public long[] getFailures() {
+        return failures.clone();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%d games, %d moves: %d illegal, %d wrong results%s",
+                games, moves, illegalMoves, wrongResults,
+                failures.length == 0 ? "" : " (first: " + Arrays.toString(failures) + ")");
+    }
+}
@@ -0,0 +1,60 @@
+package learn.gomoku.render;
+
+import learn.gomoku.game.Gomoku;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+
+/**
+ * Draws the whole board as text, one numbered row per line: X for black, O for white, - for empty.
+ * Each render is one pass over the cells into a reused buffer and one write, then a flush.
+ */
+public class BoardRenderer implements Renderer {
+
+    private static final String NEWLINE = System.lineSeparator();
+    // row number right-aligned in three columns, then a space
+    private static final int LABEL = 4;
+
+    private final Writer out;
+    private char[] buffer = new char[0];
+
+    public BoardRenderer(Writer out) {
+        this.out = out;
+    }
+
+    @Override
+    public void render(Gomoku game) {
+        int width = game.getWidth();
+        int line = LABEL + width + NEWLINE.length();
+        if (buffer.length != line * width) {
+            buffer = new char[line * width];
+        }
+
+        int at = 0;
+        for (int row = 0; row < width; row++) {
+            int number = row + 1;
+            buffer[at++] = ' ';
+            buffer[at++] = number >= 10 ? (char) ('0' + number / 10) : ' ';
+            buffer[at++] = (char) ('0' + number % 10);
+            buffer[at++] = ' ';
+            for (int column = 0; column < width; column++) {
+                buffer[at++] = symbol(game.stateAt(row, column));
+            }
+            for (int i = 0; i < NEWLINE.length(); i++) {
+                buffer[at++] = NEWLINE.charAt(i);
+            }
+        }
+
+        try {
+            out.write(buffer, 0, at);
+            out.flush();
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    static char symbol(int state) {
+        return state == Gomoku.BLACK ? 'X' : state == Gomoku.WHITE ? 'O' : '-';
+    }
+}
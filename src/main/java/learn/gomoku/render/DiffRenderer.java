@@ -0,0 +1,74 @@
+package learn.gomoku.render;
+
+import learn.gomoku.game.Gomoku;
+import learn.gomoku.game.Moves;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+
+/**
+ * Incremental rendering for logs and streams: after the first board, each render writes one line
+ * per move played since the last one, {@code moveNumber X|O row column} (all counted from 1), and
+ * nothing else. A different game, or a game that was reset or had moves undone, gets a whole board
+ * again from the {@link BoardRenderer}.
+ */
+public class DiffRenderer implements Renderer {
+
+    private final Writer out;
+    private final BoardRenderer boards;
+    private final char[] line = new char[32];
+
+    private Gomoku game;
+    private int rendered;
+    private long rewinds;
+
+    public DiffRenderer(Writer out) {
+        this.out = out;
+        boards = new BoardRenderer(out);
+    }
+
+    @Override
+    public void render(Gomoku game) {
+        int count = game.getMoveCount();
+        if (game != this.game || game.getRewindCount() != rewinds || count < rendered) {
+            boards.render(game);
+        } else if (count > rendered) {
+            try {
+                for (int i = rendered; i < count; i++) {
+                    writeMove(i, game.getMove(i));
+                }
+                out.flush();
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+        }
+        this.game = game;
+        rendered = count;
+        rewinds = game.getRewindCount();
+    }
+
+    private void writeMove(int index, int move) throws IOException {
+        int at = appendNumber(0, index + 1);
+        line[at++] = ' ';
+        line[at++] = BoardRenderer.symbol(Moves.isBlack(move) ? Gomoku.BLACK : Gomoku.WHITE);
+        line[at++] = ' ';
+        at = appendNumber(at, Moves.row(move) + 1);
+        line[at++] = ' ';
+        at = appendNumber(at, Moves.column(move) + 1);
+        out.write(line, 0, at);
+        out.write(System.lineSeparator());
+    }
+
+    private int appendNumber(int at, int value) {
+        int digits = 1;
+        for (int rest = value / 10; rest > 0; rest /= 10) {
+            digits++;
+        }
+        for (int i = digits - 1; i >= 0; i--) {
+            line[at + i] = (char) ('0' + value % 10);
+            value /= 10;
+        }
+        return at + digits;
+    }
+}
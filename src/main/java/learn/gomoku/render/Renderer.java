@@ -0,0 +1,15 @@
+package learn.gomoku.render;
+
+import learn.gomoku.game.Gomoku;
+
+/**
+ * Draws a game for a person or a log. Renderers read the game's board directly, so rendering never
+ * depends on the length of the move history.
+ */
+public interface Renderer {
+
+    /**
+     * @throws java.io.UncheckedIOException if the output fails
+     */
+    void render(Gomoku game);
+}
@@ -0,0 +1,90 @@
+package learn.gomoku.server;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * A client socket with its partial input line and pending output. Only the server's event-loop
+ * thread touches it.
+ */
+final class Connection {
+
+    static final int MAX_LINE = 256;
+    private static final int OUTPUT_BYTES = 1 << 16;
+
+    final SocketChannel channel;
+    final SelectionKey key;
+    // ids of the sessions this connection has a seat in
+    final Set<Long> sessions = new HashSet<>();
+    boolean pending;
+
+    private final ByteBuffer input = ByteBuffer.allocate(MAX_LINE);
+    private final ByteBuffer output = ByteBuffer.allocate(OUTPUT_BYTES);
+    private boolean overflowed;
+
+    Connection(SocketChannel channel, SelectionKey key) {
+        this.channel = channel;
+        this.key = key;
+    }
+
+    /**
+     * Reads whatever the socket has and hands each complete line, without its line break, to the handler.
+     *
+     * @return false once the client has closed its end or sent a line longer than {@link #MAX_LINE}
+     */
+    boolean read(Consumer<String> handler) throws IOException {
+        if (channel.read(input) < 0) {
+            return false;
+        }
+        byte[] bytes = input.array();
+        int end = input.position();
+        int start = 0;
+        for (int i = 0; i < end; i++) {
+            if (bytes[i] == '\n') {
+                int length = i > start && bytes[i - 1] == '\r' ? i - start - 1 : i - start;
+                handler.accept(new String(bytes, start, length, StandardCharsets.US_ASCII));
+                start = i + 1;
+            }
+        }
+        System.arraycopy(bytes, start, bytes, 0, end - start);
+        input.position(end - start);
+        return input.hasRemaining();
+    }
+
+    /**
+     * Queues a line for {@link #flush()}. A client that lets its output back up past the buffer is
+     * marked as overflowed rather than buffered without bound.
+     */
+    void send(String line) {
+        if (output.remaining() < line.length() + 1) {
+            overflowed = true;
+            return;
+        }
+        for (int i = 0; i < line.length(); i++) {
+            output.put((byte) line.charAt(i));
+        }
+        output.put((byte) '\n');
+    }
+
+    /**
+     * Writes as much queued output as the socket takes, and asks for a write event if some is left.
+     *
+     * @return false if the client has overflowed its output buffer
+     */
+    boolean flush() throws IOException {
+        if (overflowed) {
+            return false;
+        }
+        output.flip();
+        channel.write(output);
+        output.compact();
+        key.interestOps(output.position() > 0 ? SelectionKey.OP_READ | SelectionKey.OP_WRITE : SelectionKey.OP_READ);
+        return true;
+    }
+}
@@ -0,0 +1,319 @@
+package learn.gomoku.server;
+
+import learn.gomoku.game.Gomoku;
+import learn.gomoku.game.Moves;
+import learn.gomoku.metrics.Metrics;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Hosts many games over TCP with one non-blocking event loop. The loop thread owns every socket and
+ * every {@link SessionManager session}, so games are played without locks; to use more cores, run
+ * more servers on more ports. The protocol is ASCII lines:
+ * <pre>
+ * NEW [width [winLength]]     -> SESSION id           the client sits as black
+ * JOIN id                     -> JOINED id            the client sits as white; black gets OPPONENT id
+ * MOVE id row column          -> PLACED|WIN|DRAW id   the opponent gets MOVED id row column PLACED|WIN|DRAW
+ * QUIT id                     -> CLOSED id            so does the opponent
+ * </pre>
+ * A client may take both seats of a game. Failed commands get {@code ERROR [id] message}. A session
+ * is dropped when its game ends or when either player disconnects.
+ */
+public class GameServer implements Closeable {
+
+    private final Selector selector;
+    private final ServerSocketChannel acceptor;
+    private final SessionManager sessions = new SessionManager();
+    private final List<Connection> pending = new ArrayList<>();
+    private final Thread loop;
+    private volatile boolean running = true;
+
+    /**
+     * Listens on the loopback interface; port 0 picks a free port.
+     */
+    public GameServer(int port) throws IOException {
+        this(new InetSocketAddress(InetAddress.getLoopbackAddress(), port));
+    }
+
+    /**
+     * Listens on the given address. The protocol has no authentication, so only bind beyond loopback on a
+     * trusted network.
+     */
+    public GameServer(InetSocketAddress address) throws IOException {
+        selector = Selector.open();
+        acceptor = ServerSocketChannel.open();
+        try {
+            acceptor.bind(address, 1024);
+            acceptor.configureBlocking(false);
+            acceptor.register(selector, SelectionKey.OP_ACCEPT);
+        } catch (IOException ex) {
+            acceptor.close();
+            selector.close();
+            throw ex;
+        }
+        loop = new Thread(this::run, "game-server-" + getPort());
+    }
+
+    public int getPort() {
+        return acceptor.socket().getLocalPort();
+    }
+
+    public GameServer start() {
+        loop.start();
+        return this;
+    }
+
+    /**
+     * Stops the event loop and closes every connection.
+     */
+    @Override
+    public void close() throws IOException {
+        running = false;
+        selector.wakeup();
+        try {
+            loop.join();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void run() {
+        try (selector; acceptor) {
+            while (running) {
+                selector.select();
+                Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+                while (keys.hasNext()) {
+                    SelectionKey key = keys.next();
+                    keys.remove();
+                    if (key.isValid() && key.isAcceptable()) {
+                        accept();
+                    } else if (key.isValid()) {
+                        serve((Connection) key.attachment(), key);
+                    }
+                }
+                flushPending();
+            }
+            for (SelectionKey key : selector.keys()) {
+                key.channel().close();
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    private void accept() throws IOException {
+        SocketChannel channel;
+        while ((channel = acceptor.accept()) != null) {
+            channel.configureBlocking(false);
+            channel.socket().setTcpNoDelay(true);
+            SelectionKey key = channel.register(selector, SelectionKey.OP_READ);
+            key.attach(new Connection(channel, key));
+        }
+    }
+
+    private void serve(Connection connection, SelectionKey key) {
+        try {
+            if (key.isReadable() && !connection.read(line -> handle(connection, line))) {
+                disconnect(connection);
+            } else if (key.isWritable()) {
+                queue(connection);
+            }
+        } catch (IOException ex) {
+            disconnect(connection);
+        }
+    }
+
+    private void flushPending() {
+        // disconnecting a client can queue lines for its opponents, so the list may grow as we go
+        for (int i = 0; i < pending.size(); i++) {
+            Connection connection = pending.get(i);
+            connection.pending = false;
+            try {
+                if (connection.channel.isOpen() && !connection.flush()) {
+                    disconnect(connection);
+                }
+            } catch (IOException ex) {
+                disconnect(connection);
+            }
+        }
+        pending.clear();
+    }
+
+    private void handle(Connection connection, String line) {
+        String[] words = line.trim().split(" +");
+        try {
+            switch (words[0]) {
+                case "NEW":
+                    create(connection,
+                            words.length > 1 ? Integer.parseInt(words[1]) : Gomoku.WIDTH,
+                            words.length > 2 ? Integer.parseInt(words[2]) : Gomoku.WIN_LENGTH);
+                    break;
+                case "JOIN":
+                    join(connection, Long.parseLong(words[1]));
+                    break;
+                case "MOVE":
+                    move(connection, Long.parseLong(words[1]), Integer.parseInt(words[2]), Integer.parseInt(words[3]));
+                    break;
+                case "QUIT":
+                    quit(connection, Long.parseLong(words[1]));
+                    break;
+                default:
+                    send(connection, "ERROR Unknown command.");
+            }
+        } catch (NumberFormatException | ArrayIndexOutOfBoundsException ex) {
+            send(connection, "ERROR Malformed command.");
+        }
+    }
+
+    private void create(Connection connection, int width, int winLength) {
+        long id;
+        try {
+            id = sessions.create(width, winLength);
+        } catch (IllegalArgumentException ex) {
+            send(connection, "ERROR " + ex.getMessage());
+            return;
+        }
+        sessions.session(id).black = connection;
+        connection.sessions.add(id);
+        send(connection, "SESSION " + id);
+    }
+
+    private void join(Connection connection, long id) {
+        Session session = sessions.session(id);
+        if (session == null) {
+            send(connection, "ERROR " + id + " No such session.");
+            return;
+        }
+        if (session.white != null) {
+            send(connection, "ERROR " + id + " Session is full.");
+            return;
+        }
+        session.white = connection;
+        connection.sessions.add(id);
+        send(connection, "JOINED " + id);
+        if (session.black != connection) {
+            send(session.black, "OPPONENT " + id);
+        }
+    }
+
+    private void move(Connection connection, long id, int row, int column) {
+        Session session = sessions.session(id);
+        if (session == null) {
+            send(connection, "ERROR " + id + " No such session.");
+            return;
+        }
+        if (session.white == null) {
+            send(connection, "ERROR " + id + " Waiting for an opponent.");
+            return;
+        }
+        if (session.seatToMove() != connection) {
+            if (Metrics.ENABLED) {
+                Metrics.countPlace(Gomoku.WRONG_PLAYER);
+            }
+            send(connection, "ERROR " + id + " Wrong player.");
+            return;
+        }
+        Gomoku game = session.game;
+        if (row < 0 || row >= game.getWidth() || column < 0 || column >= game.getWidth()) {
+            if (Metrics.ENABLED) {
+                Metrics.countPlace(Gomoku.OFF_BOARD);
+            }
+            send(connection, "ERROR " + id + " Stone is off the board.");
+            return;
+        }
+
+        int status = game.place(Moves.pack(row, column, game.isBlacksTurn()));
+        if (Metrics.ENABLED) {
+            Metrics.countPlace(status);
+        }
+        if (status < 0) {
+            send(connection, "ERROR " + id + (status == Gomoku.DUPLICATE ? " Duplicate move." : " Game is over."));
+            return;
+        }
+        String outcome = status == Gomoku.WIN ? "WIN" : status == Gomoku.DRAW ? "DRAW" : "PLACED";
+        send(connection, outcome + " " + id);
+        Connection opponent = session.opponentOf(connection);
+        if (opponent != connection) {
+            send(opponent, "MOVED " + id + " " + row + " " + column + " " + outcome);
+        }
+        if (status != Gomoku.PLACED) {
+            end(session);
+        }
+    }
+
+    private void quit(Connection connection, long id) {
+        Session session = sessions.session(id);
+        if (session == null || !connection.sessions.contains(id)) {
+            send(connection, "ERROR " + id + " No such session.");
+            return;
+        }
+        send(connection, "CLOSED " + id);
+        Connection opponent = session.opponentOf(connection);
+        if (opponent != null && opponent != connection) {
+            send(opponent, "CLOSED " + id);
+        }
+        end(session);
+    }
+
+    private void end(Session session) {
+        sessions.remove(session.id);
+        session.black.sessions.remove(session.id);
+        if (session.white != null) {
+            session.white.sessions.remove(session.id);
+        }
+    }
+
+    private void disconnect(Connection connection) {
+        for (Long id : connection.sessions.toArray(new Long[0])) {
+            Session session = sessions.session(id);
+            Connection opponent = session.opponentOf(connection);
+            if (opponent != null && opponent != connection) {
+                send(opponent, "CLOSED " + id);
+            }
+            end(session);
+        }
+        connection.key.cancel();
+        try {
+            connection.channel.close();
+        } catch (IOException ex) {
+            // nothing more to do for this client
+        }
+    }
+
+    private void send(Connection connection, String line) {
+        connection.send(line);
+        queue(connection);
+    }
+
+    private void queue(Connection connection) {
+        if (!connection.pending) {
+            connection.pending = true;
+            pending.add(connection);
+        }
+    }
+
+    /**
+     * Usage: GameServer [port] [bind address]
+     * <p>
+     * Listens on loopback unless a bind address is given, such as 0.0.0.0 for every interface.
+     */
+    public static void main(String[] args) throws IOException {
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : 7500;
+        GameServer server = args.length > 1
+                ? new GameServer(new InetSocketAddress(args[1], port))
+                : new GameServer(port);
+        server.start();
+        System.out.println("Serving Gomoku on " + server.acceptor.socket().getLocalSocketAddress());
+    }
+}
@@ -0,0 +1,254 @@
+package learn.gomoku.server;
+
+import learn.gomoku.game.Gomoku;
+import learn.gomoku.game.Stone;
+import learn.gomoku.players.RandomPlayer;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Drives a {@link GameServer} with {@link RandomPlayer} clients and measures the round trip of
+ * every move. Each client is one connection and one thread, sitting in both seats of several games
+ * at once and moving in them in turn, so clients x sessions games are open at any time. A finished
+ * game is replaced by a new one.
+ */
+public class LoadGenerator {
+
+    private final InetSocketAddress address;
+    private final int clients;
+    private final int sessions;
+    private final long seed;
+
+    public LoadGenerator(InetSocketAddress address, int clients, int sessions, long seed) {
+        if (clients < 1 || sessions < 1) {
+            throw new IllegalArgumentException("Need at least one client and one session per client.");
+        }
+        this.address = address;
+        this.clients = clients;
+        this.sessions = sessions;
+        this.seed = seed;
+    }
+
+    /**
+     * Runs every client for the given time and merges their measurements.
+     *
+     * @throws IllegalStateException if a client fails, for example because the server went away
+     */
+    public Report run(long millis) throws InterruptedException {
+        ExecutorService pool = Executors.newFixedThreadPool(clients, runnable -> {
+            Thread thread = new Thread(runnable, "load-client");
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            long deadline = System.nanoTime() + millis * 1_000_000L;
+            // split here, on one thread; each client then owns its generator and splits it per session
+            SplittableRandom seeds = new SplittableRandom(seed);
+            List<Callable<Client>> tasks = new ArrayList<>();
+            for (int i = 0; i < clients; i++) {
+                SplittableRandom random = seeds.split();
+                tasks.add(() -> new Client(random).play(deadline));
+            }
+            Report report = new Report();
+            for (Future<Client> future : pool.invokeAll(tasks)) {
+                report.add(future.get());
+            }
+            report.finish(millis / 1000.0);
+            return report;
+        } catch (ExecutionException ex) {
+            throw new IllegalStateException("Load client failed.", ex.getCause());
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private final class Client {
+
+        private final long[] ids = new long[sessions];
+        private final RandomPlayer[] players = new RandomPlayer[sessions];
+        private final List<List<Stone>> histories = new ArrayList<>();
+        private long[] latencies = new long[1024];
+        private int moves;
+        private long games;
+        private long errors;
+
+        private BufferedReader in;
+        private Writer out;
+
+        Client(SplittableRandom random) {
+            for (int s = 0; s < sessions; s++) {
+                players[s] = new RandomPlayer(random.split(), Gomoku.WIDTH, Gomoku.WIN_LENGTH);
+                histories.add(new ArrayList<>());
+            }
+        }
+
+        Client play(long deadline) throws IOException {
+            try (Socket socket = new Socket(address.getAddress(), address.getPort())) {
+                socket.setTcpNoDelay(true);
+                in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.US_ASCII));
+                out = new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.US_ASCII);
+                for (int s = 0; s < sessions; s++) {
+                    open(s);
+                }
+                while (System.nanoTime() < deadline) {
+                    for (int s = 0; s < sessions; s++) {
+                        move(s);
+                    }
+                }
+            }
+            return this;
+        }
+
+        private void open(int s) throws IOException {
+            String[] reply = request("NEW");
+            ids[s] = Long.parseLong(reply[1]);
+            request("JOIN " + ids[s]);
+            histories.get(s).clear();
+        }
+
+        private void move(int s) throws IOException {
+            List<Stone> history = histories.get(s);
+            Stone stone = players[s].generateMove(history);
+            long start = System.nanoTime();
+            String[] reply = request("MOVE " + ids[s] + " " + stone.getRow() + " " + stone.getColumn());
+            record(System.nanoTime() - start);
+
+            switch (reply[0]) {
+                case "PLACED":
+                    history.add(stone);
+                    break;
+                case "WIN":
+                case "DRAW":
+                    games++;
+                    open(s);
+                    break;
+                default:
+                    errors++;
+                    request("QUIT " + ids[s]);
+                    open(s);
+            }
+        }
+
+        private String[] request(String line) throws IOException {
+            out.write(line);
+            out.write('\n');
+            out.flush();
+            String reply = in.readLine();
+            if (reply == null) {
+                throw new IOException("Server closed the connection.");
+            }
+            return reply.split(" ");
+        }
+
+        private void record(long nanos) {
+            if (moves == latencies.length) {
+                latencies = Arrays.copyOf(latencies, moves * 2);
+            }
+            latencies[moves++] = nanos;
+        }
+    }
+
+    public static final class Report {
+
+        private long[] latencies = new long[0];
+        private long games;
+        private long errors;
+        private double seconds;
+
+        private void add(Client client) {
+            int old = latencies.length;
+            latencies = Arrays.copyOf(latencies, old + client.moves);
+            System.arraycopy(client.latencies, 0, latencies, old, client.moves);
+            games += client.games;
+            errors += client.errors;
+        }
+
+        private void finish(double seconds) {
+            Arrays.sort(latencies);
+            this.seconds = seconds;
+        }
+
+        public long getMoves() {
+            return latencies.length;
+        }
+
+        public long getGames() {
+            return games;
+        }
+
+        /**
+         * Moves the server rejected. A correct server and client never produce any.
+         */
+        public long getErrors() {
+            return errors;
+        }
+
+        public double getMovesPerSecond() {
+            return latencies.length / seconds;
+        }
+
+        /**
+         * Round-trip time in nanoseconds that this fraction (0-1) of moves came back within.
+         */
+        public long percentile(double fraction) {
+            if (latencies.length == 0) {
+                return 0;
+            }
+            int index = (int) Math.ceil(fraction * latencies.length) - 1;
+            return latencies[Math.max(0, Math.min(latencies.length - 1, index))];
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%d moves (%.0f/s), %d games, %d errors; round trip p50 %.1f us, p90 %.1f us, "
+                            + "p99 %.1f us, p99.9 %.1f us, max %.1f us",
+                    getMoves(), getMovesPerSecond(), games, errors,
+                    percentile(0.5) / 1e3, percentile(0.9) / 1e3, percentile(0.99) / 1e3,
+                    percentile(0.999) / 1e3, percentile(1.0) / 1e3);
+        }
+    }
+
+    /**
+     * Usage: LoadGenerator [clients] [sessions per client] [seconds] [port]. Without a port it
+     * starts its own server on a free loopback port.
+     */
+    public static void main(String[] args) throws IOException, InterruptedException {
+        int clients = args.length > 0 ? Integer.parseInt(args[0]) : 64;
+        int sessions = args.length > 1 ? Integer.parseInt(args[1]) : 32;
+        int seconds = args.length > 2 ? Integer.parseInt(args[2]) : 10;
+
+        GameServer server = null;
+        int port;
+        if (args.length > 3) {
+            port = Integer.parseInt(args[3]);
+        } else {
+            server = new GameServer(0).start();
+            port = server.getPort();
+        }
+        try {
+            LoadGenerator generator = new LoadGenerator(new InetSocketAddress("localhost", port), clients, sessions, 1);
+            System.out.printf("%d clients x %d sessions for %d s%n", clients, sessions, seconds);
+            System.out.println(generator.run(seconds * 1000L));
+        } finally {
+            if (server != null) {
+                server.close();
+            }
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package learn.gomoku.server;
+
+import learn.gomoku.game.Gomoku;
+
+/**
+ * One hosted game and the connections sitting in its two seats. Only the server's event-loop
+ * thread touches it.
+ */
+final class Session {
+
+    final long id;
+    final Gomoku game;
+    Connection black;
+    Connection white;
+
+    Session(long id, Gomoku game) {
+        this.id = id;
+        this.game = game;
+    }
+
+    Connection seatToMove() {
+        return game.isBlacksTurn() ? black : white;
+    }
+
+    Connection opponentOf(Connection connection) {
+        return connection == black ? white : black;
+    }
+}
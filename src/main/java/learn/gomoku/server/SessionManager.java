@@ -0,0 +1,49 @@
+package learn.gomoku.server;
+
+import learn.gomoku.game.Gomoku;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * The games a {@link GameServer} is hosting, keyed by session id. Not thread-safe: it belongs to
+ * the server's event-loop thread, which is the only writer of every session, so placing a stone
+ * never takes a lock.
+ */
+public final class SessionManager {
+
+    private final Map<Long, Session> sessions = new HashMap<>();
+    private long nextId = 1;
+
+    /**
+     * Starts a game with black to move.
+     *
+     * @return the new session's id
+     * @throws IllegalArgumentException if the board settings are invalid
+     */
+    public long create(int width, int winLength) {
+        long id = nextId++;
+        sessions.put(id, new Session(id, new Gomoku(null, null, true, width, winLength)));
+        return id;
+    }
+
+    /**
+     * @return the session's game, or null if there is no such session
+     */
+    public Gomoku game(long id) {
+        Session session = sessions.get(id);
+        return session == null ? null : session.game;
+    }
+
+    public boolean remove(long id) {
+        return sessions.remove(id) != null;
+    }
+
+    public int size() {
+        return sessions.size();
+    }
+
+    Session session(long id) {
+        return sessions.get(id);
+    }
+}
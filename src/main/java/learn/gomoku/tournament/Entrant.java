@@ -0,0 +1,34 @@
+package learn.gomoku.tournament;
+
+import learn.gomoku.players.Player;
+
+import java.util.function.LongFunction;
+
+/**
+ * A named kind of player. The tournament creates fresh players for every game from a per-game seed,
+ * so players with internal state never leak it across games or threads. Players that are
+ * {@link AutoCloseable} are closed when their game ends.
+ */
+public class Entrant {
+
+    private final String name;
+    private final LongFunction<Player> factory;
+
+    public Entrant(String name, LongFunction<Player> factory) {
+        this.name = name;
+        this.factory = factory;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public Player create(long seed) {
+        return factory.apply(seed);
+    }
+
+    @Override
+    public String toString() {
+        return name;
+    }
+}
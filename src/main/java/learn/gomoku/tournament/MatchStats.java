@@ -0,0 +1,107 @@
+package learn.gomoku.tournament;
+
+/**
+ * Head-to-head totals for two entrants. Each worker fills its own instance and the
+ * instances are merged when the work is joined, so counting needs no synchronisation.
+ */
+public class MatchStats {
+
+    private final Entrant one;
+    private final Entrant two;
+
+    private long games;
+    private long winsOne;
+    private long winsTwo;
+    private long draws;
+    private long forfeitsOne;
+    private long forfeitsTwo;
+    private long moves;
+
+    public MatchStats(Entrant one, Entrant two) {
+        this.one = one;
+        this.two = two;
+    }
+
+    void recordWin(boolean entrantOne, int gameMoves) {
+        games++;
+        moves += gameMoves;
+        if (entrantOne) {
+            winsOne++;
+        } else {
+            winsTwo++;
+        }
+    }
+
+    void recordDraw(int gameMoves) {
+        games++;
+        moves += gameMoves;
+        draws++;
+    }
+
+    void recordForfeit(boolean entrantOne, int gameMoves) {
+        // the forfeiting entrant loses
+        recordWin(!entrantOne, gameMoves);
+        if (entrantOne) {
+            forfeitsOne++;
+        } else {
+            forfeitsTwo++;
+        }
+    }
+
+    MatchStats merge(MatchStats other) {
+        games += other.games;
+        winsOne += other.winsOne;
+        winsTwo += other.winsTwo;
+        draws += other.draws;
+        forfeitsOne += other.forfeitsOne;
+        forfeitsTwo += other.forfeitsTwo;
+        moves += other.moves;
+        return this;
+    }
+
+    public Entrant getOne() {
+        return one;
+    }
+
+    public Entrant getTwo() {
+        return two;
+    }
+
+    public long getGames() {
+        return games;
+    }
+
+    public long getWinsOne() {
+        return winsOne;
+    }
+
+    public long getWinsTwo() {
+        return winsTwo;
+    }
+
+    public long getDraws() {
+        return draws;
+    }
+
+    public long getForfeitsOne() {
+        return forfeitsOne;
+    }
+
+    public long getForfeitsTwo() {
+        return forfeitsTwo;
+    }
+
+    public long getMoves() {
+        return moves;
+    }
+
+    public double getAverageLength() {
+        return games == 0 ? 0 : (double) moves / games;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s vs %s: %d games, %d-%d-%d (W-L-D), forfeits %d/%d, %.1f moves/game",
+                one, two, games, winsOne, winsTwo, draws, forfeitsOne, forfeitsTwo, getAverageLength());
+    }
+}
@@ -0,0 +1,232 @@
+package learn.gomoku.tournament;
+
+import learn.gomoku.game.Gomoku;
+import learn.gomoku.game.Stone;
+import learn.gomoku.metrics.Metrics;
+import learn.gomoku.players.Player;
+import learn.gomoku.players.RandomPlayer;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Headless self-play. Games are split across a ForkJoinPool; every game gets its own seed derived
+ * from the tournament seed and the game number, so a run is reproducible whatever the parallelism.
+ */
+public class Tournament {
+
+    // A player that keeps failing to place a stone (or returns null, like HumanPlayer) forfeits the game.
+    static final int MAX_ATTEMPTS = 100_000;
+
+    private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+
+    private final ForkJoinPool pool;
+    private final long seed;
+    private final int width;
+    private final int winLength;
+
+    public Tournament(int parallelism, long seed) {
+        this(parallelism, seed, Gomoku.WIDTH, Gomoku.WIN_LENGTH);
+    }
+
+    /**
+     * Plays on a width x width board with the given win length. The entrants must create players
+     * for that board.
+     */
+    public Tournament(int parallelism, long seed, int width, int winLength) {
+        // fail here rather than in every game
+        Gomoku.checkDimensions(width, winLength);
+        this.pool = new ForkJoinPool(parallelism);
+        this.seed = seed;
+        this.width = width;
+        this.winLength = winLength;
+    }
+
+    public Tournament(long seed) {
+        this(Runtime.getRuntime().availableProcessors(), seed);
+    }
+
+    /**
+     * Plays {@code games} games between two entrants. They alternate moving first.
+     */
+    public MatchStats play(Entrant one, Entrant two, int games) {
+        return play(one, two, games, seed);
+    }
+
+    /**
+     * Plays every pair of entrants against each other.
+     */
+    public List<MatchStats> roundRobin(List<Entrant> entrants, int gamesPerPair) {
+        List<MatchStats> results = new ArrayList<>();
+        long pairing = 0;
+        for (int i = 0; i < entrants.size(); i++) {
+            for (int j = i + 1; j < entrants.size(); j++) {
+                results.add(play(entrants.get(i), entrants.get(j), gamesPerPair, mix(seed + ++pairing * GOLDEN_GAMMA)));
+            }
+        }
+        return results;
+    }
+
+    public void shutdown() {
+        pool.shutdown();
+    }
+
+    private MatchStats play(Entrant one, Entrant two, int games, long matchSeed) {
+        int threshold = Math.max(64, games / (pool.getParallelism() * 8));
+        return pool.invoke(new Games(this, one, two, matchSeed, 0, games, threshold));
+    }
+
+    static long gameSeed(long matchSeed, long game) {
+        return mix(matchSeed + (game + 1) * GOLDEN_GAMMA);
+    }
+
+    // SplitMix64 finaliser
+    static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    void playGame(Entrant one, Entrant two, long gameSeed, boolean oneFirst, MatchStats stats) {
+        SplittableRandom random = new SplittableRandom(gameSeed);
+        Player playerOne = one.create(random.nextLong());
+        Player playerTwo = two.create(random.nextLong());
+        try {
+            playGame(playerOne, playerTwo, random, oneFirst, stats);
+        } finally {
+            // players with their own thread pools must not outlive the game
+            close(playerOne);
+            if (playerTwo != playerOne) {
+                close(playerTwo);
+            }
+        }
+    }
+
+    private void playGame(Player playerOne, Player playerTwo, SplittableRandom random, boolean oneFirst,
+                          MatchStats stats) {
+        Gomoku game = new Gomoku(playerOne, playerTwo, oneFirst, width, winLength, random.split());
+        long start = Metrics.ENABLED ? System.nanoTime() : 0;
+        int rejected = 0;
+
+        while (!game.isOver()) {
+            Player current = game.getCurrent();
+            int status;
+            int attempts = 0;
+            do {
+                long moveStart = Metrics.ENABLED ? System.nanoTime() : 0;
+                Stone stone = current.chooseMove(game.view());
+                if (Metrics.ENABLED) {
+                    Metrics.GENERATE_MOVE_NANOS.record(System.nanoTime() - moveStart);
+                }
+                if (stone == null || ++attempts > MAX_ATTEMPTS) {
+                    stats.recordForfeit(current == playerOne, game.getMoveCount());
+                    recordGame(game, start, rejected);
+                    return;
+                }
+                status = game.placeStatus(stone);
+                if (Metrics.ENABLED) {
+                    Metrics.countPlace(status);
+                }
+                if (status < 0) {
+                    rejected++;
+                    current.moveRejected(stone, game.resultOf(status));
+                }
+            } while (status < 0);
+        }
+        recordGame(game, start, rejected);
+
+        if (game.getWinner() == null) {
+            stats.recordDraw(game.getMoveCount());
+        } else {
+            stats.recordWin(game.getWinner() == playerOne, game.getMoveCount());
+        }
+    }
+
+    private static void close(Player player) {
+        if (player instanceof AutoCloseable) {
+            try {
+                ((AutoCloseable) player).close();
+            } catch (Exception ex) {
+                throw new IllegalStateException("Could not close " + player.getName() + ".", ex);
+            }
+        }
+    }
+
+    private static void recordGame(Gomoku game, long start, int rejected) {
+        if (Metrics.ENABLED) {
+            Metrics.GAMES.increment();
+            Metrics.GAME_MOVES.record(game.getMoveCount());
+            Metrics.GAME_REJECTED_MOVES.record(rejected);
+            Metrics.GAME_NANOS.record(System.nanoTime() - start);
+        }
+    }
+
+    // never serialized; ForkJoinTask is Serializable only by inheritance
+    @SuppressWarnings("serial")
+    private static class Games extends RecursiveTask<MatchStats> {
+
+        private final Tournament tournament;
+        private final Entrant one;
+        private final Entrant two;
+        private final long matchSeed;
+        private final int from;
+        private final int to;
+        private final int threshold;
+
+        Games(Tournament tournament, Entrant one, Entrant two, long matchSeed, int from, int to, int threshold) {
+            this.tournament = tournament;
+            this.one = one;
+            this.two = two;
+            this.matchSeed = matchSeed;
+            this.from = from;
+            this.to = to;
+            this.threshold = threshold;
+        }
+
+        @Override
+        protected MatchStats compute() {
+            if (to - from <= threshold) {
+                MatchStats stats = new MatchStats(one, two);
+                for (int game = from; game < to; game++) {
+                    tournament.playGame(one, two, gameSeed(matchSeed, game), game % 2 == 0, stats);
+                }
+                return stats;
+            }
+
+            int middle = (from + to) >>> 1;
+            Games left = new Games(tournament, one, two, matchSeed, from, middle, threshold);
+            left.fork();
+            MatchStats right = new Games(tournament, one, two, matchSeed, middle, to, threshold).compute();
+            return left.join().merge(right);
+        }
+    }
+
+    /**
+     * Plays RandomPlayer against itself and prints the totals and throughput.
+     * Arguments: [games] [parallelism] [seed] [width] [win length]
+     */
+    public static void main(String[] args) {
+        int games = args.length > 0 ? Integer.parseInt(args[0]) : 100_000;
+        int parallelism = args.length > 1 ? Integer.parseInt(args[1]) : Runtime.getRuntime().availableProcessors();
+        long seed = args.length > 2 ? Long.parseLong(args[2]) : System.nanoTime();
+        int width = args.length > 3 ? Integer.parseInt(args[3]) : Gomoku.WIDTH;
+        int winLength = args.length > 4 ? Integer.parseInt(args[4]) : Gomoku.WIN_LENGTH;
+
+        Entrant random = new Entrant("Random", playerSeed -> new RandomPlayer(playerSeed, width, winLength));
+        Tournament tournament = new Tournament(parallelism, seed, width, winLength);
+        long start = System.nanoTime();
+        MatchStats stats = tournament.play(random, random, games);
+        double seconds = (System.nanoTime() - start) / 1e9;
+        tournament.shutdown();
+
+        System.out.println(stats);
+        System.out.printf("%dx%d, %d in a row, seed %d, %d threads, %.2f s, %.0f games/s (%.1fM games/hour)%n",
+                width, width, winLength, seed, parallelism, seconds, games / seconds, games / seconds * 3600 / 1e6);
+        if (Metrics.ENABLED) {
+            System.out.print(Metrics.toText());
+        }
+    }
+}
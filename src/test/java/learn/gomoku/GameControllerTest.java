@@ -0,0 +1,52 @@
+package learn.gomoku;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.time.Duration;
+import java.util.Scanner;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GameControllerTest {
+
+    @Test
+    void drawnGameShouldEnd() {
+        assertTimeoutPreemptively(Duration.ofSeconds(30), () -> {
+            PrintStream stdout = System.out;
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            System.setOut(new PrintStream(out, true));
+            try {
+                // random games on 5x5 with five to win are usually drawn; play until one is
+                for (int i = 0; i < 100; i++) {
+                    GameController controller = new GameController();
+                    controller.console = new Scanner("5 5 random random N");
+                    try {
+                        controller.run();
+                    } finally {
+                        closeEvents(controller);
+                    }
+                    if (controller.game.isDraw()) {
+                        assertNull(controller.game.getWinner());
+                        assertEquals(25, controller.game.getMoveCount());
+                        assertTrue(out.toString().contains("The game is a draw."));
+                        return;
+                    }
+                }
+                fail("No drawn game in 100.");
+            } finally {
+                System.setOut(stdout);
+            }
+        });
+    }
+
+    private static void closeEvents(GameController controller) {
+        try {
+            controller.events.close();
+        } catch (IOException ex) {
+            throw new AssertionError(ex);
+        }
+    }
+}
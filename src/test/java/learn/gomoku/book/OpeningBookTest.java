@@ -0,0 +1,138 @@
+package learn.gomoku.book;
+
+import learn.gomoku.game.BatchSimulator;
+import learn.gomoku.game.Gomoku;
+import learn.gomoku.game.Moves;
+import learn.gomoku.game.Stone;
+import learn.gomoku.game.Symmetry;
+import learn.gomoku.players.BookPlayer;
+import learn.gomoku.players.RandomPlayer;
+import learn.gomoku.record.GameRecordReader;
+import learn.gomoku.record.GameRecordWriter;
+import learn.gomoku.record.RecordFormat;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Random;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OpeningBookTest {
+
+    private static final int WIDTH = Gomoku.WIDTH;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void symmetricMovesShouldShareAnEntry() throws IOException {
+        OpeningBookBuilder builder = new OpeningBookBuilder(WIDTH, Gomoku.WIN_LENGTH, 2);
+        for (int i = 0; i < 3; i++) {
+            builder.add(cells(7, 7, 6, 8), 2, RecordFormat.DRAW);
+        }
+        builder.add(cells(7, 7, 8, 8), 2, RecordFormat.WHITE_WINS);
+        // opposite corners: one entry with weight 4, beating the centre's 3
+        builder.add(cells(0, 0), 1, RecordFormat.BLACK_WINS);
+        builder.add(cells(14, 0), 1, RecordFormat.BLACK_WINS);
+
+        try (OpeningBook book = write(builder, 1)) {
+            assertEquals(3, book.size());
+
+            Gomoku game = new Gomoku(null, null, true);
+            int corner = book.lookup(game);
+            assertTrue(Moves.row(corner) % 14 == 0 && Moves.column(corner) % 14 == 0);
+            assertTrue(Moves.isBlack(corner));
+
+            // all four diagonal replies to the centre fold onto one entry
+            game.place(Moves.pack(7, 7, true));
+            int reply = book.lookup(game);
+            assertEquals(1, Math.abs(Moves.row(reply) - 7));
+            assertEquals(1, Math.abs(Moves.column(reply) - 7));
+            assertFalse(Moves.isBlack(reply));
+
+            game.place(reply);
+            assertEquals(OpeningBook.NO_MOVE, book.lookup(game));
+        }
+    }
+
+    @Test
+    void lookupShouldFollowTheBoardsOrientation() throws IOException {
+        OpeningBookBuilder builder = new OpeningBookBuilder(WIDTH, Gomoku.WIN_LENGTH, 2);
+        builder.add(cells(2, 3, 4, 4), 2, RecordFormat.DRAW);
+        builder.add(cells(2, 3, 4, 4), 2, RecordFormat.DRAW);
+        try (OpeningBook book = write(builder, 2)) {
+            for (int t = 0; t < Symmetry.COUNT; t++) {
+                Gomoku game = new Gomoku(null, null, true);
+                game.place(Symmetry.move(t, Moves.pack(2, 3, true), WIDTH));
+                assertEquals(Symmetry.move(t, Moves.pack(4, 4, false), WIDTH), book.lookup(game));
+                assertEquals(Symmetry.move(t, Moves.pack(4, 4, false), WIDTH), book.lookup(game, new Random(t)));
+            }
+        }
+    }
+
+    @Test
+    void bookFromRecordsShouldOnlyOfferLegalMoves() throws IOException {
+        BatchSimulator simulator = new BatchSimulator(500);
+        simulator.run(new SplittableRandom(5));
+        Path records = directory.resolve("games.gmk");
+        try (GameRecordWriter writer = new GameRecordWriter(records, WIDTH, Gomoku.WIN_LENGTH)) {
+            for (int g = 0; g < simulator.games(); g++) {
+                writer.append(simulator.moves(), g * simulator.stride(), simulator.lengths()[g], simulator.outcomes()[g]);
+            }
+        }
+
+        OpeningBookBuilder builder = new OpeningBookBuilder(WIDTH, Gomoku.WIN_LENGTH, 3);
+        try (GameRecordReader reader = new GameRecordReader(records)) {
+            builder.add(reader);
+        }
+        assertEquals(500, builder.getGameCount());
+
+        Random random = new Random(1);
+        try (OpeningBook book = write(builder, 1)) {
+            assertTrue(book.size() > 0);
+            Gomoku game = new Gomoku(null, null, true);
+            assertNotEquals(OpeningBook.NO_MOVE, book.lookup(game));
+            // losing moves are left out, so a line can leave the book early
+            for (int ply = 0; ply < 3; ply++) {
+                int move = book.lookup(game, random);
+                if (move == OpeningBook.NO_MOVE) {
+                    break;
+                }
+                assertEquals(Gomoku.PLACED, game.place(move));
+            }
+            assertThrows(IllegalArgumentException.class, () -> book.lookup(new Gomoku(null, null, true, 9, 5)));
+        }
+    }
+
+    @Test
+    void bookPlayerShouldFallBackOutOfBook() throws IOException {
+        OpeningBookBuilder builder = new OpeningBookBuilder(WIDTH, Gomoku.WIN_LENGTH, 1);
+        builder.add(cells(7, 7), 1, RecordFormat.BLACK_WINS);
+        try (OpeningBook book = write(builder, 1)) {
+            BookPlayer player = new BookPlayer(book, new RandomPlayer(3));
+            assertEquals(Stone.of(7, 7, true), player.generateMove(List.of()));
+
+            Stone next = player.generateMove(List.of(Stone.of(7, 7, true)));
+            assertNotNull(next);
+            assertFalse(next.isBlack());
+        }
+    }
+
+    private OpeningBook write(OpeningBookBuilder builder, int minGames) throws IOException {
+        Path path = directory.resolve("book.gmkb");
+        builder.write(path, minGames);
+        return new OpeningBook(path);
+    }
+
+    private static int[] cells(int... coordinates) {
+        int[] cells = new int[coordinates.length / 2];
+        for (int i = 0; i < cells.length; i++) {
+            cells[i] = coordinates[2 * i] * WIDTH + coordinates[2 * i + 1];
+        }
+        return cells;
+    }
+}
@@ -0,0 +1,290 @@
+package learn.gomoku.events;
+
+import learn.gomoku.game.Gomoku;
+import learn.gomoku.game.Moves;
+import learn.gomoku.game.Stone;
+import learn.gomoku.players.RandomPlayer;
+import learn.gomoku.record.GameRecordReader;
+import learn.gomoku.record.RecordFormat;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EventStreamTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void shouldDeliverAGameInOrder() throws IOException {
+        Collecting sink = new Collecting();
+        Gomoku game = new Gomoku(new RandomPlayer(1), new RandomPlayer(2), true);
+        try (EventStream events = new EventStream(8, EventStream.Overflow.BLOCK, sink)) {
+            long id = events.gameStarted(game);
+            assertEquals(Gomoku.OFF_BOARD, events.place(id, game, Stone.of(-1, 0, true)));
+            while (!game.isOver()) {
+                events.place(id, game, game.getCurrent().chooseMove(game.view()));
+            }
+        }
+
+        List<String> lines = sink.lines;
+        assertEquals(game.getMoveCount() + 3, lines.size());
+        assertEquals("game 1 started", lines.get(0));
+        assertEquals("game 1 rejected X 0 1 off_board", lines.get(1));
+        for (int i = 0; i < game.getMoveCount(); i++) {
+            int move = game.getMove(i);
+            String expected = "game 1 placed " + (i + 1) + " " + (Moves.isBlack(move) ? 'X' : 'O')
+                    + " " + (Moves.row(move) + 1) + " " + (Moves.column(move) + 1);
+            assertEquals(expected, lines.get(i + 2));
+        }
+        String last = lines.get(lines.size() - 1);
+        assertEquals(game.isDraw() ? "game 1 drawn " + game.getMoveCount()
+                : "game 1 won " + (game.isBlacksTurn() ? 'X' : 'O') + " " + game.getMoveCount(), last);
+    }
+
+    @Test
+    void shouldLogRejectedStonesAsGiven() throws IOException {
+        Collecting sink = new Collecting();
+        Gomoku game = new Gomoku(null, null, true);
+        try (EventStream events = new EventStream(8, EventStream.Overflow.BLOCK, sink)) {
+            long id = events.gameStarted(game);
+            assertEquals(Gomoku.OFF_BOARD, events.place(id, game, (Stone) null));
+            assertEquals(Gomoku.OFF_BOARD, events.place(id, game, Stone.of(3, 300, true)));
+            assertEquals(Gomoku.WRONG_PLAYER, events.place(id, game, Stone.of(2, 2, false)));
+        }
+
+        assertEquals(List.of("game 1 started", "game 1 rejected - off_board", "game 1 rejected X 4 301 off_board",
+                "game 1 rejected O 3 3 wrong_player"), sink.lines);
+    }
+
+    @Test
+    void blockShouldLoseNothingWithManyProducers() throws Exception {
+        Collecting sink = new Collecting();
+        int perThread = 5_000;
+        EventStream events = new EventStream(16, EventStream.Overflow.BLOCK, sink);
+        Thread[] threads = new Thread[4];
+        for (int t = 0; t < threads.length; t++) {
+            long game = t;
+            threads[t] = new Thread(() -> {
+                for (int i = 0; i < perThread; i++) {
+                    events.publish(GameEvent.Type.PLACED, game, Moves.pack(0, 0, true), Gomoku.PLACED, i);
+                }
+            });
+            threads[t].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        events.close();
+
+        assertEquals(0, events.getDropped());
+        assertEquals(threads.length * perThread, sink.lines.size());
+        // each producer's events arrive in the order it published them
+        int[] next = new int[threads.length];
+        for (String line : sink.lines) {
+            String[] parts = line.split(" ");
+            int game = Integer.parseInt(parts[1]);
+            assertEquals(next[game]++, Integer.parseInt(parts[3]));
+        }
+    }
+
+    @Test
+    void eventsAcceptedWhileClosingShouldBeDelivered() throws Exception {
+        for (int round = 0; round < 50; round++) {
+            Collecting sink = new Collecting();
+            EventStream events = new EventStream(64, EventStream.Overflow.BLOCK, sink);
+            AtomicInteger accepted = new AtomicInteger();
+            Thread[] threads = new Thread[3];
+            for (int t = 0; t < threads.length; t++) {
+                threads[t] = new Thread(() -> {
+                    try {
+                        for (int i = 0; ; i++) {
+                            events.publish(GameEvent.Type.PLACED, 1, Moves.pack(0, 0, true), Gomoku.PLACED, i);
+                            accepted.incrementAndGet();
+                        }
+                    } catch (IllegalStateException closed) {
+                        // expected once close() has started
+                    }
+                });
+                threads[t].start();
+            }
+            Thread.sleep(1);
+            events.close();
+            for (Thread thread : threads) {
+                thread.join();
+            }
+
+            assertEquals(accepted.get(), sink.lines.size());
+        }
+    }
+
+    @Test
+    void dropNewestShouldNotWaitForASlowSink() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        Collecting sink = new Collecting(release);
+        EventStream events = new EventStream(8, EventStream.Overflow.DROP_NEWEST, sink);
+        int accepted = 0;
+        for (int i = 0; i < 100; i++) {
+            if (events.publish(GameEvent.Type.PLACED, 1, Moves.pack(0, 0, true), Gomoku.PLACED, i)) {
+                accepted++;
+            }
+        }
+        release.countDown();
+        events.close();
+
+        // the consumer holds at most one event while the ring is full
+        assertTrue(accepted <= 9);
+        assertEquals(100, accepted + events.getDropped());
+        assertEquals(accepted, sink.lines.size());
+    }
+
+    @Test
+    void dropOldestShouldKeepTheLatestEvents() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        Collecting sink = new Collecting(release);
+        EventStream events = new EventStream(8, EventStream.Overflow.DROP_OLDEST, sink);
+        for (int i = 0; i < 100; i++) {
+            assertTrue(events.publish(GameEvent.Type.PLACED, 1, Moves.pack(0, 0, true), Gomoku.PLACED, i));
+        }
+        release.countDown();
+        events.close();
+
+        assertEquals(100, sink.lines.size() + events.getDropped());
+        List<String> lines = sink.lines;
+        for (int i = 0; i < 8; i++) {
+            assertEquals("game 1 placed " + (92 + i) + " X 1 1", lines.get(lines.size() - 8 + i));
+        }
+    }
+
+    @Test
+    void recordSinkShouldWriteReadableGames() throws IOException {
+        Path path = dir.resolve("games.gmr");
+        Random random = new Random(5);
+        List<Gomoku> games = new ArrayList<>();
+        try (EventStream events = new EventStream(64, EventStream.Overflow.BLOCK,
+                new RecordSink(path, Gomoku.WIDTH, Gomoku.WIN_LENGTH))) {
+            for (int g = 0; g < 5; g++) {
+                Gomoku game = new Gomoku(null, null, true);
+                long id = events.gameStarted(game);
+                int moves = g == 4 ? 7 : Integer.MAX_VALUE;
+                while (!game.isOver() && game.getMoveCount() < moves) {
+                    events.place(id, game, game.randomEmptyCell(random));
+                }
+                games.add(game);
+            }
+        }
+
+        try (GameRecordReader reader = new GameRecordReader(path)) {
+            assertEquals(5, reader.getGameCount());
+            GameRecordReader.Cursor cursor = reader.cursor();
+            for (Gomoku game : games) {
+                assertTrue(cursor.next());
+                assertEquals(game.getMoveCount(), cursor.length());
+                for (int i = 0; i < game.getMoveCount(); i++) {
+                    int move = game.getMove(i);
+                    assertEquals(Moves.row(move) * Gomoku.WIDTH + Moves.column(move), cursor.cell(i));
+                }
+                int expected = !game.isOver() ? RecordFormat.UNFINISHED
+                        : game.isDraw() ? RecordFormat.DRAW
+                        : game.isBlacksTurn() ? RecordFormat.BLACK_WINS : RecordFormat.WHITE_WINS;
+                assertEquals(expected, cursor.result());
+            }
+        }
+    }
+
+    @Test
+    void rollingFileSinkShouldKeepBackups() throws IOException {
+        Path log = dir.resolve("events.log");
+        try (EventStream events = new EventStream(64, EventStream.Overflow.BLOCK,
+                new RollingFileSink(log, 200, 2))) {
+            for (int i = 0; i < 100; i++) {
+                events.publish(GameEvent.Type.STARTED, i, GameEvent.NO_MOVE, Gomoku.PLACED, 0);
+            }
+        }
+
+        assertTrue(Files.exists(log));
+        assertTrue(Files.exists(dir.resolve("events.log.1")));
+        assertTrue(Files.exists(dir.resolve("events.log.2")));
+        assertFalse(Files.exists(dir.resolve("events.log.3")));
+        for (String name : List.of("events.log", "events.log.1", "events.log.2")) {
+            assertTrue(Files.size(dir.resolve(name)) <= 200);
+        }
+        List<String> newest = Files.readAllLines(log);
+        assertEquals("game 99 started", newest.get(newest.size() - 1));
+    }
+
+    @Test
+    void consoleSinkShouldWriteLines() throws IOException {
+        StringWriter out = new StringWriter();
+        Gomoku game = new Gomoku(null, null, true);
+        try (EventStream events = new EventStream(16, EventStream.Overflow.BLOCK, new ConsoleSink(out))) {
+            long id = events.gameStarted(game);
+            events.place(id, game, Stone.of(7, 7, true));
+            events.place(id, game, Stone.of(7, 7, false));
+            events.drain();
+            assertTrue(out.toString().contains("game 1 rejected O 8 8 duplicate"));
+        }
+        String newline = System.lineSeparator();
+        assertEquals("game 1 started" + newline + "game 1 placed 1 X 8 8" + newline
+                + "game 1 rejected O 8 8 duplicate" + newline, out.toString());
+    }
+
+    @Test
+    void failingSinkShouldBeReportedOnClose() {
+        EventSink broken = event -> {
+            throw new IOException("disk full");
+        };
+        Collecting sink = new Collecting();
+        EventStream events = new EventStream(4, EventStream.Overflow.BLOCK, broken, sink);
+        events.publish(GameEvent.Type.STARTED, 1, GameEvent.NO_MOVE, Gomoku.PLACED, 0);
+        events.publish(GameEvent.Type.STARTED, 2, GameEvent.NO_MOVE, Gomoku.PLACED, 0);
+
+        IOException ex = assertThrows(IOException.class, events::close);
+        assertEquals("disk full", ex.getMessage());
+        assertEquals(2, sink.lines.size());
+        assertThrows(IllegalStateException.class,
+                () -> events.publish(GameEvent.Type.STARTED, 3, GameEvent.NO_MOVE, Gomoku.PLACED, 0));
+    }
+
+    @Test
+    void capacityShouldBeAPowerOfTwo() {
+        assertThrows(IllegalArgumentException.class, () -> new EventStream(100, EventStream.Overflow.BLOCK));
+    }
+
+    private static class Collecting implements EventSink {
+
+        private final List<String> lines = Collections.synchronizedList(new ArrayList<>());
+        private final CountDownLatch release;
+
+        Collecting() {
+            this(new CountDownLatch(0));
+        }
+
+        Collecting(CountDownLatch release) {
+            this.release = release;
+        }
+
+        @Override
+        public void accept(GameEvent event) throws IOException {
+            try {
+                release.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException ex) {
+                throw new IOException(ex);
+            }
+            lines.add(event.toString());
+        }
+    }
+}
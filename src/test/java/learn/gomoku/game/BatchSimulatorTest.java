@@ -0,0 +1,61 @@
+package learn.gomoku.game;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BatchSimulatorTest {
+
+    @Test
+    void gamesShouldReplayThroughGomoku() {
+        BatchSimulator batch = new BatchSimulator(64);
+        SplittableRandom random = new SplittableRandom(1);
+        for (int round = 0; round < 3; round++) {
+            batch.run(random);
+            for (int g = 0; g < batch.games(); g++) {
+                assertReplays(batch, g, Gomoku.WIDTH, Gomoku.WIN_LENGTH);
+            }
+        }
+    }
+
+    @Test
+    void otherSizesShouldReplayThroughGomoku() {
+        BatchSimulator batch = new BatchSimulator(16, 19, 6);
+        batch.run(new SplittableRandom(2));
+        assertEquals(19 * 19, batch.stride());
+        for (int g = 0; g < batch.games(); g++) {
+            assertReplays(batch, g, 19, 6);
+        }
+    }
+
+    @Test
+    void sameSeedShouldGiveSameGames() {
+        BatchSimulator one = new BatchSimulator(32);
+        BatchSimulator two = new BatchSimulator(32);
+        one.run(new SplittableRandom(9));
+        two.run(new SplittableRandom(9));
+        assertArrayEquals(one.lengths(), two.lengths());
+        assertArrayEquals(one.outcomes(), two.outcomes());
+        assertArrayEquals(one.moves(), two.moves());
+    }
+
+    private static void assertReplays(BatchSimulator batch, int g, int width, int winLength) {
+        Gomoku game = new Gomoku(null, null, true, width, winLength);
+        int length = batch.lengths()[g];
+        short[] moves = Arrays.copyOfRange(batch.moves(), g * batch.stride(), g * batch.stride() + length);
+        int status = Gomoku.PLACED;
+        for (int i = 0; i < length; i++) {
+            status = game.place(Moves.pack(moves[i] / width, moves[i] % width, i % 2 == 0));
+            assertTrue(status >= 0);
+            assertEquals(i == length - 1, game.isOver());
+        }
+
+        boolean blackMovedLast = length % 2 == 1;
+        int expected = status == Gomoku.DRAW ? Playout.DRAW
+                : blackMovedLast ? Playout.BLACK_WINS : Playout.WHITE_WINS;
+        assertEquals(expected, batch.outcomes()[g]);
+    }
+}
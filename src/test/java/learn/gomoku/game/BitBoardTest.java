@@ -0,0 +1,144 @@
+package learn.gomoku.game;
+
+import learn.gomoku.players.HumanPlayer;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BitBoardTest {
+
+    private static final int WIDTH = Gomoku.WIDTH;
+
+    @Test
+    void runShouldMatchCountInEveryDirection() {
+        // Fill boards at random and compare each directional run with the char[][] count() scan.
+        Random random = new Random(42);
+        for (int game = 0; game < 200; game++) {
+            BitBoard board = new BitBoard(WIDTH);
+            char[][] grid = new char[WIDTH][WIDTH];
+
+            for (int move = 0; move < WIDTH * WIDTH / 2; move++) {
+                int row = random.nextInt(WIDTH);
+                int col = random.nextInt(WIDTH);
+                if (grid[row][col] != 0) {
+                    continue;
+                }
+                boolean black = random.nextBoolean();
+                grid[row][col] = black ? 'B' : 'W';
+                int cell = row * WIDTH + col;
+                board.set(cell, black);
+
+                assertEquals(count(grid, row, col, 1, 0) + count(grid, row, col, -1, 0) + 1,
+                        board.run(BoardGeometry.VERTICAL, cell, black));
+                assertEquals(count(grid, row, col, 0, 1) + count(grid, row, col, 0, -1) + 1,
+                        board.run(BoardGeometry.HORIZONTAL, cell, black));
+                assertEquals(count(grid, row, col, 1, 1) + count(grid, row, col, -1, -1) + 1,
+                        board.run(BoardGeometry.DIAGONAL_DOWN, cell, black));
+                assertEquals(count(grid, row, col, -1, 1) + count(grid, row, col, 1, -1) + 1,
+                        board.run(BoardGeometry.DIAGONAL_UP, cell, black));
+            }
+        }
+    }
+
+    @Test
+    void gameShouldMatchCountBasedRules() {
+        // Play random games through Gomoku and through a reference copy of the
+        // original char[][] rules; every result should be identical.
+        Random random = new Random(7);
+        for (int game = 0; game < 500; game++) {
+            Gomoku gomoku = new Gomoku(new HumanPlayer("One"), new HumanPlayer("Two"));
+            char[][] grid = new char[WIDTH][WIDTH];
+            int placed = 0;
+            boolean black = true;
+            boolean over = false;
+
+            while (!over) {
+                int row = random.nextInt(WIDTH);
+                int col = random.nextInt(WIDTH);
+                Result result = gomoku.place(new Stone(row, col, gomoku.isBlacksTurn()));
+
+                if (grid[row][col] != 0) {
+                    assertEquals("Duplicate move.", result.getMessage());
+                    continue;
+                }
+                assertTrue(result.isSuccess());
+
+                char symbol = black ? 'B' : 'W';
+                grid[row][col] = symbol;
+                placed++;
+
+                boolean win = count(grid, row, col, 0, 1) + count(grid, row, col, 0, -1) == 4
+                        || count(grid, row, col, 1, 0) + count(grid, row, col, -1, 0) == 4
+                        || count(grid, row, col, 1, 1) + count(grid, row, col, -1, -1) == 4
+                        || count(grid, row, col, -1, 1) + count(grid, row, col, 1, -1) == 4;
+
+                if (win) {
+                    assertTrue(gomoku.isOver());
+                    assertNotNull(gomoku.getWinner());
+                    over = true;
+                } else if (placed == WIDTH * WIDTH) {
+                    assertEquals("Game ends in a draw.", result.getMessage());
+                    assertTrue(gomoku.isOver());
+                    assertNull(gomoku.getWinner());
+                    over = true;
+                } else {
+                    assertFalse(gomoku.isOver());
+                    black = !black;
+                }
+            }
+        }
+    }
+
+    @Test
+    void overlineShouldNotWin() {
+        // Six in a row is not exactly five, which the count() == 4 rule never accepted either.
+        BitBoard board = new BitBoard(WIDTH);
+        for (int col = 0; col < 6; col++) {
+            if (col != 2) {
+                board.set(col, true);
+            }
+        }
+        board.set(2, true);
+        assertEquals(6, board.run(BoardGeometry.HORIZONTAL, 2, true));
+
+        Gomoku game = new Gomoku(new HumanPlayer("Black"), new HumanPlayer("White"), true);
+        int[] blackColumns = {0, 1, 3, 4, 5, 2};
+        for (int i = 0; i < blackColumns.length; i++) {
+            assertTrue(game.place(new Stone(7, blackColumns[i], true)).isSuccess());
+            if (i < blackColumns.length - 1) {
+                assertTrue(game.place(new Stone(14, 2 * i, false)).isSuccess());
+            }
+        }
+        assertEquals(11, game.getMoveCount());
+        assertFalse(game.isOver());
+        assertNull(game.getWinner());
+    }
+
+    @Test
+    void shouldDetectFullBoard() {
+        BitBoard board = new BitBoard(WIDTH);
+        for (int cell = 0; cell < WIDTH * WIDTH; cell++) {
+            assertFalse(board.isFull());
+            board.set(cell, cell % 2 == 0);
+        }
+        assertTrue(board.isFull());
+        assertEquals(WIDTH * WIDTH, board.count());
+    }
+
+    private static int count(char[][] grid, int row, int col, int deltaRow, int deltaCol) {
+        char symbol = grid[row][col];
+        int result = 0;
+        int r = row + deltaRow;
+        int c = col + deltaCol;
+
+        while (r >= 0 && r < WIDTH && c >= 0 && c < WIDTH && grid[r][c] == symbol) {
+            result++;
+            r += deltaRow;
+            c += deltaCol;
+        }
+
+        return result;
+    }
+}
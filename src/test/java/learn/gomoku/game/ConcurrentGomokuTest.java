@@ -0,0 +1,144 @@
+package learn.gomoku.game;
+
+import learn.gomoku.players.Player;
+import learn.gomoku.players.RandomPlayer;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConcurrentGomokuTest {
+
+    private final Player one = new RandomPlayer(1, 9, 4);
+    private final Player two = new RandomPlayer(2, 9, 4);
+
+    @Test
+    void snapshotShouldFollowTheGame() {
+        ConcurrentGomoku game = new ConcurrentGomoku(one, two, true, 9, 4);
+        GameSnapshot start = game.snapshot();
+        assertEquals(0, start.getVersion());
+        assertTrue(game.isBlacksTurn());
+
+        assertEquals(Gomoku.PLACED, game.place(Moves.pack(4, 4, true)));
+        assertEquals(Gomoku.WRONG_PLAYER, game.place(Moves.pack(0, 0, true)));
+        GameSnapshot after = game.snapshot();
+        assertEquals(1, after.getVersion());
+        assertEquals(Gomoku.BLACK, after.stateAt(4, 4));
+        assertEquals(List.of(Stone.of(4, 4, true)), game.getStones());
+        assertFalse(game.isBlacksTurn());
+        assertSame(two, game.getCurrent());
+
+        // older snapshots don't change
+        assertEquals(Gomoku.EMPTY, start.stateAt(4, 4));
+        assertEquals(0, start.getMoveCount());
+
+        assertEquals(Moves.pack(4, 4, true), game.undo());
+        assertEquals(2, game.snapshot().getVersion());
+        assertEquals(1, after.getMoveCount());
+        assertEquals(0, game.snapshot().getMoveCount());
+
+        // nothing left to undo: no change, so no new version
+        GameSnapshot undone = game.snapshot();
+        assertThrows(IllegalStateException.class, game::undo);
+        assertSame(undone, game.snapshot());
+        assertEquals(2, game.snapshot().getVersion());
+    }
+
+    /**
+     * One thread plays random games with undos and resets as fast as it can while readers check that
+     * every snapshot they see is internally consistent.
+     */
+    @Test
+    void readersShouldNeverSeeTornState() throws Exception {
+        int width = 9;
+        ConcurrentGomoku game = new ConcurrentGomoku(one, two, true, width, 4);
+        AtomicBoolean running = new AtomicBoolean(true);
+        int readers = 3;
+        ExecutorService pool = Executors.newFixedThreadPool(readers + 1);
+        try {
+            Future<Long> writer = pool.submit(() -> {
+                // readers stop on this flag, so clear it even if an assertion fails
+                try {
+                    Random random = new Random(7);
+                    Gomoku shadow = new Gomoku(null, null, true, width, 4);
+                    long changes = 0;
+                    long end = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(500);
+                    while (System.nanoTime() < end) {
+                        if (shadow.isOver()) {
+                            game.reset();
+                            shadow = new Gomoku(null, null, true, width, 4);
+                        } else if (shadow.getMoveCount() > 0 && random.nextInt(8) == 0) {
+                            game.undo();
+                            shadow.undo();
+                        } else {
+                            int move = shadow.randomEmptyCell(random);
+                            assertEquals(shadow.place(move), game.place(move));
+                        }
+                        changes++;
+                    }
+                    return changes;
+                } finally {
+                    running.set(false);
+                }
+            });
+
+            Future<?>[] checks = new Future<?>[readers];
+            for (int r = 0; r < readers; r++) {
+                checks[r] = pool.submit(() -> {
+                    long last = -1;
+                    while (running.get()) {
+                        GameSnapshot snapshot = game.snapshot();
+                        assertTrue(snapshot.getVersion() >= last);
+                        last = snapshot.getVersion();
+                        check(snapshot, width);
+                    }
+                    return null;
+                });
+            }
+
+            assertTrue(writer.get() > 0);
+            for (Future<?> check : checks) {
+                check.get();
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private void check(GameSnapshot snapshot, int width) {
+        List<Stone> stones = snapshot.getStones();
+        int count = stones.size();
+        long hash = 0;
+        for (int i = 0; i < count; i++) {
+            Stone stone = stones.get(i);
+            assertEquals(i % 2 == 0, stone.isBlack());
+            assertEquals(stone.isBlack() ? Gomoku.BLACK : Gomoku.WHITE, snapshot.stateAt(stone.getRow(), stone.getColumn()));
+            hash ^= Zobrist.key(stone.getRow() * width + stone.getColumn(), stone.isBlack());
+        }
+        int occupied = 0;
+        for (int row = 0; row < width; row++) {
+            for (int column = 0; column < width; column++) {
+                if (snapshot.stateAt(row, column) != Gomoku.EMPTY) {
+                    occupied++;
+                }
+            }
+        }
+        assertEquals(count, occupied);
+        assertEquals(hash, snapshot.getHash());
+        // reset() picks the first player at random, so only the winner can be tied to the current player
+        if (snapshot.isOver()) {
+            assertEquals(count % 2 == 1, snapshot.isBlacksTurn());
+            assertTrue(snapshot.getWinner() == null || snapshot.getWinner() == snapshot.getCurrent());
+        } else {
+            assertEquals(count % 2 == 0, snapshot.isBlacksTurn());
+            assertNull(snapshot.getWinner());
+        }
+    }
+}
@@ -6,7 +6,11 @@ import learn.gomoku.GameController;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.util.List;
+import java.util.PrimitiveIterator;
+import java.util.Random;
 import java.util.Scanner;
+import java.util.SplittableRandom;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -237,6 +241,7 @@ class GomokuTest {
         // Check that the game is in fact over and that the winner was the black player.
         assertTrue(game.isOver());
         assertEquals(black, game.getWinner());
+        assertFalse(game.isDraw());
     }
 
     @Test
@@ -297,6 +302,7 @@ class GomokuTest {
         // Check that the game is in fact over and that there wasn't a winner.
         assertTrue(game.isOver());
         assertNull(game.getWinner());
+        assertTrue(game.isDraw());
     }
 
     @Test
@@ -359,4 +365,223 @@ class GomokuTest {
         assertFalse(result.isSuccess());
         assertEquals("Game is over.", result.getMessage());
     }
+
+    @Test
+    void packedPlaceShouldReportStatusCodes() {
+        // The primitive API applies the same rules as place(Stone) but returns a status code.
+        assertEquals(Gomoku.WRONG_PLAYER, game.place(Moves.pack(5, 5, false)));
+        assertEquals(Gomoku.OFF_BOARD, game.place(Moves.pack(Gomoku.WIDTH, 0, true)));
+        assertEquals(Gomoku.PLACED, game.place(Moves.pack(5, 5, true)));
+        assertEquals(Gomoku.DUPLICATE, game.place(Moves.pack(5, 5, false)));
+
+        for (int col = 0; col < 4; col++) {
+            assertEquals(Gomoku.PLACED, game.place(Moves.pack(6, col, false)));
+            if (col < 3) {
+                assertEquals(Gomoku.PLACED, game.place(Moves.pack(0, col, true)));
+            }
+        }
+        assertEquals(Gomoku.PLACED, game.place(Moves.pack(0, 3, true)));
+        assertEquals(Gomoku.WIN, game.place(Moves.pack(6, 4, false)));
+        assertEquals(Gomoku.GAME_OVER, game.place(Moves.pack(7, 7, true)));
+        assertEquals(10, game.getStones().size());
+    }
+
+    @Test
+    void shouldReuseResults() {
+        // Successful and failed placements hand back shared Result instances instead of allocating.
+        Result first = game.place(new Stone(0, 0, game.isBlacksTurn()));
+        Result second = game.place(new Stone(1, 0, game.isBlacksTurn()));
+        assertSame(first, second);
+
+        Result duplicate = game.place(new Stone(0, 0, game.isBlacksTurn()));
+        assertSame(duplicate, game.place(new Stone(1, 0, game.isBlacksTurn())));
+    }
+
+    @Test
+    void stonesViewShouldBeReadOnlySnapshot() {
+        // getStones() no longer copies, but the list it returns still can't change underneath the caller.
+        game.place(new Stone(0, 0, game.isBlacksTurn()));
+        List<Stone> before = game.getStones();
+        game.place(new Stone(1, 0, game.isBlacksTurn()));
+
+        assertEquals(1, before.size());
+        assertEquals(2, game.getStones().size());
+        assertEquals(2, game.getMoveCount());
+        assertEquals(Moves.pack(1, 0, false), game.getMove(1));
+        assertThrows(UnsupportedOperationException.class, () -> before.add(new Stone(2, 2, true)));
+    }
+
+    @Test
+    void resetShouldStartNewGameAndKeepOldViews() {
+        game.place(new Stone(0, 0, game.isBlacksTurn()));
+        game.place(new Stone(1, 0, game.isBlacksTurn()));
+        List<Stone> oldGame = game.getStones();
+
+        game.reset();
+        assertEquals(0, game.getStones().size());
+        assertTrue(game.isBlacksTurn());
+        assertFalse(game.isOver());
+
+        // Placing into the new game must not show through a view of the old one.
+        assertTrue(game.place(new Stone(7, 7, true)).isSuccess());
+        assertEquals(2, oldGame.size());
+        assertEquals(0, oldGame.get(0).getRow());
+        assertEquals(1, oldGame.get(1).getRow());
+        assertEquals(7, game.getStones().get(0).getRow());
+    }
+
+    @Test
+    void hashShouldDependOnPositionNotMoveOrder() {
+        Gomoku other = new Gomoku(one, two);
+        assertEquals(0, game.getHash());
+
+        game.place(new Stone(3, 3, true));
+        game.place(new Stone(4, 4, false));
+        game.place(new Stone(5, 5, true));
+
+        other.place(new Stone(5, 5, true));
+        other.place(new Stone(4, 4, false));
+        assertNotEquals(game.getHash(), other.getHash());
+        other.place(new Stone(3, 3, true));
+        assertEquals(game.getHash(), other.getHash());
+
+        game.undo();
+        game.undo();
+        game.undo();
+        assertEquals(0, game.getHash());
+    }
+
+    @Test
+    void stonesShouldCompareByValue() {
+        assertEquals(new Stone(1, 2, true), Stone.of(1, 2, true));
+        assertEquals(new Stone(1, 2, true).hashCode(), Stone.of(1, 2, true).hashCode());
+        assertNotEquals(new Stone(1, 2, true), new Stone(1, 2, false));
+    }
+
+    @Test
+    void legalMovesShouldBeExactlyTheEmptyCells() {
+        int cells = Gomoku.WIDTH * Gomoku.WIDTH;
+        assertEquals(cells, game.getLegalMoveCount());
+
+        game.place(new Stone(7, 7, true));
+        game.place(new Stone(7, 8, false));
+        assertEquals(cells - 2, game.getLegalMoveCount());
+
+        boolean[] seen = new boolean[cells];
+        PrimitiveIterator.OfInt moves = game.legalMoves();
+        while (moves.hasNext()) {
+            int move = moves.nextInt();
+            assertTrue(Moves.isBlack(move));
+            assertTrue(game.isEmpty(Moves.row(move), Moves.column(move)));
+            seen[Moves.row(move) * Gomoku.WIDTH + Moves.column(move)] = true;
+        }
+        assertEquals(cells - 2, count(seen));
+
+        game.undo();
+        assertEquals(cells - 1, game.getLegalMoveCount());
+        assertFalse(Moves.isBlack(game.getLegalMove(0)));
+        game.reset();
+        assertEquals(cells, game.getLegalMoveCount());
+    }
+
+    @Test
+    void randomEmptyCellShouldAlwaysBeLegal() {
+        Random random = new Random(3);
+        while (!game.isOver()) {
+            assertTrue(game.place(game.randomEmptyCell(random)) >= 0);
+        }
+        assertEquals(0, game.getLegalMoveCount());
+        assertFalse(game.legalMoves().hasNext());
+        assertThrows(IllegalStateException.class, () -> game.randomEmptyCell(random));
+    }
+
+    @Test
+    void connectSixShouldNeedExactlySix() {
+        Gomoku connectSix = new Gomoku(one, two, true, 19, 6);
+        assertEquals(19, connectSix.getWidth());
+        assertEquals(6, connectSix.getWinLength());
+        assertEquals(19 * 19, connectSix.getLegalMoveCount());
+
+        // black builds 18,0 .. 18,5 along the bottom row; white plays along the top
+        for (int col = 0; col < 5; col++) {
+            assertEquals(Gomoku.PLACED, connectSix.place(Moves.pack(18, col, true)));
+            assertEquals(Gomoku.PLACED, connectSix.place(Moves.pack(0, col * 2, false)));
+        }
+        assertFalse(connectSix.isOver());
+        assertEquals(Gomoku.WIN, connectSix.place(Moves.pack(18, 5, true)));
+        assertSame(one, connectSix.getWinner());
+        assertEquals(Gomoku.OFF_BOARD, new Gomoku(one, two, true, 19, 6).place(Moves.pack(19, 0, true)));
+    }
+
+    @Test
+    void largeBoardShouldUseEveryCell() {
+        Gomoku large = new Gomoku(one, two, true, 64, 5);
+        assertTrue(large.place(new Stone(63, 63, true)).isSuccess());
+        assertTrue(large.place(new Stone(0, 63, false)).isSuccess());
+        assertFalse(large.place(new Stone(64, 0, true)).isSuccess());
+        for (int row = 59; row < 63; row++) {
+            large.place(Moves.pack(row, row, true));
+            large.place(Moves.pack(row, 0, false));
+        }
+        assertSame(one, large.getWinner());
+
+        large.undo();
+        assertFalse(large.isOver());
+        assertTrue(large.isEmpty(62, 62));
+        assertEquals(64 * 64 - 8, large.getLegalMoveCount());
+    }
+
+    @Test
+    void shouldRejectBadDimensions() {
+        assertThrows(IllegalArgumentException.class, () -> new Gomoku(one, two, 65, 5));
+        assertThrows(IllegalArgumentException.class, () -> new Gomoku(one, two, 15, 16));
+        assertThrows(IllegalArgumentException.class, () -> new Gomoku(one, two, 15, 1));
+        assertThrows(IllegalArgumentException.class, () -> Gomoku.checkDimensions(0, 2));
+        assertThrows(IllegalArgumentException.class, () -> Gomoku.checkDimensions(19, 20));
+        Gomoku.checkDimensions(64, 64);
+    }
+
+    @Test
+    void sameSeedShouldPickSameFirstPlayers() {
+        Gomoku first = new Gomoku(one, two, Gomoku.WIDTH, Gomoku.WIN_LENGTH, new SplittableRandom(42));
+        Gomoku second = new Gomoku(one, two, Gomoku.WIDTH, Gomoku.WIN_LENGTH, new SplittableRandom(42));
+        boolean[] started = new boolean[2];
+        for (int i = 0; i < 50; i++) {
+            assertSame(first.getCurrent(), second.getCurrent());
+            started[first.getCurrent() == one ? 0 : 1] = true;
+            first.reset();
+            second.reset();
+        }
+        assertEquals(2, count(started));
+    }
+
+    @Test
+    void viewShouldFollowTheGame() {
+        Gomoku game = new Gomoku(one, two, true);
+        BoardView view = game.view();
+        assertSame(view, game.view());
+        assertTrue(view.isBlacksTurn());
+
+        game.place(Stone.of(7, 7, true));
+        assertEquals(1, view.getMoveCount());
+        assertEquals(Gomoku.BLACK, view.stateAt(7, 7));
+        assertFalse(view.isEmpty(7, 7));
+        assertFalse(view.isBlacksTurn());
+        assertEquals(game.getHash(), view.getHash());
+        assertEquals(Gomoku.WIDTH * Gomoku.WIDTH - 1, view.getLegalMoveCount());
+
+        game.undo();
+        assertEquals(0, view.getMoveCount());
+        assertTrue(view.isEmpty(7, 7));
+    }
+
+    private static int count(boolean[] values) {
+        int count = 0;
+        for (boolean value : values) {
+            if (value) {
+                count++;
+            }
+        }
+        return count;
+    }
 }
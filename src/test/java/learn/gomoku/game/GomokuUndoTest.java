@@ -0,0 +1,134 @@
+package learn.gomoku.game;
+
+import learn.gomoku.players.HumanPlayer;
+import learn.gomoku.players.Player;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GomokuUndoTest {
+
+    private final HumanPlayer one = new HumanPlayer("Dori");
+    private final HumanPlayer two = new HumanPlayer("Nemo");
+
+    @Test
+    void undoShouldRestoreStartingPosition() {
+        Gomoku game = new Gomoku(one, two);
+        Player first = game.getCurrent();
+
+        assertTrue(game.place(new Stone(7, 7, true)).isSuccess());
+        assertEquals(Moves.pack(7, 7, true), game.undo());
+
+        assertEquals(0, game.getMoveCount());
+        assertTrue(game.isBlacksTurn());
+        assertSame(first, game.getCurrent());
+        assertTrue(game.place(new Stone(7, 7, true)).isSuccess());
+    }
+
+    @Test
+    void undoShouldReopenFinishedGame() {
+        Gomoku game = new Gomoku(one, two);
+        Player black = game.getCurrent();
+        for (int col = 0; col < 4; col++) {
+            game.place(new Stone(0, col, true));
+            game.place(new Stone(1, col, false));
+        }
+        game.place(new Stone(0, 4, true));
+        assertTrue(game.isOver());
+        assertSame(black, game.getWinner());
+
+        game.undo();
+        assertFalse(game.isOver());
+        assertNull(game.getWinner());
+        assertTrue(game.isBlacksTurn());
+        assertSame(black, game.getCurrent());
+    }
+
+    @Test
+    void shouldNotUndoEmptyGame() {
+        assertThrows(IllegalStateException.class, () -> new Gomoku(one, two).undo());
+    }
+
+    @Test
+    void undoShouldMatchReplayFromScratch() {
+        // Fuzz: interleave random moves and undos, then compare every observable piece of state
+        // with a fresh game that replays only the moves still on the board.
+        Random random = new Random(2024);
+        for (int round = 0; round < 300; round++) {
+            Gomoku game = new Gomoku(one, two, true);
+
+            for (int step = 0; step < 400; step++) {
+                if (game.getMoveCount() > 0 && (game.isOver() || random.nextInt(3) == 0)) {
+                    game.undo();
+                } else {
+                    int move = Moves.pack(random.nextInt(Gomoku.WIDTH), random.nextInt(Gomoku.WIDTH), game.isBlacksTurn());
+                    game.place(move);
+                }
+                assertSameState(replay(game), game);
+            }
+        }
+    }
+
+    private Gomoku replay(Gomoku game) {
+        Gomoku fresh = new Gomoku(one, two, true);
+        for (int i = 0; i < game.getMoveCount(); i++) {
+            assertTrue(fresh.place(game.getMove(i)) >= 0);
+        }
+        return fresh;
+    }
+
+    private static void assertSameState(Gomoku expected, Gomoku actual) {
+        assertEquals(expected.getMoveCount(), actual.getMoveCount());
+        assertEquals(expected.isBlacksTurn(), actual.isBlacksTurn());
+        assertSame(expected.getCurrent(), actual.getCurrent());
+        assertEquals(expected.isOver(), actual.isOver());
+        assertSame(expected.getWinner(), actual.getWinner());
+        assertEquals(expected.getHash(), actual.getHash());
+        for (int row = 0; row < Gomoku.WIDTH; row++) {
+            for (int col = 0; col < Gomoku.WIDTH; col++) {
+                assertEquals(expected.stateAt(row, col), actual.stateAt(row, col));
+            }
+        }
+        for (Threat threat : Threat.values()) {
+            for (boolean black : new boolean[]{true, false}) {
+                assertEquals(expected.getThreatCount(threat, black), actual.getThreatCount(threat, black));
+            }
+        }
+        assertEquals(expected.getOpenFours(true), actual.getOpenFours(true));
+        assertEquals(expected.getOpenFours(false), actual.getOpenFours(false));
+    }
+
+    @Test
+    void rewindCountShouldOnlyChangeWhenMovesAreTakenBack() {
+        Gomoku game = new Gomoku(null, null, true, 12, 5);
+        long start = game.getRewindCount();
+        game.place(Moves.pack(0, 0, true));
+        assertEquals(start, game.getRewindCount());
+        game.undo();
+        assertEquals(start + 1, game.getRewindCount());
+        game.reset();
+        assertEquals(start + 2, game.getRewindCount());
+    }
+
+    @Test
+    void sharedPrefixShouldBeKnownOnlyWithinOneArray() {
+        Gomoku game = new Gomoku(null, null, true);
+        game.place(Moves.pack(0, 0, true));
+        game.place(Moves.pack(1, 1, false));
+        List<Stone> two = game.getStones();
+        game.place(Moves.pack(2, 2, true));
+        List<Stone> three = game.getStones();
+        assertEquals(2, Gomoku.sharedPrefix(two, three));
+        assertEquals(2, Gomoku.sharedPrefix(three, two));
+
+        game.undo();
+        assertEquals(2, Gomoku.sharedPrefix(three, game.getStones()));
+        // this overwrites a slot the three-move list still shows
+        game.place(Moves.pack(3, 3, true));
+        assertEquals(-1, Gomoku.sharedPrefix(three, game.getStones()));
+        assertEquals(-1, Gomoku.sharedPrefix(List.copyOf(two), three));
+    }
+}
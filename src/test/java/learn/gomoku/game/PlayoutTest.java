@@ -0,0 +1,82 @@
+package learn.gomoku.game;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PlayoutTest {
+
+    private static final int WIDTH = Gomoku.WIDTH;
+
+    @Test
+    void playShouldAgreeWithGomoku() {
+        // Drive a playout and a real game with the same random empty cells; every move must be legal
+        // and both must report the same status.
+        SplittableRandom random = new SplittableRandom(7);
+        Playout playout = new Playout();
+        for (int round = 0; round < 200; round++) {
+            Gomoku game = new Gomoku(null, null, true);
+            game.place(Moves.pack(7, 7, true));
+            game.place(Moves.pack(7, 8, false));
+            playout.load(game);
+
+            int status = Gomoku.PLACED;
+            while (status == Gomoku.PLACED) {
+                assertEquals(game.isBlacksTurn(), playout.isBlacksTurn());
+                int cell = playout.emptyCell(random.nextInt(playout.emptyCount()));
+                int expected = game.place(Moves.pack(cell / WIDTH, cell % WIDTH, game.isBlacksTurn()));
+                status = playout.play(cell);
+                assertEquals(expected, status);
+            }
+            assertEquals(game.getMoveCount(), WIDTH * WIDTH - playout.emptyCount());
+        }
+    }
+
+    @Test
+    void playRandomShouldFinishGameAndRewind() {
+        SplittableRandom random = new SplittableRandom(11);
+        Gomoku game = new Gomoku(null, null, true);
+        game.place(Moves.pack(7, 7, true));
+        Playout playout = new Playout();
+        playout.load(game);
+
+        for (int round = 0; round < 100; round++) {
+            int outcome = playout.playRandom(random);
+            assertTrue(outcome == Playout.DRAW || outcome == Playout.BLACK_WINS || outcome == Playout.WHITE_WINS);
+            assertTrue(playout.emptyCount() < WIDTH * WIDTH - 1);
+
+            playout.rewind();
+            assertEquals(WIDTH * WIDTH - 1, playout.emptyCount());
+            assertFalse(playout.isBlacksTurn());
+            assertFalse(playout.isEmpty(7 * WIDTH + 7));
+        }
+    }
+
+    @Test
+    void playShouldReportWinAndRewindShouldRestore() {
+        Gomoku game = new Gomoku(null, null, true);
+        int[][] moves = {{3, 3}, {0, 0}, {3, 4}, {0, 2}, {3, 5}, {0, 4}, {3, 6}, {0, 6}};
+        for (int i = 0; i < moves.length; i++) {
+            game.place(Moves.pack(moves[i][0], moves[i][1], i % 2 == 0));
+        }
+
+        Playout playout = new Playout();
+        playout.load(game);
+        assertTrue(playout.isBlacksTurn());
+        assertEquals(WIDTH * WIDTH - moves.length, playout.emptyCount());
+
+        assertEquals(Gomoku.PLACED, playout.play(10 * WIDTH + 10));
+        assertEquals(Gomoku.PLACED, playout.play(10 * WIDTH + 11));
+        assertEquals(Gomoku.WIN, playout.play(3 * WIDTH + 7));
+        assertTrue(playout.isBlacksTurn());
+
+        playout.rewind();
+        assertTrue(playout.isBlacksTurn());
+        assertEquals(WIDTH * WIDTH - moves.length, playout.emptyCount());
+        assertTrue(playout.isEmpty(10 * WIDTH + 10));
+        assertFalse(playout.isEmpty(3 * WIDTH + 3));
+        assertEquals(Gomoku.WIN, playout.play(3 * WIDTH + 7));
+    }
+}
@@ -0,0 +1,93 @@
+package learn.gomoku.game;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SymmetryTest {
+
+    @Test
+    void transformsShouldBeDistinctAndInvertible() {
+        int width = 15;
+        Set<Integer> images = new HashSet<>();
+        for (int t = 0; t < Symmetry.COUNT; t++) {
+            images.add(Symmetry.cell(t, 2 * width + 3, width));
+            for (int cell = 0; cell < width * width; cell++) {
+                int image = Symmetry.cell(t, cell, width);
+                assertTrue(image >= 0 && image < width * width);
+                assertEquals(cell, Symmetry.cell(Symmetry.inverse(t), image, width));
+            }
+        }
+        assertEquals(Symmetry.COUNT, images.size());
+        assertEquals(2 * width + 3, Symmetry.cell(Symmetry.IDENTITY, 2 * width + 3, width));
+    }
+
+    @Test
+    void hashShouldMatchTransformedGame() {
+        int width = 9;
+        int[] cells = {40, 41, 12, 70, 3};
+        Gomoku game = new Gomoku(null, null, true, width, 5);
+        for (int cell : cells) {
+            game.place(Moves.pack(cell / width, cell % width, game.isBlacksTurn()));
+        }
+        assertEquals(game.getHash(), Symmetry.hash(game, Symmetry.IDENTITY));
+
+        for (int t = 0; t < Symmetry.COUNT; t++) {
+            Gomoku transformed = new Gomoku(null, null, true, width, 5);
+            for (int i = 0; i < game.getMoveCount(); i++) {
+                assertEquals(Gomoku.PLACED, transformed.place(Symmetry.move(t, game.getMove(i), width)));
+            }
+            assertEquals(transformed.getHash(), Symmetry.hash(game, t));
+        }
+    }
+
+    @Test
+    void everyOrientationShouldHaveTheSameCanonicalForm() {
+        int width = 11;
+        int[] cells = {60, 61, 13, 72, 5, 100, 33};
+        List<Stone> history = new ArrayList<>();
+        Gomoku game = new Gomoku(null, null, true, width, 5);
+        for (int cell : cells) {
+            int move = Moves.pack(cell / width, cell % width, game.isBlacksTurn());
+            game.place(move);
+            history.add(Moves.toStone(move));
+        }
+        long canonical = Symmetry.canonicalHash(game);
+
+        for (int t = 0; t < Symmetry.COUNT; t++) {
+            List<Stone> transformed = Symmetry.transform(history, t, width);
+            Gomoku other = new Gomoku(null, null, true, width, 5);
+            for (Stone stone : transformed) {
+                other.place(Moves.pack(stone));
+            }
+            assertEquals(canonical, Symmetry.canonicalHash(other));
+            assertEquals(Symmetry.canonicalTransform(other), Symmetry.canonicalTransform(transformed, width));
+
+            int[] moves = new int[transformed.size()];
+            int used = Symmetry.canonicalize(transformed, width, moves);
+            Gomoku result = new Gomoku(null, null, true, width, 5);
+            for (int i = 0; i < moves.length; i++) {
+                assertEquals(transformed.get(i), Moves.toStone(Symmetry.move(Symmetry.inverse(used), moves[i], width)));
+                result.place(moves[i]);
+            }
+            assertEquals(canonical, result.getHash());
+        }
+    }
+
+    @Test
+    void symmetricPositionShouldUseLowestTransform() {
+        Gomoku game = new Gomoku(null, null, true, 15, 5);
+        assertEquals(Symmetry.IDENTITY, Symmetry.canonicalTransform(game));
+        game.place(Moves.pack(7, 7, true));
+        assertEquals(Symmetry.IDENTITY, Symmetry.canonicalTransform(game));
+        assertThrows(IllegalArgumentException.class,
+                () -> Symmetry.canonicalTransform(List.of(Stone.of(1, 1, true), Stone.of(1, 1, false)), 15));
+        assertThrows(IllegalArgumentException.class,
+                () -> Symmetry.canonicalTransform(List.of(Stone.of(15, 1, true)), 15));
+    }
+}
@@ -0,0 +1,201 @@
+package learn.gomoku.game;
+
+import learn.gomoku.players.HumanPlayer;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ThreatIndexTest {
+
+    private static final int WIDTH = Gomoku.WIDTH;
+    private static final int[][] DIRECTIONS = {{0, 1}, {1, 0}, {1, 1}, {-1, 1}};
+
+    @Test
+    void shouldFindFiveAndOpenFourCells() {
+        Gomoku game = new Gomoku(new HumanPlayer("One"), new HumanPlayer("Two"));
+        // Black: three in a row at (7,5)-(7,7). White plays far away.
+        play(game, 7, 5);
+        play(game, 0, 0);
+        play(game, 7, 6);
+        play(game, 0, 2);
+        play(game, 7, 7);
+
+        // (7,4) and (7,8) each make an open four for black; nothing wins yet.
+        assertEquals(0, game.getThreatCount(Threat.FIVE, true));
+        assertTrue(game.isThreat(Threat.OPEN_FOUR, true, 7, 4));
+        assertTrue(game.isThreat(Threat.OPEN_FOUR, true, 7, 8));
+
+        play(game, 0, 4);
+        play(game, 7, 8);
+
+        // Now black has an open four, and both ends win.
+        assertEquals(1, game.getOpenFours(true));
+        assertEquals(2, game.getThreatCount(Threat.FIVE, true));
+        assertTrue(game.isThreat(Threat.FIVE, true, 7, 4));
+        assertTrue(game.isThreat(Threat.FIVE, true, 7, 9));
+
+        // White blocks one end: no longer open, one winning cell left.
+        play(game, 7, 4);
+        assertEquals(0, game.getOpenFours(true));
+        assertEquals(1, game.getThreatCount(Threat.FIVE, true));
+        assertEquals(Moves.pack(7, 9, true), game.getThreatMove(Threat.FIVE, true, 0));
+    }
+
+    @Test
+    void overlineCellShouldNotCountAsFive() {
+        Gomoku game = new Gomoku(new HumanPlayer("One"), new HumanPlayer("Two"));
+        // Black X X _ X X X: filling the gap makes six, which doesn't win.
+        int[] blackColumns = {0, 1, 3, 4, 5};
+        for (int i = 0; i < blackColumns.length; i++) {
+            play(game, 5, blackColumns[i]);
+            play(game, 10, i * 2);
+        }
+        assertFalse(game.isThreat(Threat.FIVE, true, 5, 2));
+        assertEquals(0, game.getThreatCount(Threat.FIVE, true));
+    }
+
+    @Test
+    void incrementalIndexShouldMatchFullScan() {
+        Random random = new Random(11);
+        for (int round = 0; round < 100; round++) {
+            Gomoku game = new Gomoku(new HumanPlayer("One"), new HumanPlayer("Two"));
+            game.getThreatCount(Threat.FIVE, true); // start maintaining the index from the first move
+            char[][] grid = new char[WIDTH][WIDTH];
+
+            while (!game.isOver()) {
+                int row = random.nextInt(WIDTH);
+                int col = random.nextInt(WIDTH);
+                if (grid[row][col] != 0) {
+                    continue;
+                }
+                grid[row][col] = game.isBlacksTurn() ? 'B' : 'W';
+                play(game, row, col);
+
+                for (boolean black : new boolean[]{true, false}) {
+                    char own = black ? 'B' : 'W';
+                    assertEquals(scanFives(grid, own), threatSet(game, Threat.FIVE, black));
+                    assertEquals(scanOpenFourMoves(grid, own), threatSet(game, Threat.OPEN_FOUR, black));
+                    assertEquals(scanOpenFours(grid, own), game.getOpenFours(black));
+                }
+            }
+        }
+    }
+
+    private static void play(Gomoku game, int row, int col) {
+        assertTrue(game.place(new Stone(row, col, game.isBlacksTurn())).isSuccess());
+    }
+
+    private static Set<Integer> threatSet(Gomoku game, Threat threat, boolean black) {
+        Set<Integer> result = new HashSet<>();
+        for (int i = 0; i < game.getThreatCount(threat, black); i++) {
+            int move = game.getThreatMove(threat, black, i);
+            result.add(Moves.row(move) * WIDTH + Moves.column(move));
+        }
+        return result;
+    }
+
+    // Brute-force reference: try every empty cell on a char grid.
+
+    private static Set<Integer> scanFives(char[][] grid, char own) {
+        Set<Integer> result = new HashSet<>();
+        for (int row = 0; row < WIDTH; row++) {
+            for (int col = 0; col < WIDTH; col++) {
+                if (grid[row][col] != 0) {
+                    continue;
+                }
+                grid[row][col] = own;
+                for (int[] d : DIRECTIONS) {
+                    if (run(grid, row, col, d) == 5) {
+                        result.add(row * WIDTH + col);
+                    }
+                }
+                grid[row][col] = 0;
+            }
+        }
+        return result;
+    }
+
+    private static Set<Integer> scanOpenFourMoves(char[][] grid, char own) {
+        Set<Integer> result = new HashSet<>();
+        for (int row = 0; row < WIDTH; row++) {
+            for (int col = 0; col < WIDTH; col++) {
+                if (grid[row][col] != 0) {
+                    continue;
+                }
+                grid[row][col] = own;
+                for (int[] d : DIRECTIONS) {
+                    if (isOpenFour(grid, row, col, d)) {
+                        result.add(row * WIDTH + col);
+                    }
+                }
+                grid[row][col] = 0;
+            }
+        }
+        return result;
+    }
+
+    private static int scanOpenFours(char[][] grid, char own) {
+        int result = 0;
+        for (int row = 0; row < WIDTH; row++) {
+            for (int col = 0; col < WIDTH; col++) {
+                if (grid[row][col] != own) {
+                    continue;
+                }
+                for (int[] d : DIRECTIONS) {
+                    // count each run once, from its first stone
+                    if (!isOwn(grid, row - d[0], col - d[1], own) && isOpenFour(grid, row, col, d)) {
+                        result++;
+                    }
+                }
+            }
+        }
+        return result;
+    }
+
+    private static boolean isOpenFour(char[][] grid, int row, int col, int[] d) {
+        char own = grid[row][col];
+        if (run(grid, row, col, d) != 4) {
+            return false;
+        }
+        int back = count(grid, row, col, -d[0], -d[1]);
+        int forward = count(grid, row, col, d[0], d[1]);
+        int r1 = row - (back + 1) * d[0];
+        int c1 = col - (back + 1) * d[1];
+        int r2 = row + (forward + 1) * d[0];
+        int c2 = col + (forward + 1) * d[1];
+        return isEmpty(grid, r1, c1) && isEmpty(grid, r2, c2)
+                && !isOwn(grid, r1 - d[0], c1 - d[1], own)
+                && !isOwn(grid, r2 + d[0], c2 + d[1], own);
+    }
+
+    private static int run(char[][] grid, int row, int col, int[] d) {
+        return count(grid, row, col, d[0], d[1]) + count(grid, row, col, -d[0], -d[1]) + 1;
+    }
+
+    private static boolean isEmpty(char[][] grid, int row, int col) {
+        return row >= 0 && row < WIDTH && col >= 0 && col < WIDTH && grid[row][col] == 0;
+    }
+
+    private static boolean isOwn(char[][] grid, int row, int col, char own) {
+        return row >= 0 && row < WIDTH && col >= 0 && col < WIDTH && grid[row][col] == own;
+    }
+
+    private static int count(char[][] grid, int row, int col, int deltaRow, int deltaCol) {
+        char symbol = grid[row][col];
+        int result = 0;
+        int r = row + deltaRow;
+        int c = col + deltaCol;
+
+        while (r >= 0 && r < WIDTH && c >= 0 && c < WIDTH && grid[r][c] == symbol) {
+            result++;
+            r += deltaRow;
+            c += deltaCol;
+        }
+
+        return result;
+    }
+}
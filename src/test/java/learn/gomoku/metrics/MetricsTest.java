@@ -0,0 +1,104 @@
+package learn.gomoku.metrics;
+
+import learn.gomoku.game.Gomoku;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MetricsTest {
+
+    @Test
+    void bucketsShouldCoverEveryValueInOrder() {
+        int last = -1;
+        for (long value = 0; value < 1 << 20; value++) {
+            int bucket = Histogram.bucket(value);
+            assertTrue(bucket == last || bucket == last + 1);
+            assertTrue(value <= Histogram.highest(bucket));
+            last = bucket;
+        }
+        long big = Long.MAX_VALUE;
+        assertEquals(big, Histogram.highest(Histogram.bucket(big)));
+    }
+
+    @Test
+    void percentilesShouldBeWithinThreePercent() {
+        Histogram histogram = new Histogram("test");
+        for (long value = 1; value <= 100_000; value++) {
+            histogram.record(value);
+        }
+        assertEquals(100_000, histogram.count());
+        assertEquals(50_000.5, histogram.mean(), 1e-9);
+        assertEquals(100_000, histogram.max());
+        assertEquals(100_000, histogram.percentile(1.0));
+        assertEquals(50_000, histogram.percentile(0.5), 50_000 * 0.03);
+        assertEquals(99_000, histogram.percentile(0.99), 99_000 * 0.03);
+        assertEquals(1, histogram.percentile(0.0));
+
+        histogram.reset();
+        assertEquals(0, histogram.count());
+        assertEquals(0, histogram.percentile(0.5));
+    }
+
+    @Test
+    void concurrentUpdatesShouldAllCount() throws Exception {
+        Counter counter = new Counter("test");
+        Histogram histogram = new Histogram("test");
+        ExecutorService pool = Executors.newFixedThreadPool(4);
+        try {
+            Future<?>[] tasks = new Future<?>[4];
+            for (int t = 0; t < tasks.length; t++) {
+                tasks[t] = pool.submit(() -> {
+                    for (int i = 0; i < 100_000; i++) {
+                        counter.increment();
+                        histogram.record(i);
+                    }
+                });
+            }
+            for (Future<?> task : tasks) {
+                task.get();
+            }
+        } finally {
+            pool.shutdown();
+        }
+        assertEquals(400_000, counter.sum());
+        assertEquals(400_000, histogram.count());
+        assertEquals(99_999, histogram.max());
+    }
+
+    @Test
+    void exportsShouldListEveryMetric() {
+        Metrics.reset();
+        Metrics.PLACED.add(3);
+        Metrics.GAME_MOVES.record(42);
+
+        String text = Metrics.toText();
+        assertTrue(text.contains("place.placed 3\n"));
+        assertTrue(text.contains("game.moves count=1 mean=42.0 p50=42 "));
+        assertEquals(Metrics.counters().size() + Metrics.histograms().size(), text.split("\n").length);
+
+        String json = Metrics.toJson();
+        assertTrue(json.startsWith("{\"counters\":{\"place.placed\":3,"));
+        assertTrue(json.contains("\"game.moves\":{\"count\":1,\"mean\":42.0,\"p50\":42,"));
+        assertTrue(json.endsWith("}}"));
+        Metrics.reset();
+    }
+
+    @Test
+    void countPlaceShouldCountEachStatusUnderItsOwnName() {
+        Metrics.reset();
+        for (int status : new int[]{Gomoku.PLACED, Gomoku.PLACED, Gomoku.WIN, Gomoku.DRAW, Gomoku.OFF_BOARD,
+                Gomoku.WRONG_PLAYER, Gomoku.DUPLICATE, Gomoku.GAME_OVER}) {
+            Metrics.countPlace(status);
+        }
+        assertEquals(2, Metrics.PLACED.sum());
+        for (Counter counter : new Counter[]{Metrics.WINS, Metrics.DRAWS, Metrics.OFF_BOARD,
+                Metrics.WRONG_PLAYER, Metrics.DUPLICATE, Metrics.GAME_OVER}) {
+            assertEquals(1, counter.sum(), counter.getName());
+        }
+        Metrics.reset();
+    }
+}
@@ -0,0 +1,65 @@
+package learn.gomoku.players;
+
+import learn.gomoku.game.Gomoku;
+import learn.gomoku.game.Stone;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GameMirrorTest {
+
+    @Test
+    void shouldRewindHistoryThatDivergesEarly() {
+        GameMirror mirror = new GameMirror();
+        mirror.sync(List.of(Stone.of(0, 0, true), Stone.of(1, 1, false), Stone.of(2, 2, true)));
+
+        // same first and last move, different middle one
+        Gomoku game = mirror.sync(List.of(Stone.of(0, 0, true), Stone.of(3, 3, false), Stone.of(2, 2, true)));
+        assertEquals(3, game.getMoveCount());
+        assertTrue(game.isEmpty(1, 1));
+        assertEquals(Gomoku.WHITE, game.stateAt(3, 3));
+    }
+
+    @Test
+    void randomPlayerShouldNotProposeAnOccupiedCell() {
+        List<Stone> first = List.of(Stone.of(0, 0, true), Stone.of(1, 1, false), Stone.of(2, 2, true));
+        List<Stone> second = List.of(Stone.of(0, 0, true), Stone.of(3, 3, false), Stone.of(2, 2, true));
+        for (long seed = 0; seed < 200; seed++) {
+            RandomPlayer player = new RandomPlayer(seed);
+            player.generateMove(first);
+            Stone move = player.generateMove(second);
+            assertFalse(second.stream().anyMatch(stone -> stone.getRow() == move.getRow()
+                    && stone.getColumn() == move.getColumn()), move.toString());
+        }
+    }
+
+    @Test
+    void shouldFollowAShorterHistory() {
+        GameMirror mirror = new GameMirror();
+        mirror.sync(List.of(Stone.of(0, 0, true), Stone.of(1, 1, false), Stone.of(2, 2, true)));
+        Gomoku game = mirror.sync(List.of(Stone.of(5, 5, true)));
+        assertEquals(1, game.getMoveCount());
+        assertTrue(game.isEmpty(0, 0));
+        assertFalse(game.isBlacksTurn());
+    }
+
+    @Test
+    void shouldFollowAGameWithTakeBacks() {
+        Random random = new Random(3);
+        Gomoku game = new Gomoku(null, null, true);
+        GameMirror mirror = new GameMirror();
+        while (!game.isOver()) {
+            if (game.getMoveCount() > 0 && random.nextInt(4) == 0) {
+                game.undo();
+            } else {
+                game.place(game.randomEmptyCell(random));
+            }
+            Gomoku copy = mirror.sync(game.getStones());
+            assertEquals(game.getHash(), copy.getHash());
+            assertEquals(game.getMoveCount(), copy.getMoveCount());
+        }
+    }
+}
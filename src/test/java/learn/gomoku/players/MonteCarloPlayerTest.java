@@ -0,0 +1,77 @@
+package learn.gomoku.players;
+
+import learn.gomoku.game.Gomoku;
+import learn.gomoku.game.Result;
+import learn.gomoku.game.Stone;
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MonteCarloPlayerTest {
+
+    @Test
+    void shouldTakeWinningMove() {
+        try (MonteCarloPlayer player = new MonteCarloPlayer("MCTS", 2, 20)) {
+            Gomoku game = new Gomoku(player, new HumanPlayer("Human"), true);
+            int[][] black = {{7, 3}, {7, 4}, {7, 5}, {7, 6}};
+            int[][] white = {{0, 0}, {0, 14}, {14, 0}, {14, 14}};
+            for (int i = 0; i < 4; i++) {
+                game.place(new Stone(black[i][0], black[i][1], true));
+                game.place(new Stone(white[i][0], white[i][1], false));
+            }
+
+            assertTrue(game.place(player.generateMove(game.getStones())).isSuccess());
+            assertSame(player, game.getWinner());
+        }
+    }
+
+    @Test
+    void shouldBlockOpenThreat() {
+        try (MonteCarloPlayer player = new MonteCarloPlayer("MCTS", 2, 20)) {
+            Gomoku game = new Gomoku(new HumanPlayer("Human"), player, true);
+            game.place(new Stone(3, 3, true));
+            game.place(new Stone(3, 2, false));
+            game.place(new Stone(3, 4, true));
+            game.place(new Stone(10, 10, false));
+            game.place(new Stone(3, 5, true));
+            game.place(new Stone(10, 12, false));
+            game.place(new Stone(3, 6, true));
+
+            assertEquals(new Stone(3, 7, false), player.generateMove(game.getStones()));
+        }
+    }
+
+    @Test
+    void seededSingleThreadShouldRepeat() {
+        Stone[] moves = new Stone[2];
+        for (int run = 0; run < 2; run++) {
+            try (MonteCarloPlayer player = new MonteCarloPlayer("MCTS", 1, 60_000, 2_000,
+                    MonteCarloPlayer.DEFAULT_NODES_PER_THREAD, new SplittableRandom(3))) {
+                Gomoku game = new Gomoku(player, new HumanPlayer("Human"), true);
+                game.place(new Stone(7, 7, true));
+                game.place(new Stone(8, 8, false));
+                moves[run] = player.generateMove(game.getStones());
+                assertEquals(2_000, player.getLastPlayouts());
+                assertTrue(player.getLastNodes() > 1);
+            }
+        }
+        assertEquals(moves[0], moves[1]);
+    }
+
+    @Test
+    void shouldPlayLegalMovesUntilGameEnds() {
+        try (MonteCarloPlayer player = new MonteCarloPlayer("MCTS", 2, 60_000, 300,
+                1 << 14, new SplittableRandom(5))) {
+            Gomoku game = new Gomoku(player, new RandomPlayer(5), true);
+            while (!game.isOver()) {
+                Result result;
+                do {
+                    result = game.place(game.getCurrent().generateMove(game.getStones()));
+                } while (!result.isSuccess() && game.getCurrent() != player);
+                assertTrue(result.isSuccess());
+            }
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package learn.gomoku.players;
+
+import learn.gomoku.game.Gomoku;
+import learn.gomoku.game.Stone;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ParallelSearchPlayerTest {
+
+    @Test
+    void shouldTakeWinningMove() {
+        try (ParallelSearchPlayer player = new ParallelSearchPlayer("Parallel", 3, 20)) {
+            Gomoku game = new Gomoku(player, new HumanPlayer("Human"), true);
+            int[][] black = {{7, 3}, {7, 4}, {7, 5}, {7, 6}};
+            int[][] white = {{0, 0}, {0, 14}, {14, 0}, {14, 14}};
+            for (int i = 0; i < 4; i++) {
+                game.place(new Stone(black[i][0], black[i][1], true));
+                game.place(new Stone(white[i][0], white[i][1], false));
+            }
+
+            Stone move = player.generateMove(game.getStones());
+            assertTrue(game.place(move).isSuccess());
+            assertSame(player, game.getWinner());
+        }
+    }
+
+    @Test
+    void nullHistoryShouldMeanAnEmptyBoard() {
+        try (ParallelSearchPlayer player = new ParallelSearchPlayer("Parallel", 2, 10)) {
+            Stone move = player.generateMove(null);
+            assertTrue(new Gomoku(null, null, true).place(move).isSuccess());
+        }
+    }
+
+    @Test
+    void shouldBlockOpenThreat() {
+        try (ParallelSearchPlayer player = new ParallelSearchPlayer("Parallel", 3, 20)) {
+            Gomoku game = new Gomoku(new HumanPlayer("Human"), player, true);
+            game.place(new Stone(3, 3, true));
+            game.place(new Stone(3, 2, false));
+            game.place(new Stone(3, 4, true));
+            game.place(new Stone(10, 10, false));
+            game.place(new Stone(3, 5, true));
+            game.place(new Stone(10, 12, false));
+            game.place(new Stone(3, 6, true));
+
+            assertEquals(new Stone(3, 7, false), player.generateMove(game.getStones()));
+        }
+    }
+
+    @Test
+    void shouldStopAtMaxDepth() {
+        try (ParallelSearchPlayer player = new ParallelSearchPlayer("Parallel", 2, 60_000, 3, new TranspositionTable(1))) {
+            Gomoku game = new Gomoku(player, new HumanPlayer("Human"), true);
+            game.place(new Stone(7, 7, true));
+            game.place(new Stone(7, 8, false));
+
+            long start = System.nanoTime();
+            assertNotNull(player.generateMove(game.getStones()));
+            assertTrue(System.nanoTime() - start < 10_000_000_000L);
+            assertEquals(3, player.getLastDepth());
+            assertTrue(player.getLastNodes() > 0);
+        }
+    }
+
+    @Test
+    void shouldPlayLegalGameWithinBudget() {
+        int budget = 30;
+        try (ParallelSearchPlayer one = new ParallelSearchPlayer("One", 2, budget);
+             ParallelSearchPlayer two = new ParallelSearchPlayer("Two", 2, budget)) {
+            Gomoku game = new Gomoku(one, two, true);
+
+            long worst = 0;
+            while (!game.isOver() && game.getMoveCount() < 40) {
+                long start = System.nanoTime();
+                Stone move = game.getCurrent().generateMove(game.getStones());
+                worst = Math.max(worst, System.nanoTime() - start);
+                assertTrue(game.place(move).isSuccess());
+            }
+            assertTrue(worst < budget * 3 * 1_000_000L, "slowest move took " + worst / 1_000_000 + " ms");
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package learn.gomoku.players;
+
+import learn.gomoku.game.Gomoku;
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RandomPlayerTest {
+
+    @Test
+    void everyMoveShouldBeLegal() {
+        RandomPlayer one = new RandomPlayer(1);
+        RandomPlayer two = new RandomPlayer(2);
+        Gomoku game = new Gomoku(one, two, true);
+        for (int round = 0; round < 50; round++) {
+            while (!game.isOver()) {
+                assertTrue(game.place(game.getCurrent().generateMove(game.getStones())).isSuccess());
+            }
+            assertNull(game.getCurrent().generateMove(game.getStones()));
+            game.reset();
+        }
+    }
+
+    @Test
+    void boardViewShouldNeedOneAttemptPerTurn() {
+        RandomPlayer one = new RandomPlayer(1);
+        RandomPlayer two = new RandomPlayer(2);
+        Gomoku game = new Gomoku(one, two, true);
+        for (int round = 0; round < 50; round++) {
+            while (!game.isOver()) {
+                assertTrue(game.place(game.getCurrent().chooseMove(game.view())).isSuccess());
+            }
+            assertNull(game.getCurrent().chooseMove(game.view()));
+            game.reset();
+        }
+    }
+
+    @Test
+    void sameSeedShouldReplayTheSameGames() {
+        assertEquals(play(7), play(7));
+        assertNotEquals(play(7), play(8));
+        assertEquals(new RandomPlayer(7).getName(), new RandomPlayer(7).getName());
+    }
+
+    @Test
+    void shouldStartGameWithoutHistory() {
+        assertNotNull(new RandomPlayer(1).generateMove(null));
+        assertTrue(new RandomPlayer(1).generateMove(null).isBlack());
+    }
+
+    @Test
+    void shouldPlayLargeBoards() {
+        RandomPlayer one = new RandomPlayer(1, 64, 6);
+        RandomPlayer two = new RandomPlayer(2, 64, 6);
+        Gomoku game = new Gomoku(one, two, true, 64, 6);
+        while (!game.isOver()) {
+            assertTrue(game.place(game.getCurrent().generateMove(game.getStones())).isSuccess());
+        }
+    }
+
+    // three games from one seed: the players and the game each get their own split of the generator
+    private static String play(long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        RandomPlayer one = new RandomPlayer(random.split(), Gomoku.WIDTH, Gomoku.WIN_LENGTH);
+        RandomPlayer two = new RandomPlayer(random.split(), Gomoku.WIDTH, Gomoku.WIN_LENGTH);
+        Gomoku game = new Gomoku(one, two, Gomoku.WIDTH, Gomoku.WIN_LENGTH, random.split());
+        StringBuilder games = new StringBuilder();
+        for (int round = 0; round < 3; round++) {
+            games.append(game.getCurrent().getName());
+            while (!game.isOver()) {
+                game.place(game.getCurrent().chooseMove(game.view()));
+            }
+            games.append(game.getStones()).append('\n');
+            game.reset();
+        }
+        return games.toString();
+    }
+}
@@ -0,0 +1,88 @@
+package learn.gomoku.players;
+
+import learn.gomoku.game.Gomoku;
+import learn.gomoku.game.Result;
+import learn.gomoku.game.Stone;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SearchPlayerTest {
+
+    @Test
+    void shouldTakeWinningMove() {
+        SearchPlayer player = new SearchPlayer("Search", 20);
+        Gomoku game = new Gomoku(player, new HumanPlayer("Human"), true);
+        // Black has four in a row at (7,3)-(7,6); white is scattered.
+        int[][] black = {{7, 3}, {7, 4}, {7, 5}, {7, 6}};
+        int[][] white = {{0, 0}, {0, 14}, {14, 0}, {14, 14}};
+        for (int i = 0; i < 4; i++) {
+            game.place(new Stone(black[i][0], black[i][1], true));
+            game.place(new Stone(white[i][0], white[i][1], false));
+        }
+
+        Stone move = player.generateMove(game.getStones());
+        assertTrue(game.place(move).isSuccess());
+        assertSame(player, game.getWinner());
+    }
+
+    @Test
+    void nullHistoryShouldMeanAnEmptyBoard() {
+        SearchPlayer player = new SearchPlayer("Search", 10);
+        Stone move = player.generateMove(null);
+        Gomoku game = new Gomoku(null, null, true);
+        assertTrue(game.place(move).isSuccess());
+    }
+
+    @Test
+    void shouldBlockOpenThreat() {
+        SearchPlayer player = new SearchPlayer("Search", 20);
+        Gomoku game = new Gomoku(new HumanPlayer("Human"), player, true);
+        // Black has four at (3,3)-(3,6) with (3,2) already blocked; white must play (3,7).
+        game.place(new Stone(3, 3, true));
+        game.place(new Stone(3, 2, false));
+        game.place(new Stone(3, 4, true));
+        game.place(new Stone(10, 10, false));
+        game.place(new Stone(3, 5, true));
+        game.place(new Stone(10, 12, false));
+        game.place(new Stone(3, 6, true));
+
+        Stone move = player.generateMove(game.getStones());
+        assertEquals(new Stone(3, 7, false), move);
+    }
+
+    @Test
+    void shouldBeatRandomPlayer() {
+        for (int round = 0; round < 6; round++) {
+            SearchPlayer search = new SearchPlayer("Search", 10);
+            RandomPlayer random = new RandomPlayer(round);
+            Gomoku game = new Gomoku(search, random, round % 2 == 0);
+
+            while (!game.isOver()) {
+                Result result;
+                do {
+                    result = game.place(game.getCurrent().generateMove(game.getStones()));
+                } while (!result.isSuccess());
+            }
+            assertSame(search, game.getWinner());
+        }
+    }
+
+    @Test
+    void shouldAnswerWithinBudget() {
+        int budget = 30;
+        SearchPlayer one = new SearchPlayer("One", budget);
+        SearchPlayer two = new SearchPlayer("Two", budget);
+        Gomoku game = new Gomoku(one, two, true);
+
+        long worst = 0;
+        while (!game.isOver() && game.getMoveCount() < 60) {
+            long start = System.nanoTime();
+            Stone move = game.getCurrent().generateMove(game.getStones());
+            worst = Math.max(worst, System.nanoTime() - start);
+            assertTrue(game.place(move).isSuccess());
+        }
+        // generous slack for GC and slow CI machines; the search itself stops at 90% of the budget
+        assertTrue(worst < budget * 3 * 1_000_000L, "slowest move took " + worst / 1_000_000 + " ms");
+    }
+}
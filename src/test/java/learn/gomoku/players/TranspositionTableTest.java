@@ -0,0 +1,67 @@
+package learn.gomoku.players;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TranspositionTableTest {
+
+    @Test
+    void shouldRoundTripEntry() {
+        TranspositionTable table = new TranspositionTable(1);
+        table.store(0x1234_5678_9ABC_DEF0L, 0x1_0E07, -4321, 7, TranspositionTable.LOWER_BOUND);
+
+        long data = table.probe(0x1234_5678_9ABC_DEF0L);
+        assertNotEquals(0, data);
+        assertEquals(0x1_0E07, TranspositionTable.move(data));
+        assertEquals(-4321, TranspositionTable.score(data));
+        assertEquals(7, TranspositionTable.depth(data));
+        assertEquals(TranspositionTable.LOWER_BOUND, TranspositionTable.bound(data));
+    }
+
+    @Test
+    void shouldMissUnknownHash() {
+        TranspositionTable table = new TranspositionTable(1);
+        table.store(42L, TranspositionTable.NO_MOVE, 0, 1, TranspositionTable.EXACT);
+        assertEquals(TranspositionTable.NO_MOVE, TranspositionTable.move(table.probe(42L)));
+
+        // Same slot, different key.
+        assertEquals(0, table.probe(42L + ((long) table.capacity() << 40)));
+        assertEquals(0, table.probe(43L));
+    }
+
+    @Test
+    void depthPreferredShouldKeepDeeperEntryFromSameSearch() {
+        TranspositionTable table = new TranspositionTable(1, TranspositionTable.Replacement.DEPTH_PREFERRED);
+        long first = 7L;
+        long collision = 7L + ((long) table.capacity() << 40);
+
+        table.store(first, 1, 10, 8, TranspositionTable.EXACT);
+        table.store(collision, 2, 20, 3, TranspositionTable.EXACT);
+        assertNotEquals(0, table.probe(first));
+        assertEquals(0, table.probe(collision));
+
+        // A new search may overwrite it.
+        table.newSearch();
+        table.store(collision, 2, 20, 3, TranspositionTable.EXACT);
+        assertEquals(0, table.probe(first));
+        assertNotEquals(0, table.probe(collision));
+    }
+
+    @Test
+    void alwaysReplaceShouldKeepNewest() {
+        TranspositionTable table = new TranspositionTable(1, TranspositionTable.Replacement.ALWAYS_REPLACE);
+        long first = 7L;
+        long collision = 7L + ((long) table.capacity() << 40);
+
+        table.store(first, 1, 10, 8, TranspositionTable.EXACT);
+        table.store(collision, 2, 20, 3, TranspositionTable.EXACT);
+        assertEquals(0, table.probe(first));
+        assertEquals(2, TranspositionTable.move(table.probe(collision)));
+    }
+
+    @Test
+    void shouldSizeInMegabytes() {
+        assertEquals(4 * 1024 * 1024 / 16, new TranspositionTable(4).capacity());
+    }
+}
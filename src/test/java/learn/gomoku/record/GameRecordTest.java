@@ -0,0 +1,203 @@
+package learn.gomoku.record;
+
+import learn.gomoku.game.BatchSimulator;
+import learn.gomoku.game.Gomoku;
+import learn.gomoku.game.Moves;
+import learn.gomoku.players.RandomPlayer;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GameRecordTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void gamesShouldRoundTrip() throws IOException {
+        Path path = directory.resolve("games.gmk");
+        Gomoku[] games = new Gomoku[20];
+        try (GameRecordWriter writer = new GameRecordWriter(path, Gomoku.WIDTH, Gomoku.WIN_LENGTH)) {
+            for (int g = 0; g < games.length; g++) {
+                games[g] = play(new RandomPlayer(g), new RandomPlayer(g + 100), g == 7 ? 10 : Integer.MAX_VALUE);
+                assertEquals(g, writer.append(games[g]));
+            }
+        }
+
+        try (GameRecordReader reader = new GameRecordReader(path)) {
+            assertEquals(games.length, reader.getGameCount());
+            assertEquals(Gomoku.WIDTH, reader.getWidth());
+            assertEquals(Gomoku.WIN_LENGTH, reader.getWinLength());
+
+            GameRecordReader.Cursor cursor = reader.cursor();
+            for (Gomoku game : games) {
+                assertTrue(cursor.next());
+                assertMatches(game, cursor);
+            }
+            assertFalse(cursor.next());
+
+            // out of order, through the index
+            cursor.seek(7);
+            assertMatches(games[7], cursor);
+            assertEquals(RecordFormat.UNFINISHED, cursor.result());
+            cursor.seek(0);
+            assertMatches(games[0], cursor);
+            assertThrows(IndexOutOfBoundsException.class, () -> reader.offset(games.length));
+        }
+    }
+
+    @Test
+    void batchGamesOnLargeBoardShouldRoundTrip() throws IOException {
+        Path path = directory.resolve("large.gmk");
+        BatchSimulator batch = new BatchSimulator(50, 19, 6);
+        batch.run(new SplittableRandom(4));
+        try (GameRecordWriter writer = new GameRecordWriter(path, 19, 6)) {
+            for (int g = 0; g < batch.games(); g++) {
+                writer.append(batch.moves(), g * batch.stride(), batch.lengths()[g], batch.outcomes()[g]);
+            }
+        }
+
+        try (GameRecordReader reader = new GameRecordReader(path)) {
+            for (int g = batch.games() - 1; g >= 0; g--) {
+                long offset = reader.offset(g);
+                assertEquals(batch.lengths()[g], reader.length(offset));
+                assertEquals(batch.outcomes()[g], reader.result(offset));
+                for (int i = 0; i < batch.lengths()[g]; i++) {
+                    assertEquals(batch.moves()[g * batch.stride() + i], reader.cell(offset, i));
+                }
+            }
+        }
+    }
+
+    @Test
+    void reopeningShouldAppendAndDropTornRecords() throws IOException {
+        Path path = directory.resolve("append.gmk");
+        short[] cells = {112, 113, 127};
+        try (GameRecordWriter writer = new GameRecordWriter(path, Gomoku.WIDTH, Gomoku.WIN_LENGTH)) {
+            writer.append(cells, 0, 3, RecordFormat.UNFINISHED);
+        }
+        // a writer that died mid-record leaves bytes with no index entry
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.APPEND)) {
+            channel.write(ByteBuffer.wrap(new byte[]{0, 9, 1, 2}));
+        }
+
+        try (GameRecordWriter writer = new GameRecordWriter(path, Gomoku.WIDTH, Gomoku.WIN_LENGTH)) {
+            assertEquals(1, writer.getGameCount());
+            assertEquals(1, writer.append(cells, 1, 2, RecordFormat.DRAW));
+        }
+        assertThrows(IOException.class, () -> new GameRecordWriter(path, 19, 6));
+
+        try (GameRecordReader reader = new GameRecordReader(path)) {
+            GameRecordReader.Cursor cursor = reader.cursor();
+            assertTrue(cursor.next());
+            assertEquals(3, cursor.length());
+            assertTrue(cursor.next());
+            assertEquals(2, cursor.length());
+            assertEquals(113, cursor.cell(0));
+            assertEquals(RecordFormat.DRAW, cursor.result());
+            assertFalse(cursor.next());
+        }
+    }
+
+    @Test
+    void reopeningWithoutIndexShouldKeepTheGames() throws IOException {
+        Path path = directory.resolve("lost.gmk");
+        Gomoku[] games = new Gomoku[30];
+        try (GameRecordWriter writer = new GameRecordWriter(path, Gomoku.WIDTH, Gomoku.WIN_LENGTH)) {
+            for (int g = 0; g < games.length; g++) {
+                games[g] = play(new RandomPlayer(g), new RandomPlayer(g + 100), g == 3 ? 0 : Integer.MAX_VALUE);
+                writer.append(games[g]);
+            }
+        }
+        long size = Files.size(path);
+
+        Files.delete(RecordFormat.indexPath(path));
+        try (GameRecordWriter writer = new GameRecordWriter(path, Gomoku.WIDTH, Gomoku.WIN_LENGTH)) {
+            assertEquals(games.length, writer.getGameCount());
+        }
+        assertEquals(size, Files.size(path));
+
+        // an index that lost its last entries
+        try (FileChannel index = FileChannel.open(RecordFormat.indexPath(path), StandardOpenOption.WRITE)) {
+            index.truncate(10 * Long.BYTES + 3);
+        }
+        try (GameRecordWriter writer = new GameRecordWriter(path, Gomoku.WIDTH, Gomoku.WIN_LENGTH)) {
+            assertEquals(games.length, writer.getGameCount());
+            assertEquals(games.length, writer.append(games[0]));
+        }
+
+        try (GameRecordReader reader = new GameRecordReader(path)) {
+            assertEquals(games.length + 1, reader.getGameCount());
+            GameRecordReader.Cursor cursor = reader.cursor();
+            for (Gomoku game : games) {
+                assertTrue(cursor.next());
+                assertMatches(game, cursor);
+            }
+            cursor.seek(games.length);
+            assertMatches(games[0], cursor);
+        }
+    }
+
+    @Test
+    void shouldRejectOtherFiles() throws IOException {
+        Path path = directory.resolve("junk.gmk");
+        Files.write(path, new byte[]{1, 2, 3, 4, 5, 6, 7, 8, 9});
+        Files.write(RecordFormat.indexPath(path), new byte[0]);
+        assertThrows(IOException.class, () -> new GameRecordReader(path));
+        assertThrows(IOException.class, () -> new GameRecordWriter(path, 15, 5));
+    }
+
+    @Test
+    void shouldRejectGamesThatDontFitTheFile() throws IOException {
+        Path path = directory.resolve("checked.gmk");
+        try (GameRecordWriter writer = new GameRecordWriter(path, Gomoku.WIDTH, Gomoku.WIN_LENGTH)) {
+            assertThrows(IllegalArgumentException.class,
+                    () -> writer.append(new Gomoku(null, null, true, Gomoku.WIDTH, 6)));
+            assertThrows(IllegalArgumentException.class,
+                    () -> writer.append(new short[]{0, 1, 225}, 0, 3, RecordFormat.UNFINISHED));
+            assertThrows(IllegalArgumentException.class,
+                    () -> writer.append(new short[]{0, -1}, 0, 2, RecordFormat.UNFINISHED));
+            assertThrows(IllegalArgumentException.class,
+                    () -> writer.append(new short[]{3, 4, 3}, 0, 3, RecordFormat.UNFINISHED));
+            // a rejected game leaves nothing behind, and the cells it used are free again
+            assertEquals(0, writer.append(new short[]{3, 4, 5}, 0, 3, RecordFormat.UNFINISHED));
+        }
+
+        try (GameRecordReader reader = new GameRecordReader(path)) {
+            assertEquals(1, reader.getGameCount());
+            GameRecordReader.Cursor cursor = reader.cursor();
+            assertTrue(cursor.next());
+            assertEquals(3, cursor.length());
+            assertEquals(5, cursor.cell(2));
+        }
+    }
+
+    private static Gomoku play(RandomPlayer one, RandomPlayer two, int maxMoves) {
+        Gomoku game = new Gomoku(one, two, true);
+        while (!game.isOver() && game.getMoveCount() < maxMoves) {
+            game.place(game.getCurrent().generateMove(game.getStones()));
+        }
+        return game;
+    }
+
+    private static void assertMatches(Gomoku game, GameRecordReader.Cursor cursor) {
+        assertEquals(game.getMoveCount(), cursor.length());
+        for (int i = 0; i < cursor.length(); i++) {
+            int move = game.getMove(i);
+            assertEquals(Moves.row(move) * Gomoku.WIDTH + Moves.column(move), cursor.cell(i));
+        }
+        int expected = !game.isOver() ? RecordFormat.UNFINISHED
+                : game.getWinner() == null ? RecordFormat.DRAW
+                : game.isBlacksTurn() ? RecordFormat.BLACK_WINS : RecordFormat.WHITE_WINS;
+        assertEquals(expected, cursor.result());
+    }
+}
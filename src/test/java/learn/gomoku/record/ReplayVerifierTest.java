@@ -0,0 +1,113 @@
+package learn.gomoku.record;
+
+import learn.gomoku.game.BatchSimulator;
+import learn.gomoku.game.Gomoku;
+import learn.gomoku.game.Moves;
+import learn.gomoku.game.RuleBoard;
+import learn.gomoku.game.Stone;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReplayVerifierTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void simulatedGamesShouldVerify() throws IOException {
+        Path path = directory.resolve("games.gmk");
+        BatchSimulator batch = new BatchSimulator(1_000);
+        SplittableRandom random = new SplittableRandom(8);
+        try (GameRecordWriter writer = new GameRecordWriter(path, Gomoku.WIDTH, Gomoku.WIN_LENGTH)) {
+            for (int round = 0; round < 20; round++) {
+                batch.run(random);
+                for (int g = 0; g < batch.games(); g++) {
+                    writer.append(batch.moves(), g * batch.stride(), batch.lengths()[g], batch.outcomes()[g]);
+                }
+            }
+        }
+
+        ReplayVerifier verifier = new ReplayVerifier(4);
+        try (GameRecordReader reader = new GameRecordReader(path)) {
+            VerificationReport report = verifier.verify(reader);
+            assertTrue(report.isValid(), report.toString());
+            assertEquals(20_000, report.getGames());
+
+            assertEquals(100, verifier.verify(reader, 500, 600).getGames());
+            assertEquals(0, verifier.verify(reader, 5, 5).getGames());
+        } finally {
+            verifier.shutdown();
+        }
+    }
+
+    @Test
+    void badGamesShouldBeReported() throws IOException {
+        Path path = directory.resolve("bad.gmk");
+        try (GameRecordWriter writer = new GameRecordWriter(path, Gomoku.WIDTH, Gomoku.WIN_LENGTH)) {
+            // 0: black wins along the top row
+            writer.append(new short[]{0, 15, 1, 16, 2, 17, 3, 18, 4}, 0, 9, RecordFormat.BLACK_WINS);
+            // 1: same moves recorded as a white win
+            writer.append(new short[]{0, 15, 1, 16, 2, 17, 3, 18, 4}, 0, 9, RecordFormat.WHITE_WINS);
+            // 2: a move after the win
+            writer.append(new short[]{0, 15, 1, 16, 2, 17, 3, 18, 4, 30}, 0, 10, RecordFormat.BLACK_WINS);
+            // 3 and 4 are corrupted below, since the writer refuses such games
+            writer.append(new short[]{0, 1}, 0, 2, RecordFormat.UNFINISHED);
+            writer.append(new short[]{224}, 0, 1, RecordFormat.UNFINISHED);
+            // 5: unfinished and recorded as such
+            writer.append(new short[]{112, 113}, 0, 2, RecordFormat.UNFINISHED);
+        }
+        // 3: a duplicate move
+        overwriteCell(path, 3, 1, 0);
+        // 4: off the board
+        overwriteCell(path, 4, 0, 225);
+
+        ReplayVerifier verifier = new ReplayVerifier(2);
+        try (GameRecordReader reader = new GameRecordReader(path)) {
+            VerificationReport report = verifier.verify(reader);
+            assertFalse(report.isValid());
+            assertEquals(6, report.getGames());
+            assertEquals(3, report.getIllegalMoves());
+            assertEquals(1, report.getWrongResults());
+            assertArrayEquals(new long[]{1, 2, 3, 4}, report.getFailures());
+        } finally {
+            verifier.shutdown();
+        }
+    }
+
+    @Test
+    void packedMovesAndStonesShouldVerify() {
+        RuleBoard board = new RuleBoard(Gomoku.WIDTH, Gomoku.WIN_LENGTH);
+        int[] moves = new int[9];
+        for (int i = 0; i < moves.length; i++) {
+            moves[i] = Moves.pack(i % 2, i / 2, i % 2 == 0);
+        }
+        assertEquals(ReplayVerifier.VALID, ReplayVerifier.check(board, moves, 9, RecordFormat.BLACK_WINS));
+        assertEquals(ReplayVerifier.WRONG_RESULT, ReplayVerifier.check(board, moves, 8, RecordFormat.BLACK_WINS));
+        assertEquals(ReplayVerifier.VALID, ReplayVerifier.check(board, moves, 8, RecordFormat.UNFINISHED));
+
+        List<Stone> outOfTurn = List.of(new Stone(7, 7, true), new Stone(7, 8, true));
+        assertEquals(ReplayVerifier.ILLEGAL_MOVE, ReplayVerifier.check(board, outOfTurn, RecordFormat.UNFINISHED));
+        List<Stone> offBoard = List.of(new Stone(-1, 7, true));
+        assertEquals(ReplayVerifier.ILLEGAL_MOVE, ReplayVerifier.check(board, offBoard, RecordFormat.UNFINISHED));
+    }
+
+    // for a board with one byte per move
+    private static void overwriteCell(Path path, long game, int move, int cell) throws IOException {
+        try (FileChannel index = FileChannel.open(RecordFormat.indexPath(path), StandardOpenOption.READ);
+             FileChannel records = FileChannel.open(path, StandardOpenOption.WRITE)) {
+            ByteBuffer offset = ByteBuffer.allocate(Long.BYTES);
+            index.read(offset, game * Long.BYTES);
+            records.write(ByteBuffer.wrap(new byte[]{(byte) cell}), offset.getLong(0) + 2 + move);
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package learn.gomoku.render;
+
+import learn.gomoku.game.Gomoku;
+import learn.gomoku.game.Moves;
+import org.junit.jupiter.api.Test;
+
+import java.io.StringWriter;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RendererTest {
+
+    private static final String NEWLINE = System.lineSeparator();
+
+    @Test
+    void boardShouldShowEveryStone() {
+        Gomoku game = new Gomoku(null, null, true, 10, 5);
+        game.place(Moves.pack(0, 0, true));
+        game.place(Moves.pack(9, 9, false));
+        game.place(Moves.pack(4, 5, true));
+
+        StringWriter out = new StringWriter();
+        new BoardRenderer(out).render(game);
+        String[] lines = out.toString().split(NEWLINE);
+        assertEquals(10, lines.length);
+        assertEquals("  1 X---------", lines[0]);
+        assertEquals("  5 -----X----", lines[4]);
+        assertEquals(" 10 ---------O", lines[9]);
+    }
+
+    @Test
+    void diffShouldOnlyWriteNewMoves() {
+        Gomoku game = new Gomoku(null, null, true, 12, 5);
+        StringWriter out = new StringWriter();
+        DiffRenderer renderer = new DiffRenderer(out);
+
+        renderer.render(game);
+        assertEquals(12, out.toString().split(NEWLINE).length);
+
+        out.getBuffer().setLength(0);
+        game.place(Moves.pack(10, 11, true));
+        renderer.render(game);
+        assertEquals("1 X 11 12" + NEWLINE, out.toString());
+
+        out.getBuffer().setLength(0);
+        renderer.render(game);
+        assertEquals("", out.toString());
+
+        game.place(Moves.pack(0, 1, false));
+        game.place(Moves.pack(2, 2, true));
+        renderer.render(game);
+        assertEquals("2 O 1 2" + NEWLINE + "3 X 3 3" + NEWLINE, out.toString());
+
+        // taking a move back redraws the whole board
+        out.getBuffer().setLength(0);
+        game.undo();
+        renderer.render(game);
+        assertEquals(12, out.toString().split(NEWLINE).length);
+
+        out.getBuffer().setLength(0);
+        renderer.render(new Gomoku(null, null, true, 12, 5));
+        assertEquals(12, out.toString().split(NEWLINE).length);
+    }
+
+    @Test
+    void diffShouldRedrawWhenALineIsReplayedToTheSameLastMove() {
+        Gomoku game = new Gomoku(null, null, true, 12, 5);
+        game.place(Moves.pack(0, 0, true));
+        game.place(Moves.pack(1, 1, false));
+        game.place(Moves.pack(2, 2, true));
+        StringWriter out = new StringWriter();
+        DiffRenderer renderer = new DiffRenderer(out);
+        renderer.render(game);
+
+        // two moves back, then a different white move and the same last move
+        game.undo();
+        game.undo();
+        game.place(Moves.pack(3, 3, false));
+        game.place(Moves.pack(2, 2, true));
+        out.getBuffer().setLength(0);
+        renderer.render(game);
+        String[] lines = out.toString().split(NEWLINE);
+        assertEquals(12, lines.length);
+        assertEquals("  2 ------------", lines[1]);
+        assertEquals("  4 ---O--------", lines[3]);
+    }
+}
@@ -0,0 +1,114 @@
+package learn.gomoku.server;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintWriter;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GameServerTest {
+
+    private GameServer server;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = new GameServer(0).start();
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        server.close();
+    }
+
+    @Test
+    void twoClientsShouldPlayAGame() throws IOException {
+        try (Client black = new Client(); Client white = new Client()) {
+            String id = black.request("NEW 9 3").substring("SESSION ".length());
+            assertEquals("ERROR " + id + " Waiting for an opponent.", black.request("MOVE " + id + " 0 0"));
+            assertEquals("JOINED " + id, white.request("JOIN " + id));
+            assertEquals("OPPONENT " + id, black.read());
+            assertEquals("ERROR " + id + " Session is full.", black.request("JOIN " + id));
+
+            assertEquals("ERROR " + id + " Wrong player.", white.request("MOVE " + id + " 0 0"));
+            assertEquals("PLACED " + id, black.request("MOVE " + id + " 4 4"));
+            assertEquals("MOVED " + id + " 4 4 PLACED", white.read());
+            assertEquals("ERROR " + id + " Duplicate move.", white.request("MOVE " + id + " 4 4"));
+            assertEquals("ERROR " + id + " Stone is off the board.", white.request("MOVE " + id + " 9 0"));
+            assertEquals("PLACED " + id, white.request("MOVE " + id + " 0 0"));
+            assertEquals("MOVED " + id + " 0 0 PLACED", black.read());
+            black.request("MOVE " + id + " 4 5");
+            white.read();
+            white.request("MOVE " + id + " 0 1");
+            black.read();
+            assertEquals("WIN " + id, black.request("MOVE " + id + " 4 6"));
+            assertEquals("MOVED " + id + " 4 6 WIN", white.read());
+
+            // finished games are dropped
+            assertEquals("ERROR " + id + " No such session.", white.request("MOVE " + id + " 1 1"));
+        }
+    }
+
+    @Test
+    void disconnectShouldCloseTheOpponentsSession() throws IOException {
+        try (Client black = new Client()) {
+            String id;
+            try (Client white = new Client()) {
+                id = black.request("NEW").substring("SESSION ".length());
+                white.request("JOIN " + id);
+                black.read();
+            }
+            assertEquals("CLOSED " + id, black.read());
+            assertEquals("ERROR Unknown command.", black.request("HELLO"));
+            assertEquals("ERROR Malformed command.", black.request("MOVE x"));
+            assertTrue(black.request("NEW 9 10").startsWith("ERROR "));
+        }
+    }
+
+    @Test
+    void loadGeneratorShouldPlayWithoutErrors() throws InterruptedException {
+        LoadGenerator generator = new LoadGenerator(new InetSocketAddress("localhost", server.getPort()), 4, 5, 1);
+        LoadGenerator.Report report = generator.run(1000);
+        assertTrue(report.getMoves() > 0);
+        assertTrue(report.getGames() > 0);
+        assertEquals(0, report.getErrors());
+        assertTrue(report.percentile(0.5) <= report.percentile(0.99));
+        assertTrue(report.percentile(0.99) <= report.percentile(1.0));
+    }
+
+    private final class Client implements AutoCloseable {
+
+        private final Socket socket;
+        private final BufferedReader in;
+        private final PrintWriter out;
+
+        Client() throws IOException {
+            socket = new Socket("localhost", server.getPort());
+            socket.setSoTimeout(5000);
+            in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.US_ASCII));
+            out = new PrintWriter(socket.getOutputStream(), true, StandardCharsets.US_ASCII);
+        }
+
+        String request(String line) throws IOException {
+            out.print(line + "\n");
+            out.flush();
+            return read();
+        }
+
+        String read() throws IOException {
+            return in.readLine();
+        }
+
+        @Override
+        public void close() throws IOException {
+            socket.close();
+        }
+    }
+}
@@ -0,0 +1,157 @@
+package learn.gomoku.tournament;
+
+import learn.gomoku.game.BoardView;
+import learn.gomoku.game.Result;
+import learn.gomoku.game.Stone;
+import learn.gomoku.players.HumanPlayer;
+import learn.gomoku.players.Player;
+import learn.gomoku.players.RandomPlayer;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TournamentTest {
+
+    private final Entrant random = new Entrant("Random", RandomPlayer::new);
+
+    @Test
+    void totalsShouldAddUp() {
+        Tournament tournament = new Tournament(4, 1L);
+        MatchStats stats = tournament.play(random, random, 1_000);
+        tournament.shutdown();
+
+        assertEquals(1_000, stats.getGames());
+        assertEquals(stats.getGames(), stats.getWinsOne() + stats.getWinsTwo() + stats.getDraws());
+        assertTrue(stats.getAverageLength() >= 9);
+    }
+
+    @Test
+    void sameSeedShouldGiveSameResultsAtAnyParallelism() {
+        // Each game is seeded from the tournament seed and its game number, not from the worker that ran it.
+        Tournament single = new Tournament(1, 99L);
+        Tournament parallel = new Tournament(8, 99L);
+        MatchStats expected = single.play(random, random, 2_000);
+        MatchStats actual = parallel.play(random, random, 2_000);
+        single.shutdown();
+        parallel.shutdown();
+
+        assertEquals(expected.getWinsOne(), actual.getWinsOne());
+        assertEquals(expected.getWinsTwo(), actual.getWinsTwo());
+        assertEquals(expected.getDraws(), actual.getDraws());
+        assertEquals(expected.getMoves(), actual.getMoves());
+    }
+
+    @Test
+    void playerThatCannotMoveShouldForfeit() {
+        Entrant human = new Entrant("Human", seed -> new HumanPlayer("Nobody"));
+        Tournament tournament = new Tournament(2, 5L);
+        List<MatchStats> results = tournament.roundRobin(List.of(random, human), 10);
+        tournament.shutdown();
+
+        MatchStats stats = results.get(0);
+        assertEquals(10, stats.getWinsOne());
+        assertEquals(10, stats.getForfeitsTwo());
+    }
+
+    @Test
+    void shouldPlayOtherBoardSizes() {
+        Entrant connectSix = new Entrant("Random", seed -> new RandomPlayer(seed, 19, 6));
+        Tournament tournament = new Tournament(2, 3L, 19, 6);
+        MatchStats stats = tournament.play(connectSix, connectSix, 100);
+        tournament.shutdown();
+
+        assertEquals(0, stats.getForfeitsOne() + stats.getForfeitsTwo());
+        assertTrue(stats.getAverageLength() >= 11);
+        assertThrows(IllegalArgumentException.class, () -> new Tournament(1, 1L, 15, 16));
+    }
+
+    @Test
+    void rejectedPlayerShouldBeToldAndAskedAgain() {
+        AtomicInteger rejections = new AtomicInteger();
+        Entrant scanner = new Entrant("Scanner", seed -> new ScanningPlayer(rejections));
+        Tournament tournament = new Tournament(1, 7L);
+        MatchStats stats = tournament.play(scanner, scanner, 10);
+        tournament.shutdown();
+
+        assertEquals(0, stats.getForfeitsOne() + stats.getForfeitsTwo());
+        assertEquals(10, stats.getGames());
+        assertTrue(rejections.get() > 0);
+    }
+
+    @Test
+    void closeablePlayersShouldBeClosedAfterEachGame() {
+        AtomicInteger created = new AtomicInteger();
+        AtomicInteger closed = new AtomicInteger();
+        Entrant closeable = new Entrant("Closeable", seed -> {
+            created.incrementAndGet();
+            return new ClosingPlayer(seed, closed);
+        });
+        Entrant human = new Entrant("Human", seed -> new ClosingPlayer(seed, closed) {
+            @Override
+            public Stone chooseMove(BoardView game) {
+                return null;
+            }
+        });
+        Tournament tournament = new Tournament(2, 11L);
+        tournament.play(closeable, closeable, 50);
+        // a forfeit ends the game early; its players are closed all the same
+        tournament.play(closeable, human, 10);
+        tournament.shutdown();
+
+        assertEquals(110, created.get());
+        assertEquals(120, closed.get());
+    }
+
+    private static class ClosingPlayer extends RandomPlayer implements AutoCloseable {
+
+        private final AtomicInteger closed;
+
+        ClosingPlayer(long seed, AtomicInteger closed) {
+            super(seed);
+            this.closed = closed;
+        }
+
+        @Override
+        public void close() {
+            closed.incrementAndGet();
+        }
+    }
+
+    /**
+     * Ignores the board and tries cells in order, moving on only when told its stone was rejected.
+     */
+    private static class ScanningPlayer implements Player {
+
+        private final AtomicInteger rejections;
+        private int cell;
+
+        ScanningPlayer(AtomicInteger rejections) {
+            this.rejections = rejections;
+        }
+
+        @Override
+        public String getName() {
+            return "Scanner";
+        }
+
+        @Override
+        public Stone generateMove(List<Stone> previousMoves) {
+            return null;
+        }
+
+        @Override
+        public Stone chooseMove(BoardView game) {
+            return Stone.of(cell / game.getWidth(), cell % game.getWidth(), game.isBlacksTurn());
+        }
+
+        @Override
+        public void moveRejected(Stone stone, Result result) {
+            assertFalse(result.isSuccess());
+            rejections.incrementAndGet();
+            cell++;
+        }
+    }
+}